@@ -0,0 +1,85 @@
+package com.rs.cache.loaders;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+
+/**
+ * The latency of looking up a loaded definition: the {@link DefinitionTable} against
+ * the array map the definitions used to be cached in, with {@link #loaded} ids touched.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefinitionLookupBenchmark {
+
+	/**
+	 * The amount of definitions in the cache, about as many as there are items.
+	 */
+	private static final int DEFINITIONS = 32768;
+
+	@Param({ "1000", "10000", "30000" })
+	private int loaded;
+
+	private DefinitionTable<Object> table;
+	private Object2ObjectArrayMap<Integer, Object> map;
+
+	/**
+	 * The loaded ids looked up in turn, in random order.
+	 */
+	private int[] ids;
+
+	private int next;
+
+	@Setup
+	public void setup() {
+		table = new DefinitionTable<>("definitions", () -> DEFINITIONS, id -> new Object());
+		map = new Object2ObjectArrayMap<>();
+		ids = new int[loaded];
+		Random random = new Random(loaded);
+		for (int index = 0; index < loaded; index++) {
+			ids[index] = index;
+			table.get(index);
+			map.put(index, new Object());
+		}
+		for (int index = loaded - 1; index > 0; index--) {
+			int swap = random.nextInt(index + 1);
+			int id = ids[index];
+			ids[index] = ids[swap];
+			ids[swap] = id;
+		}
+	}
+
+	@Benchmark
+	public Object table() {
+		return table.get(nextId());
+	}
+
+	@Benchmark
+	public Object arrayMap() {
+		return map.get(nextId());
+	}
+
+	private int nextId() {
+		int id = ids[next];
+		next = next + 1 == ids.length ? 0 : next + 1;
+		return id;
+	}
+}
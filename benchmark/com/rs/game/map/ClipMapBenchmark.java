@@ -0,0 +1,85 @@
+package com.rs.game.map;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rs.game.route.Flags;
+import com.rs.game.route.RouteFinder;
+import com.rs.game.route.strategy.FixedTileStrategy;
+
+/**
+ * Clip flag lookups through the {@link ClipMap} and the walk route searches reading them,
+ * over 4x4 regions with a fifth of the tiles blocked.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClipMapBenchmark {
+
+	private static final int REGIONS = 4;
+
+	private static final int TILES = 4096;
+
+	/**
+	 * The tiles looked up, and the routes searched from one tile to the next.
+	 */
+	private final int[] tileX = new int[TILES], tileY = new int[TILES];
+
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(15);
+		TestRegions.load(REGIONS, (x, y) -> random.nextInt(5) == 0 ? Flags.FLOOR_BLOCKSWALK : 0);
+		for (int index = 0; index < TILES; index++) {
+			tileX[index] = TestRegions.BASE + 32 + random.nextInt((REGIONS << 6) - 64);
+			tileY[index] = TestRegions.BASE + 32 + random.nextInt((REGIONS << 6) - 64);
+		}
+	}
+
+	@Benchmark
+	public int getMask() {
+		int index = nextIndex();
+		return ClipMap.getMask(0, tileX[index], tileY[index]);
+	}
+
+	@Benchmark
+	public int worldGetMask() {
+		int index = nextIndex();
+		return World.getMask(0, tileX[index], tileY[index]);
+	}
+
+	/**
+	 * A walk route search to a tile up to 60 tiles away along either axis.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int findRoute() {
+		int index = nextIndex();
+		int destX = tileX[index] + (tileX[index + 1 & TILES - 1] - tileX[index]) % 60;
+		int destY = tileY[index] + (tileY[index + 1 & TILES - 1] - tileY[index]) % 60;
+		return RouteFinder.findRoute(RouteFinder.WALK_ROUTEFINDER, tileX[index], tileY[index], 0, 1,
+				new FixedTileStrategy(destX, destY), true);
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = next + 1 & TILES - 1;
+		return index;
+	}
+}
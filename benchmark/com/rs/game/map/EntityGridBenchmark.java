@@ -0,0 +1,91 @@
+package com.rs.game.map;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rs.GameProperties;
+import com.rs.game.player.Player;
+
+/**
+ * Finding the players in view of a player of a crowd through the {@link EntityGrid},
+ * against scanning every player.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityGridBenchmark {
+
+	/**
+	 * The amount of players, standing in a square the size of a scene.
+	 */
+	@Param({ "100", "500" })
+	private int players;
+
+	private Player[] crowd;
+
+	private int next;
+
+	@Setup
+	public void setup() {
+		GameProperties.getGameProperties().load();
+		Random random = new Random(22);
+		crowd = new Player[players];
+		for (int index = 0; index < players; index++) {
+			Player player = new Player("benchmark");
+			player.getAppearance().setPlayer(player);
+			World.getPlayers().add(player);
+			player.setLocation(new WorldTile(3200 - 52 + random.nextInt(104), 3200 - 52 + random.nextInt(104), 0));
+			EntityGrid.update(player);
+			crowd[index] = player;
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		for (Player player : crowd) {
+			player.setFinished(true);
+			EntityGrid.update(player);
+			World.getPlayers().remove(player);
+		}
+	}
+
+	@Benchmark
+	public int grid() {
+		int[] found = new int[1];
+		EntityGrid.forEachPlayer(nextPlayer(), 14, player -> found[0]++);
+		return found[0];
+	}
+
+	@Benchmark
+	public int scan() {
+		Player center = nextPlayer();
+		int found = 0;
+		for (Player player : crowd)
+			if (player.withinDistance(center, 14))
+				found++;
+		return found;
+	}
+
+	private Player nextPlayer() {
+		Player player = crowd[next];
+		next = next + 1 == crowd.length ? 0 : next + 1;
+		return player;
+	}
+}
@@ -0,0 +1,97 @@
+package com.rs.game.route;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rs.cores.CoresManager;
+import com.rs.game.map.TestRegions;
+import com.rs.game.route.strategy.FixedTileStrategy;
+
+/**
+ * A tick's worth of walk route searches found one after another on the calling thread,
+ * against the same searches found at once on the world update pool, over 4x4 regions
+ * with a fifth of the tiles blocked.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteFinderBenchmark {
+
+	private static final int REGIONS = 4;
+
+	/**
+	 * The amount of searches in a tick.
+	 */
+	@Param({ "16", "256" })
+	private int searches;
+
+	/**
+	 * The threads of the world update pool.
+	 */
+	@Param({ "4" })
+	private int threads;
+
+	private int[] srcX, srcY, size;
+	private FixedTileStrategy[] strategies;
+
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<Route>[] futures;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		Random random = new Random(24);
+		TestRegions.load(REGIONS, (x, y) -> random.nextInt(5) == 0 ? Flags.FLOOR_BLOCKSWALK : 0);
+		CoresManager.worldUpdateExecutor = new ForkJoinPool(threads);
+		srcX = new int[searches];
+		srcY = new int[searches];
+		size = new int[searches];
+		strategies = new FixedTileStrategy[searches];
+		futures = new CompletableFuture[searches];
+		for (int index = 0; index < searches; index++) {
+			srcX[index] = TestRegions.BASE + 32 + random.nextInt((REGIONS << 6) - 64);
+			srcY[index] = TestRegions.BASE + 32 + random.nextInt((REGIONS << 6) - 64);
+			size[index] = 1 + random.nextInt(2);
+			strategies[index] = new FixedTileStrategy(srcX[index] + random.nextInt(121) - 60,
+					srcY[index] + random.nextInt(121) - 60);
+		}
+	}
+
+	@Benchmark
+	public int sequential() {
+		int steps = 0;
+		for (int index = 0; index < searches; index++)
+			steps += RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, srcX[index], srcY[index], 0, size[index],
+					strategies[index], true).getSteps();
+		return steps;
+	}
+
+	@Benchmark
+	public int async() {
+		for (int index = 0; index < searches; index++)
+			futures[index] = RouteFinder.findAsync(RouteFinder.WALK_ROUTEFINDER, srcX[index], srcY[index], 0, size[index],
+					strategies[index], true);
+		int steps = 0;
+		for (CompletableFuture<Route> future : futures)
+			steps += future.join().getSteps();
+		return steps;
+	}
+}
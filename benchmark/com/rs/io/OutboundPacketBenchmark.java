@@ -0,0 +1,76 @@
+package com.rs.io;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The cost of a session's packets for one tick: a stream and a copied buffer per
+ * packet, as {@link com.rs.net.Session} used to write them, against pooled streams
+ * wrapped into a single gathering buffer and released once it is written.
+ * <p>
+ * Run with {@code -Pjmh="OutboundPacketBenchmark -prof gc"} to see the bytes
+ * allocated per tick ({@code gc.alloc.rate.norm}).
+ * @author Dennis
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutboundPacketBenchmark {
+
+	/**
+	 * The packets a session is sent in a tick.
+	 */
+	@Param({ "10", "50" })
+	private int packets;
+
+	/**
+	 * The payload of every packet, in bytes.
+	 */
+	@Param({ "7", "64" })
+	private int payload;
+
+	@Benchmark
+	public void copied(Blackhole blackhole) {
+		for (int packet = 0; packet < packets; packet++) {
+			OutputStream stream = encode(new OutputStream(payload + 1));
+			blackhole.consume(ChannelBuffers.copiedBuffer(stream.getBuffer(), 0, stream.getOffset()));
+		}
+	}
+
+	@Benchmark
+	public void pooled(Blackhole blackhole) {
+		OutputStream[] streams = new OutputStream[packets];
+		ChannelBuffer[] buffers = new ChannelBuffer[packets];
+		for (int packet = 0; packet < packets; packet++) {
+			streams[packet] = encode(OutputStream.acquire(payload + 1));
+			buffers[packet] = ChannelBuffers.wrappedBuffer(streams[packet].getBuffer(), 0, streams[packet].getOffset());
+		}
+		blackhole.consume(ChannelBuffers.wrappedBuffer(buffers));
+		// the session releases the streams once the write completes
+		for (OutputStream stream : streams)
+			stream.release();
+	}
+
+	private OutputStream encode(OutputStream stream) {
+		stream.writeByte(payload);
+		for (int index = 0; index < payload; index++)
+			stream.writeByte(index);
+		return stream;
+	}
+}
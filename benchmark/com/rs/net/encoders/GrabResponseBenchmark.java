@@ -0,0 +1,83 @@
+package com.rs.net.encoders;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of a JS5 response for an archive of {@link #size} bytes: framed a byte at a
+ * time as the {@link GrabPacketsEncoder} used to, framed in blocks by the
+ * {@link GrabResponseCache}, and served from the cache once framed.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrabResponseBenchmark {
+
+	@Param({ "1000", "65536", "500000" })
+	private int size;
+
+	/**
+	 * The archive as stored, its compression and length followed by the data.
+	 */
+	private byte[] archive;
+
+	private ChannelBuffer response;
+
+	@Setup
+	public void setup() {
+		archive = new byte[size + 5];
+		new Random(size).nextBytes(archive);
+		archive[0] = 0;
+		archive[1] = (byte) (size >> 24);
+		archive[2] = (byte) (size >> 16);
+		archive[3] = (byte) (size >> 8);
+		archive[4] = (byte) size;
+		response = framed();
+	}
+
+	@Benchmark
+	public ChannelBuffer perByte() {
+		ChannelBuffer buffer = ChannelBuffers.dynamicBuffer();
+		buffer.writeByte(7);
+		buffer.writeShort(300);
+		buffer.writeByte(archive[0] & 0xff);
+		buffer.writeInt(size);
+		for (int index = 5; index < size + 5; index++) {
+			if (buffer.writerIndex() % 512 == 0)
+				buffer.writeByte(255);
+			buffer.writeByte(archive[index]);
+		}
+		return buffer;
+	}
+
+	@Benchmark
+	public ChannelBuffer framed() {
+		return GrabResponseCache.frame(7, 300, archive[0] & 0xff, size, archive, 5, size);
+	}
+
+	/**
+	 * A cached response handed out as the cache does on a hit.
+	 */
+	@Benchmark
+	public ChannelBuffer served() {
+		return ChannelBuffers.unmodifiableBuffer(response.duplicate());
+	}
+}
@@ -0,0 +1,88 @@
+package com.rs.net.packets.logic;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rs.utilities.ReflectionUtils;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * The per packet cost of finding a {@link LogicPacket}: the opcode and size tables of
+ * the {@link LogicPacketDispatcher} against the signature scan they replaced.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogicPacketDispatchBenchmark {
+
+	private List<LogicPacket> packets;
+
+	/**
+	 * The opcodes looked up in turn and the payload size sent with each, every
+	 * registered opcode and an unregistered one.
+	 */
+	private int[] opcodes, sizes;
+
+	private int next;
+
+	@Setup
+	public void setup() {
+		LogicPacketDispatcher.load();
+		packets = ReflectionUtils.getImplementersOf(LogicPacket.class);
+		IntArrayList registered = new IntArrayList(), payloads = new IntArrayList();
+		for (LogicPacket packet : packets) {
+			LogicPacketSignature signature = packet.getClass().getAnnotation(LogicPacketSignature.class);
+			if (signature.packetId() < 0 || signature.packetId() >= 256)
+				continue;
+			registered.add(signature.packetId());
+			payloads.add(signature.packetSize());
+		}
+		registered.add(255);
+		payloads.add(0);
+		opcodes = registered.toIntArray();
+		sizes = payloads.toIntArray();
+	}
+
+	@Benchmark
+	public LogicPacket table() {
+		int index = nextIndex();
+		return LogicPacketDispatcher.getVerifiedPacket(opcodes[index], sizes[index]);
+	}
+
+	/**
+	 * The lookup as it was, reading every handler's signature until one declares the
+	 * opcode, then checking the size against it.
+	 */
+	@Benchmark
+	public LogicPacket signatureScan() {
+		int index = nextIndex();
+		for (LogicPacket packet : packets) {
+			LogicPacketSignature signature = packet.getClass().getAnnotation(LogicPacketSignature.class);
+			if (signature.packetId() == opcodes[index])
+				return signature.packetSize() == 0 || signature.packetSize() == sizes[index] ? packet : null;
+		}
+		return null;
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = next + 1 == opcodes.length ? 0 : next + 1;
+		return index;
+	}
+}
@@ -0,0 +1,80 @@
+package com.rs.net.packets.outgoing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rs.utilities.ReflectionUtils;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * The per packet cost of finding an {@link OutgoingPacket}: the opcode table of the
+ * {@link OutgoingPacketDispatcher} against the signature scan it replaced.
+ * @author Dennis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutgoingPacketDispatchBenchmark {
+
+	private List<OutgoingPacket> packets;
+
+	/**
+	 * The opcodes looked up in turn, every registered one and an unregistered one.
+	 */
+	private int[] opcodes;
+
+	private int next;
+
+	@Setup
+	public void setup() {
+		OutgoingPacketDispatcher.load();
+		packets = ReflectionUtils.getImplementersOf(OutgoingPacket.class);
+		IntArrayList registered = new IntArrayList();
+		for (int opcode = 0; opcode < 256; opcode++)
+			if (OutgoingPacketDispatcher.getVerifiedPacket(opcode) != null)
+				registered.add(opcode);
+		registered.add(255);
+		opcodes = registered.toIntArray();
+	}
+
+	@Benchmark
+	public OutgoingPacket table() {
+		return OutgoingPacketDispatcher.getVerifiedPacket(nextOpcode());
+	}
+
+	/**
+	 * The lookup as it was, reading every handler's signature until one declares the opcode.
+	 */
+	@Benchmark
+	public OutgoingPacket signatureScan() {
+		int opcode = nextOpcode();
+		for (OutgoingPacket packet : packets) {
+			OutgoingPacketSignature signature = packet.getClass().getAnnotation(OutgoingPacketSignature.class);
+			if (Arrays.stream(signature.packetId()).anyMatch(id -> id == opcode))
+				return packet;
+		}
+		return null;
+	}
+
+	private int nextOpcode() {
+		int opcode = opcodes[next];
+		next = next + 1 == opcodes.length ? 0 : next + 1;
+		return opcode;
+	}
+}
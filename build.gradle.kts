@@ -1,10 +1,14 @@
+import io.github.classgraph.ClassGraph
+
 buildscript {
     repositories {
         jcenter()
+        mavenCentral()
     }
 
     dependencies {
         classpath(kotlin("gradle-plugin", version = "1.3.72"))
+        classpath(group = "io.github.classgraph", name = "classgraph", version = "4.8.78")
     }
 }
 
@@ -52,6 +56,9 @@ allprojects {
         // logging
         runtimeOnly(group = "org.tinylog", name = "tinylog-impl", version = "2.4.0-M1")
         implementation(group = "org.tinylog", name = "tinylog-api", version = "2.4.0-M1")
+
+        // testing
+        testImplementation(group = "junit", name = "junit", version = "4.13.2")
     }
 
     tasks {
@@ -65,6 +72,48 @@ allprojects {
 
 }
 
+/*
+	The plugin types loaded through ReflectionUtils; their implementers are written to
+	META-INF/plugin-index at build time so start-up doesn't have to scan the classpath
+*/
+val pluginTypes = listOf(
+    "com.rs.net.packets.outgoing.OutgoingPacket",
+    "com.rs.net.packets.logic.LogicPacket",
+    "com.rs.plugin.listener.RSInterface",
+    "com.rs.plugin.listener.NPCType",
+    "com.rs.plugin.listener.ObjectType",
+    "com.rs.plugin.listener.InventoryType",
+    "com.rs.plugin.listener.Command",
+    "com.rs.game.npc.combat.MobCombatInterface",
+    "com.rs.game.npc.global.GenericNPC",
+    "com.rs.game.player.spells.passive.PassiveSpell"
+)
+
+val pluginIndexDir = layout.buildDirectory.dir("generated/resources/plugin-index")
+
+val generatePluginIndex by tasks.registering {
+    dependsOn("compileJava")
+    inputs.files(sourceSets.main.get().output.classesDirs)
+    outputs.dir(pluginIndexDir)
+
+    doLast {
+        val indexDir = pluginIndexDir.get().asFile.resolve("META-INF/plugin-index")
+        indexDir.deleteRecursively()
+        indexDir.mkdirs()
+
+        val classpath = sourceSets.main.get().output.classesDirs.files + sourceSets.main.get().compileClasspath.files
+        ClassGraph().overrideClasspath(classpath).enableClassInfo().scan().use { result ->
+            pluginTypes.forEach { type ->
+                val info = result.getClassInfo(type) ?: throw GradleException("Plugin type $type was not compiled.")
+                val implementers = if (info.isInterface) result.getClassesImplementing(type) else result.getSubclasses(type)
+                indexDir.resolve(type).writeText(implementers
+                    .filter { !it.isAbstract && !it.isInterface }
+                    .names.sorted().joinToString("\n"))
+            }
+        }
+    }
+}
+
 /*
 	A list of all Source-built folders, list is  self-explanitory
 */
@@ -79,5 +128,38 @@ sourceSets {
             srcDirs("mysql")
             srcDirs("src")
         }
+        resources {
+            srcDir(files(pluginIndexDir).builtBy(generatePluginIndex))
+        }
+    }
+    test {
+        java {
+            srcDirs("test")
+        }
     }
-}
\ No newline at end of file
+}
+/*
+	Microbenchmarks, kept apart from the server sources and sharing the test fixtures; run them with "gradlew jmh",
+	optionally passing JMH arguments such as -Pjmh="<regex of benchmark names> -prof gc"
+*/
+val jmh by sourceSets.creating {
+    java {
+        srcDirs("benchmark")
+    }
+    compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+}
+
+dependencies {
+    "jmhImplementation"(group = "org.openjdk.jmh", name = "jmh-core", version = "1.33")
+    "jmhAnnotationProcessor"(group = "org.openjdk.jmh", name = "jmh-generator-annprocess", version = "1.33")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the microbenchmarks."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    if (project.hasProperty("jmh"))
+        args(project.property("jmh").toString().split(" ").filter { it.isNotEmpty() })
+}
@@ -3,6 +3,8 @@ package com.rs.game.npc;
 import com.rs.cache.loaders.NPCDefinitions;
 import com.rs.game.Entity;
 import com.rs.game.EntityType;
+import com.rs.game.map.EntityGrid;
+import com.rs.game.map.NPCDormancy;
 import com.rs.game.map.World;
 import com.rs.game.map.WorldTile;
 import com.rs.game.npc.combat.NPCCombat;
@@ -12,6 +14,7 @@ import com.rs.game.npc.global.GenericNPCDispatcher;
 import com.rs.game.player.Hit;
 import com.rs.game.player.Player;
 import com.rs.game.player.controller.impl.WildernessController;
+import com.rs.game.route.Route;
 import com.rs.game.route.RouteFinder;
 import com.rs.game.route.strategy.FixedTileStrategy;
 import com.rs.game.task.Task;
@@ -58,6 +61,8 @@ public class NPC extends Entity {
 	private boolean noDistanceCheck;
 	private boolean intelligentRouteFinder;
 	private transient GenericNPCDispatcher genericNPC;
+	private transient boolean dormant;
+	private transient Route forceWalkRoute;
 
 	// npc masks
 	private transient Transformation nextTransformation;
@@ -131,12 +136,13 @@ public class NPC extends Entity {
 			if (getMovement().getFreezeDelay() < Utility.currentTimeMillis()) {
 				if (getX() != getForceWalk().getX() || getY() != getForceWalk().getY()) {
 					if (!hasWalkSteps()) {
-						int steps = RouteFinder.findRoute(RouteFinder.WALK_ROUTEFINDER, getX(), getY(), getPlane(),
-								getSize(), new FixedTileStrategy(getForceWalk().getX(), getForceWalk().getY()), true);
-						int[] bufferX = RouteFinder.getLastPathBufferX();
-						int[] bufferY = RouteFinder.getLastPathBufferY();
-						for (int i = steps - 1; i >= 0; i--) {
-							if (!addWalkSteps(bufferX[i], bufferY[i], 25, true))
+						FixedTileStrategy strategy = new FixedTileStrategy(getForceWalk().getX(), getForceWalk().getY());
+						Route route = getForceWalkRoute();
+						if (route == null || !route.matches(getX(), getY(), getPlane(), getSize(), strategy, true))
+							route = RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, getX(), getY(), getPlane(), getSize(),
+									strategy, true);
+						for (int i = route.getSteps() - 1; i >= 0; i--) {
+							if (!addWalkSteps(route.getX(i), route.getY(i), 25, true))
 								break;
 						}
 					}
@@ -150,6 +156,19 @@ public class NPC extends Entity {
 		}
 	}
 
+	/**
+	 * Finds the route of the force walk the npc will search for when processed this
+	 * tick, so the search can run in parallel with those of other npcs. Only reads the world.
+	 */
+	public void prepareForceWalkRoute() {
+		setForceWalkRoute(null);
+		if (!isForceWalking() || hasWalkSteps() || getMovement().getFreezeDelay() >= Utility.currentTimeMillis()
+				|| (getX() == getForceWalk().getX() && getY() == getForceWalk().getY()))
+			return;
+		setForceWalkRoute(RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, getX(), getY(), getPlane(), getSize(),
+				new FixedTileStrategy(getForceWalk().getX(), getForceWalk().getY()), true));
+	}
+
 	@Override
 	public void processEntity() {
 		super.processEntity();
@@ -199,6 +218,7 @@ public class NPC extends Entity {
 	public void deregister() {
 		if (isFinished())
 			return;
+		NPCDormancy.wake(this);
 		setFinished(true);
 		updateEntityRegion(this);
 		World.removeNPC(this);
@@ -277,47 +297,36 @@ public class NPC extends Entity {
 	public ObjectArrayList<Entity> getPossibleTargets(boolean checkNPCs, boolean checkPlayers) {
 		int size = getSize();
 		int agroRatio = 32;
+		int range = getForceTargetDistance() > 0 ? getForceTargetDistance() : agroRatio;
 		ObjectArrayList<Entity> possibleTarget = new ObjectArrayList<Entity>();
-		for (int regionId : getMapRegionsIds()) {
-			if (checkPlayers) {
-				ObjectArrayList<Short> playerIndexes = World.getRegion(regionId).getPlayersIndexes();
-				if (playerIndexes != null) {
-					for (int playerIndex : playerIndexes) {
-						Player player = World.getPlayers().get(playerIndex);
-						if (player.isDead() || player.isFinished() || !player.isRunning()
-								|| player.getAppearance().isHidePlayer()
-								|| !Utility.isOnRange(getX(), getY(), size, player.getX(), player.getY(),
-										player.getSize(),
-										getForceTargetDistance() > 0 ? getForceTargetDistance() : agroRatio)
-								|| (!isForceMultiAttacked() && (!isMultiArea() || !player.isMultiArea())
-										&& (player.getAttackedBy() != this
-												&& (player.getAttackedByDelay() > Utility.currentTimeMillis()
-														|| player.getFindTargetDelay() > Utility.currentTimeMillis())))
-								|| !clipedProjectile(player, false)
-								|| (!isForceAgressive() && !WildernessController.isAtWild(this) && player.getSkills()
-										.getCombatLevelWithSummoning() >= getDefinitions().getCombatLevel() * 2))
-							continue;
-						possibleTarget.add(player);
-					}
-				}
-			}
-			if (checkNPCs) {
-				ObjectArrayList<Short> npcsIndexes = World.getRegion(regionId).getNpcsIndexes();
-				if (npcsIndexes != null) {
-					for (int npcIndex : npcsIndexes) {
-						NPC npc = World.getNPCs().get(npcIndex);
-						if (npc == this || npc.isDead() || npc.isFinished()
-								|| !Utility.isOnRange(getX(), getY(), size, npc.getX(), npc.getY(), npc.getSize(),
-										getForceTargetDistance() > 0 ? getForceTargetDistance() : agroRatio)
-								|| !npc.getDefinitions().hasAttackOption()
-								|| ((!isMultiArea() || !npc.isMultiArea()) && npc.getAttackedBy() != this
-										&& npc.getAttackedByDelay() > Utility.currentTimeMillis())
-								|| !clipedProjectile(npc, false))
-							continue;
-						possibleTarget.add(npc);
-					}
-				}
-			}
+		if (checkPlayers) {
+			EntityGrid.forEachPlayer(this, range + size + 1, player -> {
+				if (player.isDead() || !player.isRunning()
+						|| player.getAppearance().isHidePlayer()
+						|| !Utility.isOnRange(getX(), getY(), size, player.getX(), player.getY(),
+								player.getSize(), range)
+						|| (!isForceMultiAttacked() && (!isMultiArea() || !player.isMultiArea())
+								&& (player.getAttackedBy() != this
+										&& (player.getAttackedByDelay() > Utility.currentTimeMillis()
+												|| player.getFindTargetDelay() > Utility.currentTimeMillis())))
+						|| !clipedProjectile(player, false)
+						|| (!isForceAgressive() && !WildernessController.isAtWild(this) && player.getSkills()
+								.getCombatLevelWithSummoning() >= getDefinitions().getCombatLevel() * 2))
+					return;
+				possibleTarget.add(player);
+			});
+		}
+		if (checkNPCs) {
+			EntityGrid.forEachNPC(this, range + size + 1, npc -> {
+				if (npc == this || npc.isDead()
+						|| !Utility.isOnRange(getX(), getY(), size, npc.getX(), npc.getY(), npc.getSize(), range)
+						|| !npc.getDefinitions().hasAttackOption()
+						|| ((!isMultiArea() || !npc.isMultiArea()) && npc.getAttackedBy() != this
+								&& npc.getAttackedByDelay() > Utility.currentTimeMillis())
+						|| !clipedProjectile(npc, false))
+					return;
+				possibleTarget.add(npc);
+			});
 		}
 		return possibleTarget;
 	}
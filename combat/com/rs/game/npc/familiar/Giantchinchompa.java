@@ -1,6 +1,6 @@
 package com.rs.game.npc.familiar;
 
-import com.rs.game.map.World;
+import com.rs.game.map.EntityGrid;
 import com.rs.game.map.WorldTile;
 import com.rs.game.player.Hit;
 import com.rs.game.player.Player;
@@ -11,8 +11,6 @@ import com.rs.net.encoders.other.ForceTalk;
 import com.rs.net.encoders.other.Graphics;
 import com.rs.utilities.RandomUtils;
 
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-
 public class Giantchinchompa extends Familiar {
 
 	public Giantchinchompa(Player owner, Pouch pouch, WorldTile tile, int mapAreaNameHash,
@@ -51,16 +49,11 @@ public class Giantchinchompa extends Familiar {
 		setNextGraphics(new Graphics(1310));
 		setNextForceTalk(new ForceTalk("Squeek!"));
 		Player player = getOwner();
-		ObjectArrayList<Short> playerIndexes = World.getRegion(player.getRegionId()).getPlayersIndexes();
-		if (playerIndexes != null) {
-			for (int playerIndex : playerIndexes) {
-				Player p2 = World.getPlayers().get(playerIndex);
-				if (p2 == null || p2.isDead() || p2 != player || !p2.isRunning() || !p2.withinDistance(player, 2))
-					continue;
-				p2.applyHit(new Hit(this, RandomUtils.inclusive(130), HitLook.MAGIC_DAMAGE));
-			}
-			return true;
-		}
-		return false;
+		EntityGrid.forEachPlayer(player, 2, p2 -> {
+			if (p2.isDead() || p2 != player || !p2.isRunning())
+				return;
+			p2.applyHit(new Hit(this, RandomUtils.inclusive(130), HitLook.MAGIC_DAMAGE));
+		});
+		return true;
 	}
 }
@@ -7,7 +7,7 @@ import com.rs.cache.loaders.ItemDefinitions;
 import com.rs.game.Entity;
 import com.rs.game.item.FloorItem;
 import com.rs.game.item.Item;
-import com.rs.game.map.Region;
+import com.rs.game.map.EntityGrid;
 import com.rs.game.map.World;
 import com.rs.game.map.WorldTile;
 import com.rs.game.npc.NPC;
@@ -145,38 +145,24 @@ public class PlayerCombat extends Action {
 		ObjectArrayList<Entity> possibleTargets = new ObjectArrayList<Entity>();
 		possibleTargets.add(target);
 		if (target.isMultiArea()) {
-			y: for (int regionId : target.getMapRegionsIds()) {
-				Region region = World.getRegion(regionId);
-				if (target.isPlayer()) {
-					ObjectArrayList<Short> playerIndexes = region.getPlayersIndexes();
-					if (playerIndexes == null)
-						continue;
-					for (int playerIndex : playerIndexes) {
-						Player p2 = World.getPlayers().get(playerIndex);
-						if (p2 == null || p2 == player || p2 == target || p2.isDead() || !p2.isStarted()
-								|| p2.isFinished() || !p2.isCanPvp() || !p2.isMultiArea()
-								|| !p2.withinDistance(target, maxDistance)
-								|| !ControllerHandler.execute(player, controller -> controller.canHit(player, p2)))
-							continue;
-						possibleTargets.add(p2);
-						if (possibleTargets.size() == maxAmtTargets)
-							break y;
-					}
-				} else {
-					ObjectArrayList<Short> npcIndexes = region.getNpcsIndexes();
-					if (npcIndexes == null)
-						continue;
-					for (int npcIndex : npcIndexes) {
-						NPC n = World.getNPCs().get(npcIndex);
-						if (n == null || n == target || n == player.getFamiliar() || n.isDead() || n.isFinished()
-								|| !n.isMultiArea() || !n.withinDistance(target, maxDistance)
-								|| !n.getDefinitions().hasAttackOption() || !ControllerHandler.execute(player, controller -> controller.canHit(player, n)))
-							continue;
-						possibleTargets.add(n);
-						if (possibleTargets.size() == maxAmtTargets)
-							break y;
-					}
-				}
+			if (target.isPlayer()) {
+				EntityGrid.findPlayer(target, maxDistance, p2 -> {
+					if (p2 == player || p2 == target || p2.isDead() || !p2.isStarted()
+							|| !p2.isCanPvp() || !p2.isMultiArea()
+							|| !ControllerHandler.execute(player, controller -> controller.canHit(player, p2)))
+						return false;
+					possibleTargets.add(p2);
+					return possibleTargets.size() == maxAmtTargets;
+				});
+			} else {
+				EntityGrid.findNPC(target, maxDistance, n -> {
+					if (n == target || n == player.getFamiliar() || n.isDead()
+							|| !n.isMultiArea() || !n.withinDistance(target, maxDistance)
+							|| !n.getDefinitions().hasAttackOption() || !ControllerHandler.execute(player, controller -> controller.canHit(player, n)))
+						return false;
+					possibleTargets.add(n);
+					return possibleTargets.size() == maxAmtTargets;
+				});
 			}
 		}
 		return possibleTargets.toArray(new Entity[possibleTargets.size()]);
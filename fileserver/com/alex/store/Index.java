@@ -29,7 +29,7 @@ public final class Index {
 		resetCachedFiles();
 	}
 
-	public void resetCachedFiles() {
+	public synchronized void resetCachedFiles() {
 		cachedFiles = new byte[getLastArchiveId() + 1][][];
 	}
 
@@ -107,12 +107,22 @@ public final class Index {
 		try {
 			if (!fileExists(archiveId, fileId))
 				return null;
-			if (cachedFiles[archiveId] == null
-					|| cachedFiles[archiveId][fileId] == null)
-				cacheArchiveFiles(archiveId, keys);
-			byte[] file = cachedFiles[archiveId][fileId];
-			cachedFiles[archiveId][fileId] = null;
-			return file;
+			synchronized (this) {
+				byte[][] files = cachedFiles[archiveId];
+				if (files != null && files[fileId] != null) {
+					byte[] file = files[fileId];
+					files[fileId] = null;
+					return file;
+				}
+			}
+			// decoded outside the lock so other archives load meanwhile, each caller taking its file from its own copy
+			byte[][] files = readArchiveFiles(archiveId, keys);
+			synchronized (this) {
+				byte[] file = files[fileId];
+				files[fileId] = null;
+				cachedFiles[archiveId] = files;
+				return file;
+			}
 		} catch (Throwable e) {
 			e.printStackTrace();
 			return null;
@@ -352,17 +362,29 @@ public final class Index {
 	}
 	
 	private void cacheArchiveFiles(int archiveId, int[] keys) {
+		byte[][] files = readArchiveFiles(archiveId, keys);
+		synchronized (this) {
+			cachedFiles[archiveId] = files;
+		}
+	}
+
+	/**
+	 * Decodes the files of an archive, only publishing them once complete so no
+	 * other thread sees them half filled.
+	 * @return the files, indexed by file id.
+	 */
+	private byte[][] readArchiveFiles(int archiveId, int[] keys) {
 		Archive archive = getArchive(archiveId, keys);
 		int lastFileId = getLastFileId(archiveId);
-		cachedFiles[archiveId] = new byte[lastFileId + 1][];
+		byte[][] files = new byte[lastFileId + 1][];
 		if (archive == null)
-			return;
+			return files;
 		byte[] data = archive.getData();
 		if (data == null)
-			return;
+			return files;
 		int filesCount = getValidFilesCount(archiveId);
 		if (filesCount == 1)
-			cachedFiles[archiveId][lastFileId] = data;
+			files[lastFileId] = data;
 		else {
 			int readPosition = data.length;
 			int amtOfLoops = data[--readPosition] & 0xff;
@@ -394,8 +416,9 @@ public final class Index {
 			}
 			int count = 0;
 			for (int fileId : table.getArchives()[archiveId].getValidFileIds())
-				cachedFiles[archiveId][fileId] = filesData[count++];
+				files[fileId] = filesData[count++];
 		}
+		return files;
 	}
 
 	public int getId() {
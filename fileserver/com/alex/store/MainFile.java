@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Synchronized;
 
@@ -21,11 +23,27 @@ public final class MainFile {
 	private static final int TOTAL_BLOCK_LEN = HEADER_LEN + BLOCK_LEN;
 	private static final ByteBuffer tempBuffer = ByteBuffer.allocateDirect(TOTAL_BLOCK_LEN);
 
+	/**
+	 * The read-only mapping of every data file, shared by the indexes reading from it.
+	 */
+	private static final ConcurrentHashMap<FileChannel, ByteBuffer> DATA_MAPS = new ConcurrentHashMap<>();
+
 	private int id;
 	private FileChannel index;
 	private FileChannel data;
 	private boolean newProtocol;
 
+	/**
+	 * The read-only mapping of the index file, only used while {@link #writes} still
+	 * holds the count it was mapped at.
+	 */
+	private volatile IndexMapping indexMap;
+
+	/**
+	 * Incremented before and after every write, odd while a write is in progress.
+	 */
+	private volatile int writes;
+
 	protected MainFile(int id, RandomAccessFile data, RandomAccessFile index, boolean newProtocol) throws IOException {
 		this.id = id;
 		this.data = data.getChannel();
@@ -44,9 +62,132 @@ public final class MainFile {
 		return new Archive(id, data, keys);
 	}
 
-	@Synchronized("data")
+	/**
+	 * Reads an archive from the memory mapped cache files without taking a lock.
+	 * Should the file be written meanwhile, not be mappable, or the archive not be
+	 * found within the mappings, the read is done again through the file channels
+	 * under the data lock.
+	 */
 	public byte[] getArchiveData(int archiveId) {
+		int version = writes;
+		if ((version & 1) == 0) {
+			try {
+				ByteBuffer indexMap = getIndexMap(version);
+				ByteBuffer dataMap = getDataMap();
+				if (indexMap != null && dataMap != null) {
+					byte[] archive = readMappedArchiveData(archiveId, indexMap, dataMap);
+					if (archive == null && dataMap.capacity() < data.size())
+						DATA_MAPS.remove(data, dataMap);
+					if (archive != null && writes == version)
+						return archive;
+				}
+			} catch (IOException | RuntimeException e) {
+				// the file changed underneath us, read it again under the lock
+			}
+		}
+		return readArchiveData(archiveId);
+	}
+
+	/**
+	 * Walks the sector chain of an archive within the mapped files. Only absolute
+	 * reads are made on the shared buffers, every read gets its own view of the data.
+	 */
+	private byte[] readMappedArchiveData(int archiveId, ByteBuffer indexMap, ByteBuffer dataMap) {
+		int indexPosition = archiveId * IDX_BLOCK_LEN;
+		if (archiveId < 0 || indexPosition + IDX_BLOCK_LEN > indexMap.capacity())
+			return null;
+		int size = getMediumInt(indexMap, indexPosition);
+		int block = getMediumInt(indexMap, indexPosition + 3);
+		int blocks = dataMap.capacity() / TOTAL_BLOCK_LEN;
+		if (block <= 0 || block > blocks)
+			return null;
+		byte[] archive = new byte[size];
+		ByteBuffer view = dataMap.duplicate();
+		int remaining = size;
+		int chunk = 0;
+		boolean expanded = newProtocol && archiveId > 0xffff;
+		int blockLen = expanded ? EXPANDED_BLOCK_LEN : BLOCK_LEN;
+		int headerLen = expanded ? EXPANDED_HEADER_LEN : HEADER_LEN;
+		while (remaining > 0) {
+			if (block == 0)
+				return null;
+			int blockSize = remaining > blockLen ? blockLen : remaining;
+			int position = block * TOTAL_BLOCK_LEN;
+			if (position + headerLen + blockSize > view.capacity())
+				return null;
+
+			int currentFile, currentChunk, nextBlock, currentIndex;
+			if (!expanded) {
+				currentFile = view.getShort(position) & 0xffff;
+				currentChunk = view.getShort(position + 2) & 0xffff;
+				nextBlock = getMediumInt(view, position + 4);
+				currentIndex = view.get(position + 7) & 0xff;
+			} else {
+				currentFile = view.getInt(position);
+				currentChunk = view.getShort(position + 4) & 0xffff;
+				nextBlock = getMediumInt(view, position + 6);
+				currentIndex = view.get(position + 9) & 0xff;
+			}
+
+			if ((archiveId != currentFile && archiveId <= 65535) || chunk != currentChunk || id != currentIndex)
+				return null;
+			if (nextBlock < 0 || nextBlock > blocks)
+				return null;
+
+			view.position(position + headerLen);
+			view.get(archive, size - remaining, blockSize);
+			remaining -= blockSize;
+			block = nextBlock;
+			chunk++;
+		}
+		return archive;
+	}
+
+	/**
+	 * Gets the mapping of this index file made at {@code version}, mapping it first if needed.
+	 * A mapping published after a write started is never used, as its version is outdated.
+	 * @return the mapping, or {@code null} if the file is too large to be mapped.
+	 */
+	private ByteBuffer getIndexMap(int version) throws IOException {
+		IndexMapping mapping = indexMap;
+		if (mapping != null && mapping.version == version)
+			return mapping.buffer;
+		ByteBuffer map = map(index);
+		if (map != null)
+			indexMap = new IndexMapping(version, map);
+		return map;
+	}
+
+	/**
+	 * Gets the mapping of the data file shared by every index, mapping it first if needed.
+	 * A mapping made before the file grew is dropped once an archive isn't found within it.
+	 * @return the mapping, or {@code null} if the file is too large to be mapped.
+	 */
+	private ByteBuffer getDataMap() throws IOException {
+		ByteBuffer map = DATA_MAPS.get(data);
+		if (map == null) {
+			map = map(data);
+			if (map != null)
+				DATA_MAPS.put(data, map);
+		}
+		return map;
+	}
+
+	private static ByteBuffer map(FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE)
+			return null;
+		return channel.map(MapMode.READ_ONLY, 0, size);
+	}
+
+	/**
+	 * Reads an archive through the file channels, sharing {@link #tempBuffer} under the data lock.
+	 */
+	@Synchronized("data")
+	private byte[] readArchiveData(int archiveId) {
 		try {
+			if (archiveId < 0 || archiveId * IDX_BLOCK_LEN + IDX_BLOCK_LEN > index.size())
+				return null;
 			tempBuffer.position(0).limit(IDX_BLOCK_LEN);
 			index.read(tempBuffer, archiveId * IDX_BLOCK_LEN);
 			tempBuffer.flip();
@@ -104,6 +245,10 @@ public final class MainFile {
 		}
 	}
 
+	private static int getMediumInt(ByteBuffer buffer, int position) {
+		return ((buffer.get(position) & 0xff) << 16) | ((buffer.get(position + 1) & 0xff) << 8) | (buffer.get(position + 2) & 0xff);
+	}
+
 	private static int getMediumInt(ByteBuffer buffer) {
 		return ((buffer.get() & 0xff) << 16) | ((buffer.get() & 0xff) << 8) | (buffer.get() & 0xff);
 	}
@@ -128,6 +273,7 @@ public final class MainFile {
 
 	@Synchronized("data")
 	public boolean putArchiveData(int archiveId, ByteBuffer archive, int size, boolean exists) {
+		writes++;
 		try {
 			int block;
 			if (exists) {
@@ -230,6 +376,10 @@ public final class MainFile {
 			return true;
 		} catch (IOException ex) {
 			return false;
+		} finally {
+			indexMap = null;
+			DATA_MAPS.remove(data);
+			writes++;
 		}
 	}
 
@@ -237,6 +387,20 @@ public final class MainFile {
 		return id;
 	}
 
+	/**
+	 * A mapping of the index file and the {@link #writes} count it was made at.
+	 */
+	private static final class IndexMapping {
+
+		private final int version;
+		private final ByteBuffer buffer;
+
+		private IndexMapping(int version, ByteBuffer buffer) {
+			this.version = version;
+			this.buffer = buffer;
+		}
+	}
+
 	@Synchronized("index")
 	public int getArchivesCount() throws IOException {
 		return (int) (index.size() / 6);
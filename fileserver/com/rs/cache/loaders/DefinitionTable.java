@@ -0,0 +1,103 @@
+package com.rs.cache.loaders;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+/**
+ * A lazily filled table of cache definitions indexed by id, sized from the amount of
+ * files the cache holds for the definition type.
+ * <p>
+ * Lookups are a single array read. A missing definition is decoded by the calling
+ * thread and published with a compare-and-set, so concurrent callers never block; if
+ * two threads race on the same id both decode it and the first one published wins.
+ * Ids outside the cache's range, such as custom ids, are kept in a separate map.
+ * @author Dennis
+ */
+public final class DefinitionTable<T> {
+
+	private final String name;
+
+	/**
+	 * Supplies the amount of definitions in the cache.
+	 */
+	private final IntSupplier size;
+
+	/**
+	 * Decodes a single definition from the cache.
+	 */
+	private final IntFunction<T> loader;
+
+	/**
+	 * The definitions in the cache's range, created on first use.
+	 */
+	private volatile AtomicReferenceArray<T> definitions;
+
+	/**
+	 * The definitions outside the cache's range.
+	 */
+	private final ConcurrentHashMap<Integer, T> outOfRange = new ConcurrentHashMap<>();
+
+	public DefinitionTable(String name, IntSupplier size, IntFunction<T> loader) {
+		this.name = name;
+		this.size = size;
+		this.loader = loader;
+	}
+
+	/**
+	 * Gets the definition of {@code id}, decoding it on first use.
+	 * @param id the id of the definition.
+	 * @return the definition.
+	 */
+	public T get(int id) {
+		AtomicReferenceArray<T> table = getDefinitions();
+		if (id < 0 || id >= table.length()) {
+			T definition = outOfRange.get(id);
+			if (definition != null)
+				return definition;
+			definition = loader.apply(id);
+			T previous = outOfRange.putIfAbsent(id, definition);
+			return previous != null ? previous : definition;
+		}
+		T definition = table.get(id);
+		if (definition != null)
+			return definition;
+		definition = loader.apply(id);
+		return table.compareAndSet(id, null, definition) ? definition : table.get(id);
+	}
+
+	/**
+	 * Decodes every definition in the cache's range across all cores.
+	 */
+	public void preload() {
+		long start = System.nanoTime();
+		int length = getDefinitions().length();
+		IntStream.range(0, length).parallel().forEach(this::get);
+		LogUtility.log(LogType.INFO, "Preloaded " + length + " " + name + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+	}
+
+	/**
+	 * Drops every decoded definition.
+	 */
+	public void clear() {
+		if (definitions != null)
+			definitions = new AtomicReferenceArray<>(definitions.length());
+		outOfRange.clear();
+	}
+
+	private AtomicReferenceArray<T> getDefinitions() {
+		AtomicReferenceArray<T> table = definitions;
+		if (table == null) {
+			synchronized (this) {
+				if ((table = definitions) == null)
+					definitions = table = new AtomicReferenceArray<>(size.getAsInt());
+			}
+		}
+		return table;
+	}
+}
@@ -6,6 +6,7 @@ import com.rs.game.item.Item;
 import com.rs.game.player.CombatDefinitions;
 import com.rs.game.player.Equipment;
 import com.rs.io.InputStream;
+import com.rs.utilities.Utility;
 import com.rs.utilities.loaders.EquipData;
 import com.rs.utilities.loaders.ItemBonuses;
 
@@ -17,7 +18,8 @@ import skills.Skills;
 @Data
 public final class ItemDefinitions {
 
-	static Object2ObjectArrayMap<Integer, ItemDefinitions> itemsDefinitions = new Object2ObjectArrayMap<>();
+	static final DefinitionTable<ItemDefinitions> itemsDefinitions = new DefinitionTable<>("item definitions",
+			Utility::getItemDefinitionsSize, ItemDefinitions::new);
 
 	public int id;
 	public boolean loaded;
@@ -106,16 +108,17 @@ public final class ItemDefinitions {
 	public byte[] unknownArray6;
 
 	public static final ItemDefinitions getItemDefinitions(int itemId) {
-		ItemDefinitions def = itemsDefinitions.get(itemId);
-		if (def == null)
-			itemsDefinitions.put(itemId, def = new ItemDefinitions(itemId));
-		return def;
+		return itemsDefinitions.get(itemId);
 	}
 
 	public static final void clearItemsDefinitions() {
 		itemsDefinitions.clear();
 	}
 
+	public static final void preloadItemsDefinitions() {
+		itemsDefinitions.preload();
+	}
+
 	public ItemDefinitions(int id) {
 		this.id = id;
 		setDefaultsVariableValues();
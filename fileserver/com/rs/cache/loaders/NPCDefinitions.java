@@ -5,6 +5,7 @@ import java.util.Arrays;
 
 import com.rs.cache.Cache;
 import com.rs.io.InputStream;
+import com.rs.utilities.Utility;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import lombok.Data;
@@ -12,7 +13,8 @@ import lombok.Data;
 @Data
 public final class NPCDefinitions {
 
-	private static Object2ObjectArrayMap<Integer, NPCDefinitions> npcDefinitions = new Object2ObjectArrayMap<>();
+	private static final DefinitionTable<NPCDefinitions> npcDefinitions = new DefinitionTable<>("npc definitions",
+			Utility::getNPCDefinitionsSize, NPCDefinitions::loadNPCDefinitions);
 
 	private int id;
 	public Object2ObjectArrayMap<Integer, Object> clientScriptData;
@@ -88,17 +90,17 @@ public final class NPCDefinitions {
 	}
 
 	public static final NPCDefinitions getNPCDefinitions(int id) {
-		NPCDefinitions def = npcDefinitions.get(id);
-		if (def == null) {
-			def = new NPCDefinitions(id);
-			def.method694();
-			byte[] data = Cache.STORE.getIndexes()[18].getFile(id >>> 134238215, id & 0x7f);
-			if (data == null) {
-				// System.out.println("Failed loading NPC " + id + ".");
-			} else
-				def.readValueLoop(new InputStream(data));
-			npcDefinitions.put(id, def);
-		}
+		return npcDefinitions.get(id);
+	}
+
+	private static NPCDefinitions loadNPCDefinitions(int id) {
+		NPCDefinitions def = new NPCDefinitions(id);
+		def.method694();
+		byte[] data = Cache.STORE.getIndexes()[18].getFile(id >>> 134238215, id & 0x7f);
+		if (data == null) {
+			// System.out.println("Failed loading NPC " + id + ".");
+		} else
+			def.readValueLoop(new InputStream(data));
 		return def;
 	}
 
@@ -432,6 +434,10 @@ public final class NPCDefinitions {
 		npcDefinitions.clear();
 	}
 
+	public static final void preloadNPCDefinitions() {
+		npcDefinitions.preload();
+	}
+
 	public NPCDefinitions(int id) {
 		this.id = id;
 		anInt842 = -1;
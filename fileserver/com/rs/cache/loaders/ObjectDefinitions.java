@@ -14,7 +14,8 @@ import lombok.Data;
 @Data
 public class ObjectDefinitions {
 
-	static Object2ObjectArrayMap<Integer, ObjectDefinitions> objectDefinitions = new Object2ObjectArrayMap<>();
+	static final DefinitionTable<ObjectDefinitions> objectDefinitions = new DefinitionTable<>("object definitions",
+			Utility::getObjectDefinitionsSize, ObjectDefinitions::loadObjectDefinitions);
 
 	private short[] originalColors;
 	int[] toObjectIds;
@@ -719,27 +720,26 @@ public class ObjectDefinitions {
 	}
 
 	public static ObjectDefinitions getObjectDefinitions(int id) {
-		ObjectDefinitions def = objectDefinitions.get(id);
-		if (def == null) {
-			def = new ObjectDefinitions();
-			def.id = id;
-			byte[] data = Cache.STORE.getIndexes()[16].getFile(getArchiveId(id), id & 0xff);
-			if (data == null) {
-				// System.out.println("Failed loading Object " + id + ".");
-			} else
-				def.readValueLoop(new InputStream(data));
-			def.method3287();
-			/*
-			 * if(def.name.equalsIgnoreCase("bank booth") ||
-			 * def.name.equalsIgnoreCase("counter")) { def.notCliped = false;
-			 * def.projectileCliped = true; if (def.clipType == 0) def.clipType = 1; } else
-			 * if (DungeonUtils.isDoor(id) || DungeonUtils.isBossDoor(id)) { def.notCliped =
-			 * false; def.projectileCliped = true; if (def.clipType == 0) def.clipType = 1;
-			 * } if (def.notCliped) { def.projectileCliped = false; def.clipType = 0; }
-			 */
-
-			objectDefinitions.put(id, def);
-		}
+		return objectDefinitions.get(id);
+	}
+
+	private static ObjectDefinitions loadObjectDefinitions(int id) {
+		ObjectDefinitions def = new ObjectDefinitions();
+		def.id = id;
+		byte[] data = Cache.STORE.getIndexes()[16].getFile(getArchiveId(id), id & 0xff);
+		if (data == null) {
+			// System.out.println("Failed loading Object " + id + ".");
+		} else
+			def.readValueLoop(new InputStream(data));
+		def.method3287();
+		/*
+		 * if(def.name.equalsIgnoreCase("bank booth") ||
+		 * def.name.equalsIgnoreCase("counter")) { def.notCliped = false;
+		 * def.projectileCliped = true; if (def.clipType == 0) def.clipType = 1; } else
+		 * if (DungeonUtils.isDoor(id) || DungeonUtils.isBossDoor(id)) { def.notCliped =
+		 * false; def.projectileCliped = true; if (def.clipType == 0) def.clipType = 1;
+		 * } if (def.notCliped) { def.projectileCliped = false; def.clipType = 0; }
+		 */
 		return def;
 	}
 
@@ -747,6 +747,10 @@ public class ObjectDefinitions {
 		objectDefinitions.clear();
 	}
 
+	public static void preloadObjectDefinitions() {
+		objectDefinitions.preload();
+	}
+
 	/**
 	 * Prints all fields in this class.
 	 */
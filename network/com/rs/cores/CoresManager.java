@@ -1,8 +1,11 @@
 package com.rs.cores;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import com.rs.GameConstants;
@@ -15,6 +18,11 @@ public final class CoresManager {
 	public static ExecutorService serverWorkerChannelExecutor;
 	public static ExecutorService serverBossChannelExecutor;
 	public static ScheduledExecutorService slowExecutor;
+	public static ScheduledExecutorService grabExecutor;
+	public static ExecutorService regionExecutor;
+	public static ExecutorService persistenceExecutor;
+	public static ExecutorService loginExecutor;
+	public static ForkJoinPool worldUpdateExecutor;
 	public static int serverWorkersCount;
 
 	public static void init() {
@@ -27,6 +35,12 @@ public final class CoresManager {
 		slowExecutor = availableProcessors >= 6
 				? Executors.newScheduledThreadPool(availableProcessors >= 12 ? 4 : 2, new SlowThreadFactory())
 				: Executors.newSingleThreadScheduledExecutor(new SlowThreadFactory());
+		grabExecutor = Executors.newSingleThreadScheduledExecutor(new GrabThreadFactory());
+		regionExecutor = Executors.newFixedThreadPool(GameConstants.REGION_LOADER_THREADS, new RegionThreadFactory());
+		persistenceExecutor = Executors.newSingleThreadExecutor(new PersistenceThreadFactory());
+		loginExecutor = new ThreadPoolExecutor(GameConstants.LOGIN_THREADS, GameConstants.LOGIN_THREADS, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(GameConstants.LOGIN_QUEUE_CAPACITY), new LoginThreadFactory());
+		worldUpdateExecutor = new ForkJoinPool(availableProcessors);
 		WorldPacketsDecoder.loadPacketSizes();
 	}
 
@@ -34,6 +48,11 @@ public final class CoresManager {
 		serverWorkerChannelExecutor.shutdown();
 		serverBossChannelExecutor.shutdown();
 		slowExecutor.shutdown();
+		grabExecutor.shutdown();
+		regionExecutor.shutdown();
+		persistenceExecutor.shutdown();
+		loginExecutor.shutdown();
+		worldUpdateExecutor.shutdown();
 		shutdown = true;
 	}
 
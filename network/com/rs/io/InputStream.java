@@ -45,6 +45,16 @@ public final class InputStream extends Stream {
 		this.length = buffer.length;
 	}
 
+	/**
+	 * Points this stream at the first {@code length} bytes of {@code buffer}, reading from the start.
+	 */
+	public void reset(byte[] buffer, int length) {
+		this.buffer = buffer;
+		this.length = length;
+		offset = 0;
+		bitPosition = 0;
+	}
+
 	public void checkCapacity(int length) {
 		if (offset + length >= buffer.length) {
 			byte[] newBuffer = new byte[(offset + length) * 2];
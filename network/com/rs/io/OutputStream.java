@@ -1,5 +1,9 @@
 package com.rs.io;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.rs.game.player.Player;
 import com.rs.utilities.Utility;
 
@@ -7,6 +11,23 @@ public final class OutputStream extends Stream {
 
 	private static final int[] BIT_MASK = new int[32];
 
+	/**
+	 * The most streams kept in the pool at once.
+	 */
+	private static final int MAX_POOLED_STREAMS = 2048;
+
+	/**
+	 * The largest buffer kept in the pool, larger streams are left to the garbage collector.
+	 */
+	private static final int MAX_POOLED_CAPACITY = 8192;
+
+	/**
+	 * The streams released after their packet was written, shared by every thread.
+	 */
+	private static final Queue<OutputStream> POOL = new ConcurrentLinkedQueue<>();
+
+	private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
 	static {
 		for (int i = 0; i < 32; i++)
 			BIT_MASK[i] = (1 << i) - 1;
@@ -14,6 +35,11 @@ public final class OutputStream extends Stream {
 
 	private int opcodeStart = 0;
 
+	/**
+	 * If this stream came from {@link #acquire(int)} and goes back once written.
+	 */
+	private boolean pooled;
+
 	public OutputStream(int capacity) {
 		setBuffer(new byte[capacity]);
 	}
@@ -34,9 +60,50 @@ public final class OutputStream extends Stream {
 			writeByte(value);
 	}
 
+	/**
+	 * Takes a cleared stream from the pool, or creates one if the pool is empty.
+	 * The stream goes back to the pool once the {@link com.rs.net.Session} wrote
+	 * it, so it must not be touched after being written.
+	 * @param capacity the expected packet size.
+	 * @return the stream.
+	 */
+	public static OutputStream acquire(int capacity) {
+		OutputStream stream = POOL.poll();
+		if (stream == null) {
+			stream = new OutputStream(Math.max(16, capacity));
+			stream.pooled = true;
+			return stream;
+		}
+		POOL_SIZE.decrementAndGet();
+		if (stream.buffer.length < capacity)
+			stream.buffer = new byte[capacity];
+		return stream;
+	}
+
+	public static OutputStream acquire() {
+		return acquire(16);
+	}
+
+	/**
+	 * Returns this stream to the pool if it came from it, clearing its positions.
+	 */
+	public void release() {
+		if (!pooled || buffer.length > MAX_POOLED_CAPACITY)
+			return;
+		offset = 0;
+		length = 0;
+		bitPosition = 0;
+		opcodeStart = 0;
+		if (POOL_SIZE.incrementAndGet() > MAX_POOLED_STREAMS) {
+			POOL_SIZE.decrementAndGet();
+			return;
+		}
+		POOL.offer(this);
+	}
+
 	public void checkCapacityPosition(int position) {
 		if (position >= getBuffer().length) {
-			byte[] newBuffer = new byte[position + 16];
+			byte[] newBuffer = new byte[Math.max(position + 16, getBuffer().length << 1)];
 			System.arraycopy(getBuffer(), 0, newBuffer, 0, getBuffer().length);
 			setBuffer(newBuffer);
 		}
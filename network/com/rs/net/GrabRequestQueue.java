@@ -0,0 +1,132 @@
+package com.rs.net;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+
+import com.rs.net.encoders.GrabPacketsEncoder;
+import com.rs.net.encoders.GrabResponseCache;
+
+import lombok.Getter;
+
+/**
+ * The JS5 requests of a single session waiting to be served by the {@link GrabScheduler}.
+ * <p>
+ * Requests the client is waiting on and prefetch requests are kept in separate lanes,
+ * so a client prefetching in the background never delays its own urgent requests.
+ * Each lane is a fixed ring of packed requests; a client overflowing a lane is
+ * misbehaving and gets disconnected.
+ * <p>
+ * Requests are offered by the network thread and served by the grab thread.
+ * @author Dennis
+ */
+public final class GrabRequestQueue {
+
+	/**
+	 * The lane of requests the client is waiting on.
+	 */
+	public static final int URGENT = 0;
+
+	/**
+	 * The lane of requests the client prefetches in the background.
+	 */
+	public static final int PREFETCH = 1;
+
+	/**
+	 * The most requests queued per lane, well above what the client keeps in flight.
+	 */
+	public static final int CAPACITY = 128;
+
+	@Getter
+	private final Session session;
+
+	/**
+	 * The queued requests of every lane, packed as {@code index << 16 | archive}.
+	 */
+	private final int[][] requests = new int[2][CAPACITY];
+
+	/**
+	 * The time every queued request was received at, in nanoseconds.
+	 */
+	private final long[][] times = new long[2][CAPACITY];
+
+	private final int[] heads = new int[2];
+	private final int[] sizes = new int[2];
+
+	/**
+	 * If this queue is known to the {@link GrabScheduler}.
+	 */
+	private boolean scheduled;
+
+	public GrabRequestQueue(Session session) {
+		this.session = session;
+	}
+
+	/**
+	 * Queues a request, handing this queue to the {@link GrabScheduler} if it was idle.
+	 * @param indexId the requested index.
+	 * @param archiveId the requested archive.
+	 * @param priority if the client is waiting on the archive.
+	 * @return {@code false} if the lane was full and the request was dropped.
+	 */
+	public boolean offer(int indexId, int archiveId, boolean priority) {
+		int lane = priority ? URGENT : PREFETCH;
+		synchronized (this) {
+			if (sizes[lane] == CAPACITY)
+				return false;
+			int slot = (heads[lane] + sizes[lane]++) % CAPACITY;
+			requests[lane][slot] = indexId << 16 | archiveId;
+			times[lane][slot] = System.nanoTime();
+			if (scheduled)
+				return true;
+			scheduled = true;
+		}
+		GrabScheduler.schedule(this);
+		return true;
+	}
+
+	/**
+	 * Serves the oldest request of a lane.
+	 * @param lane the lane, {@link #URGENT} or {@link #PREFETCH}.
+	 * @return the bytes written, or {@code -1} if the lane is empty.
+	 */
+	int serve(int lane) {
+		int request;
+		long time;
+		synchronized (this) {
+			if (sizes[lane] == 0)
+				return -1;
+			request = requests[lane][heads[lane]];
+			time = times[lane][heads[lane]];
+			heads[lane] = (heads[lane] + 1) % CAPACITY;
+			sizes[lane]--;
+		}
+		int encryptionValue = session.getEncoder() instanceof GrabPacketsEncoder
+				? session.getGrabPackets().getEncryptionValue() : 0;
+		ChannelBuffer response = GrabResponseCache.getResponse(request >>> 16, request & 0xffff,
+				lane == URGENT, encryptionValue);
+		if (response == null)
+			return 0;
+		session.write(response);
+		GrabScheduler.recordServed(lane, response.readableBytes(), System.nanoTime() - time);
+		return response.readableBytes();
+	}
+
+	/**
+	 * Gets the amount of requests queued in every lane.
+	 */
+	public synchronized int size() {
+		return sizes[URGENT] + sizes[PREFETCH];
+	}
+
+	/**
+	 * Releases this queue from the {@link GrabScheduler} if it is empty or its session is gone.
+	 * @return {@code true} if the queue was released.
+	 */
+	synchronized boolean release() {
+		if (!session.getChannel().isConnected()) {
+			sizes[URGENT] = sizes[PREFETCH] = 0;
+		} else if (size() > 0)
+			return false;
+		scheduled = false;
+		return true;
+	}
+}
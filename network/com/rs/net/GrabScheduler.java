@@ -0,0 +1,155 @@
+package com.rs.net;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.rs.GameConstants;
+import com.rs.cores.CoresManager;
+import com.rs.net.encoders.GrabResponseCache;
+import com.rs.utilities.CatchExceptionRunnable;
+import com.rs.utilities.LatencyHistogram;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Serves the queued JS5 requests of every session on the grab thread, once every
+ * {@link GameConstants#JS5_TICK_MS} milliseconds.
+ * <p>
+ * Every tick serves at most {@link GameConstants#JS5_BYTES_PER_TICK} bytes. Urgent
+ * requests are served before any prefetch request, and within a lane the sessions
+ * take turns one request at a time, starting from a different session every tick.
+ * Sessions whose channel can't keep up are skipped until their writes drain.
+ * <p>
+ * Queue depth, bytes served and the time from receiving a request to writing its
+ * response are logged once a minute.
+ * @author Dennis
+ */
+public final class GrabScheduler {
+
+	/**
+	 * The milliseconds between every logged summary.
+	 */
+	private static final long SUMMARY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * The queues that became busy since the last tick.
+	 */
+	private static final ConcurrentLinkedQueue<GrabRequestQueue> pending = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The busy queues, only used by the grab thread.
+	 */
+	private static final ObjectArrayList<GrabRequestQueue> active = new ObjectArrayList<>();
+
+	/**
+	 * The session served first in the next tick.
+	 */
+	private static int start;
+
+	/**
+	 * The time from receiving a request to writing its response of every lane, in nanoseconds.
+	 */
+	private static final LatencyHistogram[] RESPONSE_TIMES = { new LatencyHistogram(), new LatencyHistogram() };
+
+	private static final long[] servedRequests = new long[2];
+	private static final long[] servedBytes = new long[2];
+	private static int maxQueueDepth;
+	private static long lastSummary = System.currentTimeMillis();
+
+	/**
+	 * Starts serving requests on the {@link CoresManager#grabExecutor}.
+	 */
+	public static void init() {
+		CoresManager.grabExecutor.scheduleAtFixedRate(new CatchExceptionRunnable(GrabScheduler::tick),
+				GameConstants.JS5_TICK_MS, GameConstants.JS5_TICK_MS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Hands a queue that became busy to the scheduler.
+	 */
+	static void schedule(GrabRequestQueue queue) {
+		pending.add(queue);
+	}
+
+	/**
+	 * Records a served request, called by the grab thread only.
+	 */
+	static void recordServed(int lane, int bytes, long nanos) {
+		RESPONSE_TIMES[lane].record(nanos);
+		servedRequests[lane]++;
+		servedBytes[lane] += bytes;
+	}
+
+	private static void tick() {
+		for (GrabRequestQueue queue; (queue = pending.poll()) != null;)
+			active.add(queue);
+		int depth = 0;
+		for (int index = 0; index < active.size(); index++)
+			depth += active.get(index).size();
+		if (depth > maxQueueDepth)
+			maxQueueDepth = depth;
+		long budget = GameConstants.JS5_BYTES_PER_TICK;
+		budget = serve(GrabRequestQueue.URGENT, budget);
+		serve(GrabRequestQueue.PREFETCH, budget);
+		for (int index = active.size() - 1; index >= 0; index--) {
+			if (active.get(index).release())
+				active.remove(index);
+		}
+		if (!active.isEmpty())
+			start = (start + 1) % active.size();
+		if (System.currentTimeMillis() - lastSummary >= SUMMARY_INTERVAL)
+			logSummary();
+	}
+
+	/**
+	 * Serves a lane in rounds of one request per session until it is drained or the budget is spent.
+	 * @return the budget left.
+	 */
+	private static long serve(int lane, long budget) {
+		int size = active.size();
+		boolean served = true;
+		while (served && budget > 0) {
+			served = false;
+			for (int offset = 0; offset < size && budget > 0; offset++) {
+				GrabRequestQueue queue = active.get((start + offset) % size);
+				if (!queue.getSession().getChannel().isWritable())
+					continue;
+				int bytes = queue.serve(lane);
+				if (bytes == -1)
+					continue;
+				budget -= bytes;
+				served = true;
+			}
+		}
+		return budget;
+	}
+
+	private static void logSummary() {
+		if (servedRequests[GrabRequestQueue.URGENT] + servedRequests[GrabRequestQueue.PREFETCH] > 0) {
+			LogUtility.log(LogType.INFO, "JS5 summary: " + active.size() + " busy sessions, max queue depth " + maxQueueDepth
+					+ ", cache " + GrabResponseCache.getHits() + " hits " + GrabResponseCache.getMisses() + " misses "
+					+ GrabResponseCache.getCachedBytes() / 1024 + " kb");
+			LogUtility.log(LogType.INFO, "JS5 urgent: " + describe(GrabRequestQueue.URGENT));
+			LogUtility.log(LogType.INFO, "JS5 prefetch: " + describe(GrabRequestQueue.PREFETCH));
+		}
+		for (int lane = 0; lane < 2; lane++) {
+			RESPONSE_TIMES[lane].reset();
+			servedRequests[lane] = servedBytes[lane] = 0;
+		}
+		maxQueueDepth = 0;
+		lastSummary = System.currentTimeMillis();
+	}
+
+	private static String describe(int lane) {
+		LatencyHistogram histogram = RESPONSE_TIMES[lane];
+		return servedRequests[lane] + " requests, " + servedBytes[lane] / 1024 + " kb, first byte p50="
+				+ toMillis(histogram.getPercentile(50)) + " p99=" + toMillis(histogram.getPercentile(99)) + " max="
+				+ toMillis(histogram.getMax()) + " ms";
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format("%.2f", nanos / 1_000_000D);
+	}
+}
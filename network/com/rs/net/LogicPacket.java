@@ -1,18 +1,49 @@
 package com.rs.net;
 
-import com.rs.io.InputStream;
+import lombok.Getter;
 
-import lombok.Data;
-
-@Data
+/**
+ * A logic packet waiting in a {@link LogicPacketQueue} slot. Slots are allocated
+ * once per player and overwritten by every packet stored in them.
+ */
+@Getter
 public class LogicPacket {
 
-	private final int id;
-	private final byte[] data;
+	/**
+	 * The opcode of the packet, or {@code -1} if the slot is empty.
+	 */
+	private int id = -1;
+
+	/**
+	 * The payload size of the packet.
+	 */
+	private int length;
 
-	public LogicPacket(int id, int size, InputStream stream) {
+	/**
+	 * The payload of the packet, which may be larger than {@link #length}.
+	 */
+	private byte[] data;
+
+	public LogicPacket(int capacity) {
+		data = new byte[capacity];
+	}
+
+	/**
+	 * Stores a packet in this slot.
+	 */
+	void set(int id, byte[] payload, int length) {
+		if (data.length < length)
+			data = new byte[length];
+		System.arraycopy(payload, 0, data, 0, length);
 		this.id = id;
-		data = new byte[size];
-		stream.getBytes(data, 0, size);
+		this.length = length;
+	}
+
+	/**
+	 * Empties this slot.
+	 */
+	void clear() {
+		id = -1;
+		length = 0;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.rs.net;
+
+import com.rs.io.InputStream;
+
+import lombok.Getter;
+
+/**
+ * The logic packets a player sent since their last tick, kept in a fixed ring of
+ * preallocated {@link LogicPacket} slots so queueing and draining never allocate.
+ * <p>
+ * A packet replaces any queued packet of the same opcode, which moves it to the end
+ * of the queue, so only the latest walk or click of every kind is handled. Packets
+ * arriving while every slot is taken are dropped.
+ * <p>
+ * Packets are offered by the network thread and drained by the world thread.
+ * @author Dennis
+ */
+public final class LogicPacketQueue {
+
+	/**
+	 * The most logic packets queued per player at once.
+	 */
+	public static final int CAPACITY = 16;
+
+	/**
+	 * The initial payload capacity of every slot, enough for every logic packet.
+	 */
+	private static final int SLOT_SIZE = 32;
+
+	private final LogicPacket[] slots = new LogicPacket[CAPACITY];
+	private int head;
+	private int size;
+
+	/**
+	 * The payload of the packet being handled and the stream reading it, only used
+	 * by the draining thread.
+	 */
+	private byte[] payload = new byte[SLOT_SIZE];
+	@Getter
+	private final InputStream stream = new InputStream(payload);
+
+	/**
+	 * The amount of packets dropped because the queue was full.
+	 */
+	@Getter
+	private int overflows;
+
+	public LogicPacketQueue() {
+		for (int index = 0; index < CAPACITY; index++)
+			slots[index] = new LogicPacket(SLOT_SIZE);
+	}
+
+	/**
+	 * Queues a packet, replacing a queued packet of the same opcode.
+	 * @param id the opcode of the packet.
+	 * @param data the buffer holding the payload.
+	 * @param length the payload size.
+	 * @return {@code false} if the queue was full and the packet was dropped.
+	 */
+	public synchronized boolean offer(int id, byte[] data, int length) {
+		for (int index = 0; index < size; index++) {
+			if (slots[slot(index)].getId() == id) {
+				remove(index);
+				break;
+			}
+		}
+		if (size == CAPACITY) {
+			overflows++;
+			return false;
+		}
+		slots[slot(size++)].set(id, data, length);
+		return true;
+	}
+
+	/**
+	 * Takes the oldest packet off the queue, pointing {@link #getStream()} at its payload.
+	 * @return the opcode of the packet, or {@code -1} if the queue is empty.
+	 */
+	public synchronized int poll() {
+		if (size == 0)
+			return -1;
+		LogicPacket packet = slots[head];
+		if (payload.length < packet.getLength())
+			payload = new byte[packet.getLength()];
+		System.arraycopy(packet.getData(), 0, payload, 0, packet.getLength());
+		stream.reset(payload, packet.getLength());
+		int id = packet.getId();
+		packet.clear();
+		head = slot(1);
+		size--;
+		return id;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Removes the packet {@code index} places from the head, shifting the ones behind it forward.
+	 */
+	private void remove(int index) {
+		LogicPacket removed = slots[slot(index)];
+		for (; index < size - 1; index++)
+			slots[slot(index)] = slots[slot(index + 1)];
+		removed.clear();
+		slots[slot(--size)] = removed;
+	}
+
+	private int slot(int index) {
+		return (head + index) % CAPACITY;
+	}
+}
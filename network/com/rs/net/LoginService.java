@@ -0,0 +1,96 @@
+package com.rs.net;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.rs.GameConstants;
+import com.rs.cores.CoresManager;
+import com.rs.utilities.LatencyHistogram;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+/**
+ * Runs the costly part of every login, loading or creating the player, on the
+ * {@link CoresManager#loginExecutor} instead of the network workers.
+ * <p>
+ * At most {@link GameConstants#LOGIN_QUEUE_CAPACITY} logins wait for a login thread.
+ * Logins arriving while the queue is full are told to retry after
+ * {@link GameConstants#LOGIN_RETRY_SECONDS}, so a crowd reconnecting after a restart
+ * is spread out instead of timing out.
+ * <p>
+ * The time from receiving a login to answering it, the time spent waiting for a login
+ * thread and the rejected logins are logged once a minute.
+ * @author Dennis
+ */
+public final class LoginService {
+
+	/**
+	 * The milliseconds between every logged summary.
+	 */
+	private static final long SUMMARY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * The time from receiving a login to answering it, in nanoseconds.
+	 */
+	private static final LatencyHistogram LOGIN_TIMES = new LatencyHistogram();
+
+	/**
+	 * The time logins waited for a login thread, in nanoseconds.
+	 */
+	private static final LatencyHistogram QUEUE_TIMES = new LatencyHistogram();
+
+	private static int rejected;
+	private static long lastSummary = System.currentTimeMillis();
+
+	/**
+	 * Queues a login, or tells the client to retry later if the queue is full.
+	 * @param session the session logging in.
+	 * @param start the {@link System#nanoTime()} the login was received at.
+	 * @param login loads the player and answers the client.
+	 */
+	public static void submit(Session session, long start, Runnable login) {
+		try {
+			CoresManager.loginExecutor.execute(() -> {
+				synchronized (LOGIN_TIMES) {
+					QUEUE_TIMES.record(System.nanoTime() - start);
+				}
+				try {
+					login.run();
+				} catch (Throwable e) {
+					LogUtility.log(LogType.ERROR, "Failed to log in from " + session.getIP() + ": " + e);
+					e.printStackTrace();
+					session.getLoginPackets().sendClientPacket(13);
+				}
+				recordLogin(start);
+			});
+		} catch (RejectedExecutionException e) {
+			synchronized (LOGIN_TIMES) {
+				rejected++;
+			}
+			session.getLoginPackets().sendLoginQueued(GameConstants.LOGIN_RETRY_SECONDS);
+		}
+	}
+
+	private static void recordLogin(long start) {
+		synchronized (LOGIN_TIMES) {
+			LOGIN_TIMES.record(System.nanoTime() - start);
+			if (System.currentTimeMillis() - lastSummary >= SUMMARY_INTERVAL)
+				logSummary();
+		}
+	}
+
+	private static void logSummary() {
+		LogUtility.log(LogType.INFO, "Logins: " + LOGIN_TIMES.getCount() + " answered, " + rejected + " told to retry, login p50="
+				+ toMillis(LOGIN_TIMES.getPercentile(50)) + " p99=" + toMillis(LOGIN_TIMES.getPercentile(99)) + " max="
+				+ toMillis(LOGIN_TIMES.getMax()) + " ms, queued p50=" + toMillis(QUEUE_TIMES.getPercentile(50)) + " p99="
+				+ toMillis(QUEUE_TIMES.getPercentile(99)) + " ms");
+		LOGIN_TIMES.reset();
+		QUEUE_TIMES.reset();
+		rejected = 0;
+		lastSummary = System.currentTimeMillis();
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format("%.2f", nanos / 1_000_000D);
+	}
+}
@@ -0,0 +1,32 @@
+package com.rs.net;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+
+import lombok.Getter;
+
+/**
+ * A single world packet framed by the {@link PacketFrameDecoder}.
+ * <p>
+ * Every channel reuses one frame and the payload is a slice of the receive buffer,
+ * so a frame is only valid while it is being handled and must never be kept.
+ * @author Dennis
+ */
+@Getter
+public final class PacketFrame {
+
+	/**
+	 * The ISAAC-decoded opcode of the packet.
+	 */
+	private int opcode;
+
+	/**
+	 * The payload of the packet, without its opcode and size.
+	 */
+	private ChannelBuffer payload;
+
+	PacketFrame set(int opcode, ChannelBuffer payload) {
+		this.opcode = opcode;
+		this.payload = payload;
+		return this;
+	}
+}
@@ -0,0 +1,128 @@
+package com.rs.net;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.handler.codec.frame.FrameDecoder;
+
+import com.rs.GameConstants;
+import com.rs.game.player.Player;
+import com.rs.net.decoders.WorldPacketsDecoder;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+/**
+ * The cumulative decoder in front of the {@link ServerChannelHandler}, one per channel.
+ * <p>
+ * Before the world stage every read is passed on as it is, as the handshake, login
+ * and JS5 decoders always expected. Once the session reached the world stage, reads
+ * are cut into {@link PacketFrame}s using the ISAAC-decoded opcode and
+ * {@link WorldPacketsDecoder#PACKET_SIZES}, keeping a packet split over several reads
+ * until it is complete. Payloads are slices of the receive buffer, never copies.
+ * <p>
+ * Packets past the per tick budgets of the {@link Session} are dropped, as is
+ * everything left in a read once an opcode turns out to be invalid.
+ * @author Dennis
+ */
+public final class PacketFrameDecoder extends FrameDecoder {
+
+	/**
+	 * The frame handed to the next handler, reused for every packet.
+	 */
+	private final PacketFrame frame = new PacketFrame();
+
+	/**
+	 * The opcode of the packet being framed, or {@code -1} if none was read yet.
+	 */
+	private int opcode = -1;
+
+	/**
+	 * The first byte of a two-byte opcode that didn't have its second byte yet.
+	 */
+	private int highOpcode = -1;
+
+	/**
+	 * The payload size of the packet being framed, or {@code -1} if not known yet.
+	 */
+	private int size = -1;
+
+	@Override
+	protected Object decode(ChannelHandlerContext ctx, Channel channel, ChannelBuffer buffer) {
+		Session session = (Session) channel.getAttachment();
+		if (session == null || session.getDecoder() == null) {
+			buffer.skipBytes(buffer.readableBytes());
+			return null;
+		}
+		if (!(session.getDecoder() instanceof WorldPacketsDecoder))
+			return buffer.readBytes(buffer.readableBytes());
+		Player player = ((WorldPacketsDecoder) session.getDecoder()).getPlayer();
+		while (true) {
+			if (opcode == -1 && !readOpcode(player, buffer))
+				return null;
+			if (opcode < 0 || opcode >= WorldPacketsDecoder.PACKET_SIZES.length) {
+				if (GameConstants.DEBUG)
+					LogUtility.log(LogType.TRACE, "PacketId " + opcode + " has fake packet id.");
+				buffer.skipBytes(buffer.readableBytes());
+				opcode = -1;
+				highOpcode = -1;
+				size = -1;
+				return null;
+			}
+			if (size == -1 && !readSize(buffer))
+				return null;
+			if (buffer.readableBytes() < size)
+				return null;
+			ChannelBuffer payload = buffer.readSlice(size);
+			int packetId = opcode;
+			opcode = -1;
+			size = -1;
+			if (session.consumeReceiveBudget(payload.readableBytes()))
+				return frame.set(packetId, payload);
+		}
+	}
+
+	/**
+	 * Reads the opcode of the next packet, decoding it with the player's ISAAC cipher.
+	 * @return {@code true} if the whole opcode was available.
+	 */
+	private boolean readOpcode(Player player, ChannelBuffer buffer) {
+		if (highOpcode == -1) {
+			if (!buffer.readable())
+				return false;
+			int id = 0xff & buffer.readUnsignedByte() - player.getIsaacKeyPair().getInKey().getNextValue();
+			if (id < 128) {
+				opcode = id;
+				return true;
+			}
+			highOpcode = id;
+		}
+		if (!buffer.readable())
+			return false;
+		opcode = (highOpcode - 128 << 8) + (buffer.readUnsignedByte() - player.getIsaacKeyPair().getInKey().getNextValue());
+		highOpcode = -1;
+		return true;
+	}
+
+	/**
+	 * Reads the payload size of the current packet, from its header if it has a variable size.
+	 * @return {@code true} if the size is known.
+	 */
+	private boolean readSize(ChannelBuffer buffer) {
+		int expected = WorldPacketsDecoder.PACKET_SIZES[opcode];
+		if (expected == -1) {
+			if (!buffer.readable())
+				return false;
+			size = buffer.readUnsignedByte();
+		} else if (expected == -2) {
+			if (buffer.readableBytes() < 2)
+				return false;
+			size = buffer.readUnsignedShort();
+		} else if (expected < 0) {
+			size = buffer.readableBytes();
+			if (GameConstants.DEBUG)
+				LogUtility.log(LogType.TRACE, "Invalid size for PacketId " + opcode + ". Size guessed to be " + size);
+		} else
+			size = expected;
+		return true;
+	}
+}
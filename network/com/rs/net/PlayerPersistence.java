@@ -0,0 +1,229 @@
+package com.rs.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.rs.GameConstants;
+import com.rs.cores.CoresManager;
+import com.rs.game.player.Player;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+import com.rs.utilities.json.GSONParser;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+
+/**
+ * Saves and loads player files.
+ * <p>
+ * A save snapshots the player as compact json on the calling thread and leaves the
+ * writing to the {@link CoresManager#persistenceExecutor}. Only the latest snapshot of
+ * every player is kept, so a player saved again before the writer got to it is written
+ * once. Files are written next to their destination and renamed over it, so a crash
+ * mid-write never leaves a truncated save behind.
+ * <p>
+ * Saves are written in the {@link GameConstants#PLAYER_SAVE_FORMAT}, either compact
+ * json or gzip compressed json. Files of the other format, such as the pretty printed
+ * saves written before, are still read and removed once the player is saved again.
+ * <p>
+ * The snapshots of the last {@link GameConstants#PROFILE_CACHE_SIZE} players that logged
+ * out are kept in memory, so a player logging straight back in skips the disk.
+ * @author Dennis
+ */
+public final class PlayerPersistence {
+
+	private static final String JSON = ".json";
+	private static final String GZIP = ".json.gz";
+
+	/**
+	 * The snapshots waiting to be written by player file name, removed once written.
+	 */
+	private static final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether a drain is queued or running on the writer.
+	 */
+	private static final AtomicBoolean draining = new AtomicBoolean();
+
+	/**
+	 * Whether a snapshot was added since the running drain started.
+	 */
+	private static final AtomicBoolean dirty = new AtomicBoolean();
+
+	/**
+	 * The snapshots of recently logged out players by player file name, least recently logged out first.
+	 */
+	private static final Object2ObjectLinkedOpenHashMap<String, byte[]> recent = new Object2ObjectLinkedOpenHashMap<>();
+
+	private static final AtomicInteger saves = new AtomicInteger();
+	private static final AtomicInteger coalesced = new AtomicInteger();
+	private static final AtomicInteger written = new AtomicInteger();
+	private static final AtomicLong writtenBytes = new AtomicLong();
+	private static final AtomicInteger failures = new AtomicInteger();
+	private static final AtomicInteger recentHits = new AtomicInteger();
+
+	/**
+	 * Snapshots a player and queues it to be written.
+	 * @param player the player, which must not be changed by another thread meanwhile.
+	 */
+	public static void save(Player player) {
+		save(player, false);
+	}
+
+	/**
+	 * Snapshots a player and queues it to be written.
+	 * @param player the player, which must not be changed by another thread meanwhile.
+	 * @param loggedOut whether the player logged out, keeping the snapshot in memory for a quick relog.
+	 */
+	public static void save(Player player, boolean loggedOut) {
+		byte[] snapshot = GSONParser.toCompactJson(player, Player.class).getBytes(StandardCharsets.UTF_8);
+		if (loggedOut && GameConstants.PROFILE_CACHE_SIZE > 0) {
+			synchronized (recent) {
+				recent.putAndMoveToLast(player.getDisplayName(), snapshot);
+				if (recent.size() > GameConstants.PROFILE_CACHE_SIZE)
+					recent.removeFirst();
+			}
+		}
+		saves.incrementAndGet();
+		if (pending.put(player.getDisplayName(), snapshot) != null)
+			coalesced.incrementAndGet();
+		dirty.set(true);
+		if (draining.compareAndSet(false, true))
+			CoresManager.persistenceExecutor.execute(PlayerPersistence::drain);
+	}
+
+	/**
+	 * Loads a player, from its queued or recently logged out snapshot if there is one.
+	 * @return the player, or {@code null} if it has no save.
+	 */
+	public static Player load(String username) {
+		byte[] snapshot;
+		synchronized (recent) {
+			snapshot = recent.remove(username);
+		}
+		if (snapshot != null)
+			recentHits.incrementAndGet();
+		// a queued snapshot is never older than the recently logged out one
+		byte[] queued = pending.get(username);
+		if (queued != null)
+			snapshot = queued;
+		if (snapshot != null)
+			return decode(new ByteArrayInputStream(snapshot));
+		String preferred = isGzip() ? GZIP : JSON;
+		Path path = getPath(username, preferred);
+		if (!Files.exists(path))
+			path = getPath(username, preferred == GZIP ? JSON : GZIP);
+		if (!Files.exists(path))
+			return null;
+		try (InputStream input = Files.newInputStream(path)) {
+			return decode(path.toString().endsWith(GZIP) ? new GZIPInputStream(input) : input);
+		} catch (IOException e) {
+			LogUtility.log(LogType.ERROR, "Failed to load " + path + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Checks if a player has a save, written, queued or in memory.
+	 */
+	public static boolean exists(String username) {
+		synchronized (recent) {
+			if (recent.containsKey(username))
+				return true;
+		}
+		return pending.containsKey(username) || Files.exists(getPath(username, JSON)) || Files.exists(getPath(username, GZIP));
+	}
+
+	/**
+	 * Writes every queued snapshot and waits for it, as done before shutting down.
+	 */
+	public static void flush() {
+		try {
+			CoresManager.persistenceExecutor.submit(PlayerPersistence::writePending).get();
+		} catch (InterruptedException | ExecutionException e) {
+			LogUtility.log(LogType.ERROR, "Failed to flush player saves: " + e);
+		}
+	}
+
+	/**
+	 * Logs and resets the counters, with how many snapshots are still waiting.
+	 */
+	public static void logSummary() {
+		LogUtility.log(LogType.INFO, "Player saves: " + saves.getAndSet(0) + " saved, " + coalesced.getAndSet(0) + " coalesced, "
+				+ written.getAndSet(0) + " written (" + writtenBytes.getAndSet(0) / 1024 + " kb), " + failures.getAndSet(0)
+				+ " failed, " + pending.size() + " pending, " + recentHits.getAndSet(0) + " loaded from memory");
+	}
+
+	/**
+	 * Writes the queued snapshots until no more are added, run by the writer only.
+	 * Snapshots that failed to write stay queued for the next drain.
+	 */
+	private static void drain() {
+		do {
+			dirty.set(false);
+			writePending();
+			draining.set(false);
+		} while (dirty.get() && draining.compareAndSet(false, true));
+	}
+
+	private static void writePending() {
+		for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+			if (write(entry.getKey(), entry.getValue()))
+				pending.remove(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private static boolean write(String name, byte[] snapshot) {
+		boolean gzip = isGzip();
+		Path path = getPath(name, gzip ? GZIP : JSON);
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(path.getParent());
+			try (OutputStream output = gzip ? new GZIPOutputStream(Files.newOutputStream(temp)) : Files.newOutputStream(temp)) {
+				output.write(snapshot);
+			}
+			long size = Files.size(temp);
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			Files.deleteIfExists(getPath(name, gzip ? JSON : GZIP));
+			written.incrementAndGet();
+			writtenBytes.addAndGet(size);
+			return true;
+		} catch (IOException e) {
+			failures.incrementAndGet();
+			LogUtility.log(LogType.ERROR, "Failed to save " + name + ": " + e);
+			return false;
+		}
+	}
+
+	private static Player decode(InputStream input) {
+		try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+			return GSONParser.load(reader, Player.class);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static boolean isGzip() {
+		return "gzip".equalsIgnoreCase(GameConstants.PLAYER_SAVE_FORMAT);
+	}
+
+	private static Path getPath(String name, String extension) {
+		return Paths.get(GameConstants.PLAYER_SAVE_PATH, name + extension);
+	}
+}
@@ -7,6 +7,7 @@ import org.jboss.netty.bootstrap.ServerBootstrap;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.Channels;
 import org.jboss.netty.channel.ExceptionEvent;
 import org.jboss.netty.channel.MessageEvent;
 import org.jboss.netty.channel.SimpleChannelHandler;
@@ -19,6 +20,8 @@ import com.rs.GameProperties;
 import com.rs.cores.CoresManager;
 import com.rs.io.InputStream;
 import com.rs.net.decoders.WorldPacketsDecoder;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
 
 import lombok.SneakyThrows;
 
@@ -44,7 +47,7 @@ public final class ServerChannelHandler extends SimpleChannelHandler {
 		channels = new DefaultChannelGroup();
 		bootstrap = new ServerBootstrap(new NioServerSocketChannelFactory(CoresManager.serverBossChannelExecutor,
 				CoresManager.serverWorkerChannelExecutor, CoresManager.serverWorkersCount));
-		bootstrap.getPipeline().addLast("handler", this);
+		bootstrap.setPipelineFactory(() -> Channels.pipeline(new PacketFrameDecoder(), this));
 
 		bootstrap.setOption("reuseAddress", true);
 		bootstrap.setOption("child.tcpNoDelay", true);
@@ -66,12 +69,14 @@ public final class ServerChannelHandler extends SimpleChannelHandler {
 
 	@Override
 	public void channelConnected(ChannelHandlerContext ctx, ChannelStateEvent e) {
-		ctx.setAttachment(new Session(e.getChannel()));
+		Session session = new Session(e.getChannel());
+		e.getChannel().setAttachment(session);
+		connectedSessions.add(session);
 	}
 
 	@Override
 	public void channelDisconnected(ChannelHandlerContext ctx, ChannelStateEvent e) {
-		Object sessionObject = ctx.getAttachment();
+		Object sessionObject = e.getChannel().getAttachment();
 		if (sessionObject != null && sessionObject instanceof Session) {
 			Session session = (Session) sessionObject;
 			connectedSessions.remove(session);
@@ -85,23 +90,27 @@ public final class ServerChannelHandler extends SimpleChannelHandler {
 	@Override
 	@SneakyThrows(Throwable.class)
 	public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
-		if (!(e.getMessage() instanceof ChannelBuffer))
-			return;
-		Object sessionObject = ctx.getAttachment();
+		Object sessionObject = e.getChannel().getAttachment();
 		if (sessionObject != null && sessionObject instanceof Session) {
 			Session session = (Session) sessionObject;
 			if (session.getDecoder() == null)
 				return;
+			if (e.getMessage() instanceof PacketFrame) {
+				if (session.getDecoder() instanceof WorldPacketsDecoder)
+					((WorldPacketsDecoder) session.getDecoder()).decode((PacketFrame) e.getMessage());
+				return;
+			}
+			if (!(e.getMessage() instanceof ChannelBuffer))
+				return;
 			ChannelBuffer buf = (ChannelBuffer) e.getMessage();
-			buf.markReaderIndex();
 			int avail = buf.readableBytes();
 			if (avail < 1 || avail > GameConstants.RECEIVE_DATA_LIMIT) {
-				System.out.println("avail is: " + avail);
+				if (GameConstants.DEBUG)
+					LogUtility.log(LogType.TRACE, "Dropped a read of " + avail + " bytes from " + session + ".");
 				return;
 			}
 			byte[] buffer = new byte[buf.readableBytes()];
 			buf.readBytes(buffer);
-			connectedSessions.add(session);
 			session.getDecoder().decode(new InputStream(buffer));
 		}
 	}
@@ -117,7 +126,10 @@ public final class ServerChannelHandler extends SimpleChannelHandler {
 	}
 
 	public static void processSessionQueue() {
-		connectedSessions.forEach(Session::processOutgoingQueue);
+		connectedSessions.forEach(session -> {
+			session.processOutgoingQueue();
+			session.resetReceiveBudget();
+		});
 	}
 	
 }
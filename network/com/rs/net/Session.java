@@ -2,6 +2,7 @@ package com.rs.net;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -10,13 +11,13 @@ import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 
+import com.rs.GameConstants;
 import com.rs.cores.CoresManager;
 import com.rs.game.map.World;
 import com.rs.game.player.Player;
 import com.rs.game.player.PlayerCombat;
 import com.rs.game.player.content.Emotes.Emote;
 import com.rs.game.player.controller.ControllerHandler;
-import com.rs.io.InputStream;
 import com.rs.io.OutputStream;
 import com.rs.net.decoders.ClientPacketsDecoder;
 import com.rs.net.decoders.Decoder;
@@ -42,6 +43,17 @@ public class Session {
 
 	private Queue<OutputStream> outgoingQueue = new LinkedBlockingQueue<>();
 
+	/**
+	 * The bytes and packets received since the last tick, counted against
+	 * {@link GameConstants#RECEIVE_BYTES_PER_TICK} and {@link GameConstants#RECEIVE_PACKETS_PER_TICK}.
+	 */
+	private volatile int receivedBytes, receivedPackets;
+
+	/**
+	 * The packets dropped for exceeding the receive budgets since the session started.
+	 */
+	private volatile int droppedPackets;
+
 	public Session(Channel channel) {
 		this.channel = channel;
 		setDecoder(0);
@@ -137,6 +149,32 @@ public class Session {
 		return (WorldPacketsEncoder) encoder;
 	}
 
+	/**
+	 * Counts a received packet against this tick's budgets.
+	 * @param size the payload size of the packet.
+	 * @return {@code true} if the packet fits the budgets, {@code false} if it must be dropped.
+	 */
+	public boolean consumeReceiveBudget(int size) {
+		receivedBytes += size;
+		if (++receivedPackets <= GameConstants.RECEIVE_PACKETS_PER_TICK && receivedBytes <= GameConstants.RECEIVE_BYTES_PER_TICK)
+			return true;
+		if (droppedPackets++ == 0 || GameConstants.DEBUG)
+			LogUtility.log(LogType.WARN, "Dropped a packet from " + this + ", receive budget exceeded.");
+		return false;
+	}
+
+	/**
+	 * Resets the receive budgets, done once every tick.
+	 */
+	public void resetReceiveBudget() {
+		receivedBytes = 0;
+		receivedPackets = 0;
+	}
+
+	public int getDroppedPackets() {
+		return droppedPackets;
+	}
+
 	public String getIP() {
 		return channel == null ? "" : channel.getRemoteAddress().toString().split(":")[0].replace("/", "");
 
@@ -197,11 +235,10 @@ public class Session {
 	}
 
 	public void processLogicPackets(Player player) {
-		LogicPacket packet;
-		while ((packet = player.getLogicPackets().poll()) != null) {
-			InputStream stream = new InputStream(packet.getData());
-			LogicPacketDispatcher.execute(player, stream, packet.getId());
-		}
+		LogicPacketQueue queue = player.getLogicPackets();
+		int packetId;
+		while ((packetId = queue.poll()) != -1)
+			LogicPacketDispatcher.execute(player, queue.getStream(), packetId);
 	}
 
 	@SneakyThrows(Throwable.class)
@@ -243,21 +280,44 @@ public class Session {
 		World.removePlayer(player);
 	}
 
-	@SneakyThrows(Exception.class)
+	/**
+	 * Writes every packet queued this tick as a single gathering write. The queued
+	 * streams are wrapped rather than copied, and released back to the pool once the
+	 * write completes.
+	 */
 	public void processOutgoingQueue() {
+		if (outgoingQueue.isEmpty())
+			return;
+		int count = outgoingQueue.size();
+		OutputStream[] streams = new OutputStream[count];
+		ChannelBuffer[] buffers = new ChannelBuffer[count];
+		int size = 0;
 		OutputStream outputStream;
-		if (!outgoingQueue.isEmpty()) {
-			while ((outputStream = outgoingQueue.poll()) != null) {
-				channel.write(ChannelBuffers.copiedBuffer(outputStream.getBuffer(), 0, outputStream.getOffset()));
-			}
+		while (size < count && (outputStream = outgoingQueue.poll()) != null) {
+			streams[size] = outputStream;
+			buffers[size++] = ChannelBuffers.wrappedBuffer(outputStream.getBuffer(), 0, outputStream.getOffset());
+		}
+		if (!channel.isConnected()) {
+			release(streams, size);
+			return;
 		}
+		int written = size;
+		ChannelBuffer buffer = size == buffers.length ? ChannelBuffers.wrappedBuffer(buffers)
+				: ChannelBuffers.wrappedBuffer(Arrays.copyOf(buffers, size));
+		channel.write(buffer).addListener(future -> release(streams, written));
+	}
+
+	private static void release(OutputStream[] streams, int size) {
+		for (int index = 0; index < size; index++)
+			streams[index].release();
 	}
 
 	public final ChannelFuture writeWithFuture(OutputStream outStream) {
 		if (outStream == null || !channel.isConnected())
 			return null;
-		ChannelBuffer buffer = ChannelBuffers.copiedBuffer(outStream.getBuffer(), 0, outStream.getOffset());
-		return channel.write(buffer);
+		ChannelFuture future = channel.write(ChannelBuffers.wrappedBuffer(outStream.getBuffer(), 0, outStream.getOffset()));
+		future.addListener(written -> outStream.release());
+		return future;
 	}
 
 	public final void write(OutputStream outStream) {
@@ -1,7 +1,10 @@
 package com.rs.net.decoders;
 
+import com.rs.GameConstants;
 import com.rs.io.InputStream;
 import com.rs.net.Session;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
 
 public abstract class Decoder {
 
@@ -11,6 +14,13 @@ public abstract class Decoder {
 	this.session = session;
     }
 
-    public abstract void decode(InputStream stream);
+    /**
+     * Decodes a raw read. Decoders fed only framed packets, such as the
+     * {@link WorldPacketsDecoder}, don't override this and have raw reads dropped.
+     */
+    public void decode(InputStream stream) {
+	if (GameConstants.DEBUG)
+	    LogUtility.log(LogType.TRACE, "Dropped a raw read of " + stream.getLength() + " bytes from " + session + ".");
+    }
 
 }
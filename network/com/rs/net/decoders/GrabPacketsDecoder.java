@@ -51,7 +51,11 @@ public final class GrabPacketsDecoder extends Decoder {
 							+ archiveId);
 				return;
 			}
-		session.getGrabPackets().sendCacheArchive(indexId, archiveId, priority);
+		if (!session.getGrabPackets().sendCacheArchive(indexId, archiveId, priority)) {
+			if (GameConstants.DEBUG)
+				LogUtility.log(LogType.TRACE, "Too many requests queued: " + session);
+			session.getChannel().close();
+		}
 	}
 
 	private final void decodeOtherPacket(InputStream stream, int packetId) {
@@ -6,6 +6,7 @@ import com.rs.game.player.Player;
 import com.rs.io.InputStream;
 import com.rs.net.AccountCreation;
 import com.rs.net.IsaacKeyPair;
+import com.rs.net.LoginService;
 import com.rs.net.Session;
 import com.rs.utilities.AntiFlood;
 import com.rs.utilities.BlowFishCryptService;
@@ -50,8 +51,8 @@ public final class LoginPacketsDecoder extends Decoder {
 	}
 
 	@SuppressWarnings("unused")
-	@Synchronized("LOGIN_LOCK")
 	public void decodeWorldLogin(InputStream stream) {
+		long start = System.nanoTime();
 
 		int rsaBlockSize = stream.readUnsignedShort();
 
@@ -79,8 +80,6 @@ public final class LoginPacketsDecoder extends Decoder {
 			session.getLoginPackets().sendClientPacket(3);
 			return;
 		}
-
-		password = BlowFishCryptService.hashpw(password, BlowFishCryptService.gensalt());
 		rsaStream.readLong(); // random value
 		rsaStream.readLong(); // random value
 
@@ -101,7 +100,6 @@ public final class LoginPacketsDecoder extends Decoder {
 			return;
 		}
 
-		Player player;
 		if (World.getPlayers().size() >= GameConstants.PLAYERS_LIMIT - 10) {
 			session.getLoginPackets().sendClientPacket(7);
 			return;
@@ -114,8 +112,18 @@ public final class LoginPacketsDecoder extends Decoder {
 			session.getLoginPackets().sendClientPacket(9);
 			return;
 		}
+		LoginService.submit(session, start, () -> loadPlayer(username, password, displayMode, screenWidth, screenHeight, isaacKeys));
+	}
+
+	/**
+	 * Loads or creates the player logging in, run on the login pool.
+	 */
+	private void loadPlayer(String username, String password, byte displayMode, short screenWidth, short screenHeight, int[] isaacKeys) {
+		if (!session.getChannel().isConnected())
+			return;
+		Player player;
 		if (!AccountCreation.exists(username)) {
-			player = new Player(password);
+			player = new Player(BlowFishCryptService.hashpw(password, BlowFishCryptService.gensalt()));
 		} else {
 			player = AccountCreation.loadPlayer(username);
 			if (player == null) {
@@ -132,6 +140,22 @@ public final class LoginPacketsDecoder extends Decoder {
 			session.getLoginPackets().sendClientPacket(4);
 			return;
 		}
+		startPlayer(player, username, displayMode, screenWidth, screenHeight, isaacKeys);
+	}
+
+	/**
+	 * Starts a loaded player, checking again that nobody logged in meanwhile.
+	 */
+	@Synchronized("LOGIN_LOCK")
+	private void startPlayer(Player player, String username, byte displayMode, short screenWidth, short screenHeight, int[] isaacKeys) {
+		if (World.getPlayers().size() >= GameConstants.PLAYERS_LIMIT - 10) {
+			session.getLoginPackets().sendClientPacket(7);
+			return;
+		}
+		if (World.containsPlayer(username).isPresent()) {
+			session.getLoginPackets().sendClientPacket(5);
+			return;
+		}
 
 		player.init(session, username, displayMode, screenWidth, screenHeight, new IsaacKeyPair(isaacKeys));
 
@@ -140,4 +164,4 @@ public final class LoginPacketsDecoder extends Decoder {
 		session.setEncoder(2, player);
 		player.start();
 	}
-}
\ No newline at end of file
+}
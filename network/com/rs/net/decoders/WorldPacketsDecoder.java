@@ -1,11 +1,15 @@
 package com.rs.net.decoders;
 
+import org.jboss.netty.buffer.ChannelBuffer;
+
 import com.rs.GameConstants;
 import com.rs.game.player.Player;
 import com.rs.io.InputStream;
-import com.rs.net.LogicPacket;
+import com.rs.net.PacketFrame;
 import com.rs.net.Session;
 import com.rs.net.packets.outgoing.OutgoingPacketDispatcher;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
 
 import java.util.stream.IntStream;
 
@@ -16,6 +20,12 @@ public final class WorldPacketsDecoder extends Decoder {
      */
     public static final byte[] PACKET_SIZES = new byte[256];
 
+    /**
+     * The opcode classifications, see {@link #classifyPackets()}.
+     */
+    private static final byte LOGICAL = 0, IMMEDIATE = 1, DROPPED = 2;
+    private static final byte[] PACKET_TYPES = new byte[256];
+
     // Converted
     private final static int WALKING_PACKET = 36;
     private final static int MINI_WALKING_PACKET = 43;
@@ -56,6 +66,12 @@ public final class WorldPacketsDecoder extends Decoder {
 
     private final Player player;
 
+    /**
+     * The payload of the packet being handled and the stream reading it.
+     */
+    private byte[] payload = new byte[256];
+    private final InputStream stream = new InputStream(payload);
+
     public static void loadPacketSizes() {
         IntStream.range(0, PACKET_SIZES.length).forEach(size -> PACKET_SIZES[size] = -3);
         PACKET_SIZES[17] = -1;
@@ -143,6 +159,7 @@ public final class WorldPacketsDecoder extends Decoder {
         PACKET_SIZES[15] = 2;
         PACKET_SIZES[47] = 3;
         PACKET_SIZES[0] = 7;
+        classifyPackets();
 
     }
 
@@ -151,50 +168,61 @@ public final class WorldPacketsDecoder extends Decoder {
         this.player = player;
     }
 
-    @Override
-    public void decode(InputStream stream) {
-        while (stream.getRemaining() > 0 && session.getChannel().isConnected()
-                && !player.isFinished()) {
-            int packetId = stream.readPacket(player);
-            if (packetId >= PACKET_SIZES.length || packetId < 0) {
-                if (GameConstants.DEBUG)
-                    System.out.println("PacketId " + packetId
-                            + " has fake packet id.");
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Handles a single framed packet. The payload is read into a buffer reused for
+     * every packet of this session, so handlers must copy whatever they keep.
+     *
+     * @param frame the packet, only valid during this call.
+     */
+    public void decode(PacketFrame frame) {
+        if (!session.getChannel().isConnected() || player.isFinished())
+            return;
+        ChannelBuffer data = frame.getPayload();
+        int length = data.readableBytes();
+        if (payload.length < length)
+            payload = new byte[Math.max(length, payload.length << 1)];
+        data.readBytes(payload, 0, length);
+        stream.reset(payload, length);
+
+        int packetId = frame.getOpcode();
+        switch (PACKET_TYPES[packetId]) {
+            case LOGICAL:
+                player.addLogicPacketToQueue(packetId, payload, length);
                 break;
-            }
-            int finalLength;
-            int length = PACKET_SIZES[packetId];
-            if (length == -1)
-                length = stream.readUnsignedByte();
-            else if (length == -2)
-                length = stream.readUnsignedShort();
-            else if (length == -3)
-                length = stream.readInt();
-            else if (length == -4) {
-                length = stream.getRemaining();
-                if (GameConstants.DEBUG)
-                    System.out.println("Invalid size for PacketId " + packetId
-                            + ". Size guessed to be " + length);
-            }
-            finalLength = length;
-            if (length > stream.getRemaining()) {
-                length = stream.getRemaining();
+            case IMMEDIATE:
+                OutgoingPacketDispatcher.execute(player, stream, packetId);
+                break;
+            default:
                 if (GameConstants.DEBUG)
-                    System.out.println("PacketId " + packetId
-                            + " has fake size. - expected size " + length);
-            }
-            int startOffset = stream.getOffset();
-
-            IntStream.of(LOGICAL_PACKETS).filter(id -> id == packetId).forEach(packet -> player.addLogicPacketToQueue(new LogicPacket(packetId, finalLength, stream)));
-            OutgoingPacketDispatcher.execute(player, stream, packetId);
+                    LogUtility.log(LogType.TRACE, "Dropped unknown PacketId " + packetId + ".");
+                break;
+        }
+    }
 
-            stream.setOffset(startOffset + length);
+    /**
+     * Classifies every opcode, must be called once {@link #PACKET_SIZES} is loaded.
+     * Opcodes the protocol doesn't define are dropped, the ones moving or targeting
+     * the player are queued for their tick and every other one is handled right away.
+     */
+    private static void classifyPackets() {
+        for (int packetId = 0; packetId < PACKET_TYPES.length; packetId++)
+            PACKET_TYPES[packetId] = PACKET_SIZES[packetId] == -3 ? DROPPED : IMMEDIATE;
+        for (int packetId : LOGICAL_PACKETS) {
+            if (packetId >= 0)
+                PACKET_TYPES[packetId] = LOGICAL;
         }
     }
 
-    private final int[] LOGICAL_PACKETS = {
+    /**
+     * The opcodes handled by a {@link com.rs.net.packets.logic.LogicPacket} during the player's tick.
+     */
+    private static final int[] LOGICAL_PACKETS = {
             WALKING_PACKET, MINI_WALKING_PACKET, ITEM_TAKE_PACKET, PLAYER_OPTION_1_PACKET, PLAYER_OPTION_2_PACKET, PLAYER_OPTION_3_PACKET, PLAYER_OPTION_4_PACKET, PLAYER_OPTION_6_PACKET, PLAYER_OPTION_9_PACKET,
             ATTACK_NPC, INTERFACE_ON_PLAYER, INTERFACE_ON_NPC, NPC_CLICK1_PACKET, NPC_CLICK2_PACKET, NPC_CLICK3_PACKET, NPC_CLICK4_PACKET,
-            OBJECT_CLICK1_PACKET, OBJECT_CLICK2_PACKET, OBJECT_CLICK3_PACKET, OBJECT_CLICK4_PACKET, INTERFACE_ON_OBJECT, SWITCH_INTERFACE_COMPONENTS_PACKET
+            OBJECT_CLICK1_PACKET, OBJECT_CLICK2_PACKET, OBJECT_CLICK3_PACKET, OBJECT_CLICK4_PACKET, INTERFACE_ON_OBJECT
     };
 }
\ No newline at end of file
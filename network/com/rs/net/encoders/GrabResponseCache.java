@@ -0,0 +1,191 @@
+package com.rs.net.encoders;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+
+import com.rs.GameConstants;
+import com.rs.cache.Cache;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+
+/**
+ * Caches the JS5 responses served by the {@link GrabPacketsEncoder}, fully framed
+ * and split into 512 byte blocks, in off-heap buffers.
+ * <p>
+ * The cache holds at most {@link GameConstants#JS5_RESPONSE_CACHE_SIZE} bytes and
+ * evicts the least recently requested response first. Cached responses are never
+ * written to; every request is served a read-only view of its own.
+ * @author Dennis
+ */
+public final class GrabResponseCache {
+
+	/**
+	 * The size of a response block, every block after the first starts with a {@code 0xFF} marker.
+	 */
+	private static final int BLOCK_SIZE = 512;
+
+	/**
+	 * The size of the response header: index, archive, settings and length.
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * The offset of the settings byte within the header.
+	 */
+	private static final int SETTINGS_OFFSET = 3;
+
+	/**
+	 * The cached responses by {@link #key(int, int)}, least recently used first.
+	 */
+	private static final Long2ObjectLinkedOpenHashMap<ChannelBuffer> RESPONSES = new Long2ObjectLinkedOpenHashMap<>();
+
+	private static long cachedBytes;
+
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+
+	/**
+	 * Gets the response to a JS5 request.
+	 * @param indexId the requested index, {@code 255} for the reference tables.
+	 * @param archiveId the requested archive.
+	 * @param priority if the client is waiting on the archive, rather than prefetching it.
+	 * @param encryptionValue the value every byte is XOR'ed with, {@code 0} for none.
+	 * @return the response, or {@code null} if the archive doesn't exist.
+	 */
+	public static ChannelBuffer getResponse(int indexId, int archiveId, boolean priority, int encryptionValue) {
+		ChannelBuffer response = getCachedResponse(indexId, archiveId);
+		if (response == null)
+			return null;
+		if (!priority) {
+			ChannelBuffer header = ChannelBuffers.buffer(HEADER_SIZE / 2);
+			header.writeBytes(response, 0, SETTINGS_OFFSET);
+			header.writeByte(response.getByte(SETTINGS_OFFSET) | 0x80);
+			response = ChannelBuffers.wrappedBuffer(header, response.slice(HEADER_SIZE / 2, response.capacity() - HEADER_SIZE / 2));
+		}
+		if (encryptionValue != 0)
+			return encrypt(response, encryptionValue);
+		return ChannelBuffers.unmodifiableBuffer(response.duplicate());
+	}
+
+	/**
+	 * Builds and caches the responses of every archive in {@code indexIds}.
+	 */
+	public static void warmUp(int... indexIds) {
+		long start = System.nanoTime();
+		int count = 0;
+		for (int indexId : indexIds) {
+			if (indexId != 255 && (indexId < 0 || indexId >= Cache.STORE.getIndexes().length || Cache.STORE.getIndexes()[indexId] == null))
+				continue;
+			int archives = indexId == 255 ? Cache.STORE.getIndexes().length : Cache.STORE.getIndexes()[indexId].getLastArchiveId() + 1;
+			for (int archiveId = 0; archiveId < archives; archiveId++) {
+				if (getCachedResponse(indexId, archiveId) != null)
+					count++;
+			}
+		}
+		LogUtility.log(LogType.INFO, "Warmed up " + count + " JS5 responses (" + cachedBytes / 1024 + " kb) in "
+				+ (System.nanoTime() - start) / 1_000_000 + " ms.");
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	public static synchronized long getCachedBytes() {
+		return cachedBytes;
+	}
+
+	/**
+	 * Gets the cached response of an archive, building it on a miss. Concurrent
+	 * misses on the same archive may both build it, the last one is kept.
+	 */
+	private static ChannelBuffer getCachedResponse(int indexId, int archiveId) {
+		long key = key(indexId, archiveId);
+		ChannelBuffer response;
+		synchronized (GrabResponseCache.class) {
+			response = RESPONSES.getAndMoveToLast(key);
+		}
+		if (response != null) {
+			hits.increment();
+			return response;
+		}
+		misses.increment();
+		response = buildResponse(indexId, archiveId);
+		if (response == null || response.capacity() > GameConstants.JS5_RESPONSE_CACHE_SIZE)
+			return response;
+		synchronized (GrabResponseCache.class) {
+			ChannelBuffer previous = RESPONSES.putAndMoveToLast(key, response);
+			if (previous != null)
+				cachedBytes -= previous.capacity();
+			cachedBytes += response.capacity();
+			while (cachedBytes > GameConstants.JS5_RESPONSE_CACHE_SIZE)
+				cachedBytes -= RESPONSES.removeFirst().capacity();
+		}
+		return response;
+	}
+
+	/**
+	 * Reads an archive from the cache and frames it into a response.
+	 */
+	private static ChannelBuffer buildResponse(int indexId, int archiveId) {
+		if (indexId == 255 && archiveId == 255) {
+			byte[] ukeys = Cache.generateUkeysFile();
+			return frame(indexId, archiveId, 0, ukeys.length, ukeys, 0, ukeys.length);
+		}
+		byte[] archive = (indexId == 255 ? Cache.STORE.getIndex255()
+				: Cache.STORE.getIndexes()[indexId].getMainFile()).getArchiveData(archiveId);
+		if (archive == null)
+			return null;
+		int compression = archive[0] & 0xff;
+		int length = ((archive[1] & 0xff) << 24) + ((archive[2] & 0xff) << 16)
+				+ ((archive[3] & 0xff) << 8) + (archive[4] & 0xff);
+		int realLength = compression != 0 ? length + 4 : length;
+		return frame(indexId, archiveId, compression, length, archive, 5, realLength);
+	}
+
+	/**
+	 * Writes a response into an exactly sized direct buffer, inserting a {@code 0xFF}
+	 * marker at the start of every block after the first.
+	 */
+	static ChannelBuffer frame(int indexId, int archiveId, int settings, int length, byte[] data, int offset, int size) {
+		int firstBlock = BLOCK_SIZE - HEADER_SIZE;
+		int markers = size > firstBlock ? (size - firstBlock + BLOCK_SIZE - 2) / (BLOCK_SIZE - 1) : 0;
+		ChannelBuffer buffer = ChannelBuffers.directBuffer(HEADER_SIZE + size + markers);
+		buffer.writeByte(indexId);
+		buffer.writeShort(archiveId);
+		buffer.writeByte(settings);
+		buffer.writeInt(length);
+		int block = Math.min(size, firstBlock);
+		buffer.writeBytes(data, offset, block);
+		for (int written = block; written < size; written += block) {
+			block = Math.min(size - written, BLOCK_SIZE - 1);
+			buffer.writeByte(255);
+			buffer.writeBytes(data, offset + written, block);
+		}
+		return buffer;
+	}
+
+	/**
+	 * Copies a response with every byte XOR'ed with {@code value}.
+	 */
+	private static ChannelBuffer encrypt(ChannelBuffer response, int value) {
+		int size = response.readableBytes();
+		ChannelBuffer encrypted = ChannelBuffers.buffer(size);
+		encrypted.writeBytes(response, response.readerIndex(), size);
+		byte[] array = encrypted.array();
+		for (int index = 0; index < size; index++)
+			array[index] ^= value;
+		return encrypted;
+	}
+
+	private static long key(int indexId, int archiveId) {
+		return (long) indexId << 32 | archiveId;
+	}
+}
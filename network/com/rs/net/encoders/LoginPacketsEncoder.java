@@ -30,6 +30,22 @@ public final class LoginPacketsEncoder extends Encoder {
 		}
 	}
 
+	/**
+	 * Tells the client to retry logging in after a countdown, as done when the login queue is full.
+	 * @param seconds the seconds to count down.
+	 */
+	public final void sendLoginQueued(int seconds) {
+		OutputStream stream = new OutputStream(2);
+		stream.writeByte(21);
+		stream.writeByte(seconds);
+		ChannelFuture future = session.writeWithFuture(stream);
+		if (future != null) {
+			future.addListener(ChannelFutureListener.CLOSE);
+		} else {
+			session.getChannel().close();
+		}
+	}
+
 	public final void sendLoginDetails(Player player) {
 		OutputStream bldr = new OutputStream(11);
 		bldr.writeByte(2);
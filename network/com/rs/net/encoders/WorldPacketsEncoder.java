@@ -51,7 +51,7 @@ public class WorldPacketsEncoder extends Encoder {
 	 * normal map region
 	 */
 	public WorldPacketsEncoder sendGameScene(boolean sendLswp) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 96);
 		if (sendLswp) {
 			getPlayer().getLocalPlayerUpdate().init(stream);
@@ -78,7 +78,7 @@ public class WorldPacketsEncoder extends Encoder {
 	 */
 	public WorldPacketsEncoder sendRootInterface(int id, int type) {
 		getPlayer().getInterfaceManager().setRootInterface(id);
-		OutputStream stream = new OutputStream(4);
+		OutputStream stream = OutputStream.acquire(4);
 		stream.writePacket(getPlayer(), 113);
 		stream.writeShortLE128(id);
 		stream.write128Byte(type);
@@ -87,7 +87,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendSkillLevel(int skill) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 91);
 		stream.writeIntV1((int) getPlayer().getSkills().getXp(skill));
 		stream.writeByte128(skill);
@@ -104,7 +104,7 @@ public class WorldPacketsEncoder extends Encoder {
 	 *             blackout map; 5 = blackout orb and map)
 	 */
 	public WorldPacketsEncoder sendBlackOut(int area) {
-		OutputStream out = new OutputStream(2);
+		OutputStream out = OutputStream.acquire(2);
 		out.writePacket(getPlayer(), 103);
 		out.writeByte(area);
 		getSession().write(out);
@@ -128,7 +128,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendInterface(boolean clickThrought, int parentUID, int interfaceId) {
-		OutputStream stream = new OutputStream(24);
+		OutputStream stream = OutputStream.acquire(24);
 		stream.writePacket(getPlayer(), 65);
 		stream.writeByteC(clickThrought ? 1 : 0);
 		stream.writeInt(parentUID);
@@ -143,7 +143,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendMusic(int id, int delay, int volume) {
-		OutputStream stream = new OutputStream(5);
+		OutputStream stream = OutputStream.acquire(5);
 		stream.writePacket(getPlayer(), 62);
 		stream.writeByte128(delay);
 		stream.writeShort(id);
@@ -153,7 +153,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendMusicEffect(int id) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 63);
 		stream.writeShort(id);
 		stream.write128Byte(255);
@@ -179,14 +179,14 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder resetSounds() {
-		OutputStream stream = new OutputStream(1);
+		OutputStream stream = OutputStream.acquire(1);
 		stream.writePacket(getPlayer(), 70);
 		getSession().write(stream);
 		return this;
 	}
 
 	public WorldPacketsEncoder sendIndex15Sound(int soundId, int delay) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 67); // also 37 as well but with one more
 										// short and byte
 		stream.writeShort(soundId);
@@ -199,7 +199,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendIndex14Sound(int id, int delay) {
-		OutputStream stream = new OutputStream(9);
+		OutputStream stream = OutputStream.acquire(9);
 		stream.writePacket(getPlayer(), 66);
 		stream.writeShort(id);
 		stream.writeByte(1);
@@ -296,7 +296,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendRunScript(int scriptId, Object... params) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 53);
 		String parameterTypes = "";
 		if (params != null) {
@@ -324,7 +324,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendRunEnergy() {
-		OutputStream stream = new OutputStream(2);
+		OutputStream stream = OutputStream.acquire(2);
 		stream.writePacket(getPlayer(), 83);
 		stream.writeByte(getPlayer().getDetails().getRunEnergy());
 		getSession().write(stream);
@@ -338,7 +338,7 @@ public class WorldPacketsEncoder extends Encoder {
 			if (p.getDisplayName() != null)
 				maskData |= 0x2;
 		}
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 101);
 		stream.writeSmart(type);
 		stream.writeInt(getPlayer().getTileHash()); // junk, not used by client
@@ -390,7 +390,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendMinimapFlag(int x, int y) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacket(getPlayer(), 93);
 		stream.writeByte128(x);
 		stream.writeByte128(y);
@@ -399,7 +399,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendResetMinimapFlag() {
-		OutputStream stream = new OutputStream(3);
+		OutputStream stream = OutputStream.acquire(3);
 		stream.writePacket(getPlayer(), 93);
 		stream.writeByte128(255);
 		stream.writeByte128(255);
@@ -418,7 +418,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendUpdateItems(int key, boolean negativeKey, Item[] items, int... slots) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 38);
 		stream.writeShort(key);
 		stream.writeByte(negativeKey ? 1 : 0);
@@ -446,7 +446,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendItemsContainer(int key, ItemsContainer<Item> container) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 19);
 		stream.writeShort(key);
 		stream.writeByte(key < 0 ? 1 : 0);
@@ -486,7 +486,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendItems(int key, boolean negativeKey, Item[] items) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 19);
 		stream.writeShort(key); // negativeKey ? -key : key
 		stream.writeByte(negativeKey ? 1 : 0);
@@ -512,7 +512,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder sendLogout(boolean lobby) {
 		// Highscores.highscores(getPlayer(), null);
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacket(getPlayer(), lobby ? 26 : 26); // idk lobby
 		ChannelFuture future = getSession().writeWithFuture(stream);
 		if (future != null)
@@ -523,7 +523,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPublicMessage(Player p, PublicChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 107);
 		stream.writeShort(p.getIndex());
 		stream.writeShort(message.getEffects());
@@ -565,7 +565,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendVar1(int id, int value) {
-		OutputStream stream = new OutputStream(4);
+		OutputStream stream = OutputStream.acquire(4);
 		stream.writePacket(getPlayer(), 7);
 		stream.writeShortLE(id);
 		stream.write128Byte(value);
@@ -574,7 +574,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendVar2(int id, int value) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 8);
 		stream.writeShortLE(id);
 		stream.writeIntV2(value);
@@ -583,7 +583,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendVarBit1(int id, int value) {
-		OutputStream stream = new OutputStream(4);
+		OutputStream stream = OutputStream.acquire(4);
 		stream.writePacket(getPlayer(), 81);
 		stream.writeShort128(id);
 		stream.writeByte128(value);
@@ -592,7 +592,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendVarBit2(int id, int value) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 73);
 		stream.writeIntLE(value);
 		stream.writeShortLE128(id);
@@ -601,7 +601,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder closeInterface(int parentUID) {
-		OutputStream stream = new OutputStream(5);
+		OutputStream stream = OutputStream.acquire(5);
 		stream.writePacket(getPlayer(), 118);
 		stream.writeInt(parentUID);
 		getSession().write(stream);
@@ -611,7 +611,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder sendIComponentSettings(int interfaceId, int componentId, int fromSlot, int toSlot,
 			int settingsHash) {
-		OutputStream stream = new OutputStream(13);
+		OutputStream stream = OutputStream.acquire(13);
 		stream.writePacket(getPlayer(), 75);
 		stream.writeIntV1(interfaceId << 16 | componentId);
 		stream.writeShortLE(fromSlot);
@@ -623,7 +623,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendHideIComponent(int interfaceId, int componentId, boolean hidden) {
-		OutputStream stream = new OutputStream(6);
+		OutputStream stream = OutputStream.acquire(6);
 		stream.writePacket(getPlayer(), 85);
 		stream.writeInt(interfaceId << 16 | componentId);
 		stream.writeByteC(hidden ? 1 : 0);
@@ -641,7 +641,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendGlobalConfig1(int id, int value) {
-		OutputStream stream = new OutputStream(4);
+		OutputStream stream = OutputStream.acquire(4);
 		stream.writePacket(getPlayer(), 11);
 		stream.writeByte(value);
 		stream.writeShortLE(id);
@@ -650,7 +650,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendGlobalConfig2(int id, int value) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 95);
 		stream.writeShort128(id);
 		stream.writeInt(value);
@@ -659,7 +659,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendIComponentText(int interfaceId, int componentId, String text) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 64);
 		stream.writeIntV2(interfaceId << 16 | componentId);
 		stream.writeString(text);
@@ -669,7 +669,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendGlobalString(int id, String string) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		if (string.length() >= 253) {
 			stream.writePacketVarShort(getPlayer(), 114);
 			stream.writeString(string);
@@ -723,7 +723,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public OutputStream createWorldTileStream(WorldTile tile) {
-		OutputStream stream = new OutputStream(4);
+		OutputStream stream = OutputStream.acquire(4);
 		stream.writePacket(getPlayer(), 115);
 		stream.writeByte128(tile.getPlane());
 		stream.writeByte(tile.getLocalY(getPlayer().getLastLoadedMapRegionTile(), getPlayer().getMapSize()) >> 3);
@@ -788,7 +788,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendSystemUpdate(int delay) {
-		OutputStream stream = new OutputStream(3);
+		OutputStream stream = OutputStream.acquire(3);
 		stream.writePacket(getPlayer(), 100);
 		stream.writeShort((int) (delay * 1.6));
 		getSession().write(stream);
@@ -796,7 +796,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendGraphics(Graphics graphics, Object target) {
-		OutputStream stream = new OutputStream(13);
+		OutputStream stream = OutputStream.acquire(13);
 		int hash = 0;
 		if (((Entity) target).isPlayer()) {
 			Player p = (Player) target;
@@ -820,7 +820,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendIComponentSprite(int interfaceId, int componentId, int spriteId) {
-		OutputStream stream = new OutputStream(11);
+		OutputStream stream = OutputStream.acquire(11);
 		stream.writePacket(getPlayer(), 106);
 		stream.writeIntLE(spriteId);
 		stream.writeShortLE128(interfaceId << 16 | componentId);
@@ -829,7 +829,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendIComponentAnimation(int emoteId, int interfaceId, int componentId) {
-		OutputStream stream = new OutputStream(9);
+		OutputStream stream = OutputStream.acquire(9);
 		stream.writePacket(getPlayer(), 112);
 		stream.writeShortLE(emoteId);
 		stream.writeIntLE(interfaceId << 16 | componentId);
@@ -839,7 +839,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendItemOnIComponent(int interfaceid, int componentId, int id, int amount) {
-		OutputStream stream = new OutputStream(11);
+		OutputStream stream = OutputStream.acquire(11);
 		stream.writePacket(getPlayer(), 15);
 		stream.writeInt(interfaceid << 16 | componentId);
 		stream.writeShortLE128(id);
@@ -858,14 +858,14 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPlayerOnIComponent(int interfaceId, int componentId) {
-		OutputStream stream = new OutputStream(5);
+		OutputStream stream = OutputStream.acquire(5);
 		stream.writePacket(getPlayer(), 59);
 		stream.writeIntLE(interfaceId << 16 | componentId);
 		return this;
 	}
 
 	public WorldPacketsEncoder sendNPCOnIComponent(int interfaceId, int componentId, int npcId) {
-		OutputStream stream = new OutputStream(9);
+		OutputStream stream = OutputStream.acquire(9);
 		stream.writePacket(getPlayer(), 109);
 		stream.writeShort(npcId);
 		stream.writeIntV1(interfaceId << 16 | componentId);
@@ -874,7 +874,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendObjectAnimation(GameObject object, Animation animation) {
-		OutputStream stream = new OutputStream(10);
+		OutputStream stream = OutputStream.acquire(10);
 		stream.writePacket(getPlayer(), 20);
 		stream.writeIntV2(object.getTileHash());
 		stream.writeByte128((object.getType() << 2) + (object.getRotation() & 0x3));
@@ -885,7 +885,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder sendFriendsChatChannel() {
 		FriendChatsManager manager = getPlayer().getCurrentFriendChat();
-		OutputStream stream = new OutputStream(manager == null ? 3 : manager.getDataBlock().length + 3);
+		OutputStream stream = OutputStream.acquire(manager == null ? 3 : manager.getDataBlock().length + 3);
 		stream.writePacketVarShort(getPlayer(), 22);
 		if (manager != null)
 			stream.writeBytes(manager.getDataBlock());
@@ -895,7 +895,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendFriends() {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 34);
 		for (String username : getPlayer().getFriendsIgnores().getFriends()) {
 			String displayName;
@@ -914,7 +914,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder sendFriend(String username, String displayName, int world, boolean putOnline,
 			boolean warnMessage) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 34);
 		sendFriend(username, displayName, world, putOnline, warnMessage, stream);
 		stream.endPacketVarShort();
@@ -938,7 +938,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPrivateMessage(String username, ChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 4);
 		stream.writeString(username);
 		Huffman.sendEncryptMessage(stream, message.getMessage(getPlayer().getDetails().isProfanityFilter()));
@@ -948,7 +948,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder receivePrivateMessage(String name, String display, int rights, ChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 2);
 		stream.writeByte(name.equals(display) ? 0 : 1);
 		stream.writeString(display);
@@ -969,7 +969,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPlayerOption(String option, int slot, boolean top, int cursor) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 6);
 		stream.writeString(option);
 		stream.writeShort(cursor);
@@ -981,7 +981,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPlayerUnderNPCPriority(boolean priority) {
-		OutputStream stream = new OutputStream(2);
+		OutputStream stream = OutputStream.acquire(2);
 		stream.writePacket(getPlayer(), 77);
 		stream.writeByte(priority ? 1 : 0);
 		getSession().write(stream);
@@ -991,7 +991,7 @@ public class WorldPacketsEncoder extends Encoder {
 	// *********************************************************
 
 	public WorldPacketsEncoder sendCutscene(int id) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 70);
 		stream.writeShort(id);
 		stream.writeShort(20); // xteas count
@@ -1028,7 +1028,7 @@ public class WorldPacketsEncoder extends Encoder {
 	// CUTSCENE PACKETS START
 
 	public WorldPacketsEncoder sendHintIcon(HintIcon icon) {
-		OutputStream stream = new OutputStream(15);
+		OutputStream stream = OutputStream.acquire(15);
 		stream.writePacket(getPlayer(), 79);
 		stream.writeByte((icon.getTargetType() & 0x1f) | (icon.getIndex() << 5));
 		if (icon.getTargetType() == 0)
@@ -1055,7 +1055,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendCameraShake(int slotId, int b, int c, int d, int e) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 44);
 		stream.writeByte128(b);
 		stream.writeByte128(slotId);
@@ -1067,14 +1067,14 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendStopCameraShake() {
-		OutputStream stream = new OutputStream(1);
+		OutputStream stream = OutputStream.acquire(1);
 		stream.writePacket(getPlayer(), 131);
 		// ////getSession().write(stream);
 		return this;
 	}
 
 	public WorldPacketsEncoder sendIComponentModel(int interfaceId, int componentId, int modelId) {
-		OutputStream stream = new OutputStream(9);
+		OutputStream stream = OutputStream.acquire(9);
 		stream.writePacket(getPlayer(), 102);
 		stream.writeIntV1(modelId);
 		stream.writeIntV1(interfaceId << 16 | componentId);
@@ -1083,7 +1083,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 //	public WorldPacketsEncoder sendGrandExchangeOffer(Offer offer) {
-//		OutputStream stream = new OutputStream(21);
+//		OutputStream stream = OutputStream.acquire(21);
 //		stream.writePacket(getPlayer(), 53);
 //		stream.writeByte(offer.getSlot());
 //		stream.writeByte(offer.getStage());
@@ -1124,7 +1124,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder sendRandomOnIComponent(int interfaceId, int componentId, int id) {
 		/*
-		 * OutputStream stream = new OutputStream(); stream.writePacket(getPlayer(), 235);
+		 * OutputStream stream = OutputStream.acquire(); stream.writePacket(getPlayer(), 235);
 		 * stream.writeShort(id); stream.writeIntV1(interfaceId << 16 | componentId);
 		 * stream.writeShort(interPacketsCount++); //////getSession().write(stream);
 		 */
@@ -1133,7 +1133,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder sendFaceOnIComponent(int interfaceId, int componentId, int look1, int look2, int look3) {
 		/*
-		 * OutputStream stream = new OutputStream(); stream.writePacket(getPlayer(), 192);
+		 * OutputStream stream = OutputStream.acquire(); stream.writePacket(getPlayer(), 192);
 		 * stream.writeIntV2(interfaceId << 16 | componentId);
 		 * stream.writeShortLE128(interPacketsCount++); stream.writeShortLE128(look1);
 		 * stream.writeShortLE128(look2); stream.writeShort128(look2);
@@ -1143,7 +1143,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 //	public WorldPacketsEncoder sendClanChannel(ClansManager manager, boolean myClan) {
-//		OutputStream stream = new OutputStream(manager == null ? 4
+//		OutputStream stream = OutputStream.acquire(manager == null ? 4
 //				: manager.getClanChannelDataBlock().length + 4);
 //		stream.writePacketVarShort(getPlayer(), 85);
 //		stream.writeByte(myClan ? 1 : 0);
@@ -1154,7 +1154,7 @@ public class WorldPacketsEncoder extends Encoder {
 //	}
 
 //	public WorldPacketsEncoder sendClanSettings(ClansManager manager, boolean myClan) {
-//		OutputStream stream = new OutputStream(manager == null ? 4
+//		OutputStream stream = OutputStream.acquire(manager == null ? 4
 //				: manager.getClanSettingsDataBlock().length + 4);
 //		stream.writePacketVarShort(getPlayer(), 133);
 //		stream.writeByte(myClan ? 1 : 0);
@@ -1165,7 +1165,7 @@ public class WorldPacketsEncoder extends Encoder {
 //	}
 
 	public WorldPacketsEncoder sendIgnores() {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 55);
 		stream.writeByte(getPlayer().getFriendsIgnores().getIgnores().size());
 		for (String username : getPlayer().getFriendsIgnores().getIgnores()) {
@@ -1187,7 +1187,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendIgnore(String name, String display, boolean updateName) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 128);
 		stream.writeByte(0x2);
 		stream.writeString(display.equals(name) ? name : display);
@@ -1210,7 +1210,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendOtherGameBarStages() {
-		OutputStream stream = new OutputStream(3);
+		OutputStream stream = OutputStream.acquire(3);
 		stream.writePacket(getPlayer(), 89);
 		stream.write128Byte(getPlayer().getDetails().getTradeStatus());
 		stream.writeByte(getPlayer().getDetails().getPublicStatus());
@@ -1219,7 +1219,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPrivateGameBarStage() {
-		OutputStream stream = new OutputStream(2);
+		OutputStream stream = OutputStream.acquire(2);
 		stream.writePacket(getPlayer(), 75);
 		stream.writeByte(getPlayer().getFriendsIgnores().getPrivateStatus());
 		// ////getSession().write(stream);
@@ -1229,7 +1229,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder receivePrivateChatQuickMessage(String name, String display, int rights,
 			QuickChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 104);
 		stream.writeByte(name.equals(display) ? 0 : 1);
 		stream.writeString(display);
@@ -1247,7 +1247,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendPrivateQuickMessageMessage(String username, QuickChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 30);
 		stream.writeString(username);
 		stream.writeShort(message.getFileId());
@@ -1259,7 +1259,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder receiveClanChatMessage(boolean myClan, String display, int rights, ChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 3);
 		stream.writeByte(myClan ? 1 : 0);
 		stream.writeString(display);
@@ -1274,7 +1274,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder receiveClanChatQuickMessage(boolean myClan, String display, int rights,
 			QuickChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 1);
 		stream.writeByte(myClan ? 1 : 0);
 		stream.writeString(display);
@@ -1291,7 +1291,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder receiveFriendChatMessage(String name, String display, int rights, String chatName,
 			ChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 139);
 		stream.writeByte(name.equals(display) ? 0 : 1);
 		stream.writeString(display);
@@ -1309,7 +1309,7 @@ public class WorldPacketsEncoder extends Encoder {
 
 	public WorldPacketsEncoder receiveFriendChatQuickMessage(String name, String display, int rights, String chatName,
 			QuickChatMessage message) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 32);
 		stream.writeByte(name.equals(display) ? 0 : 1);
 		stream.writeString(display);
@@ -1331,7 +1331,7 @@ public class WorldPacketsEncoder extends Encoder {
 	 * useless, sending friends unlocks it
 	 */
 	public WorldPacketsEncoder sendUnlockIgnoreList() {
-		OutputStream stream = new OutputStream(1);
+		OutputStream stream = OutputStream.acquire(1);
 		stream.writePacket(getPlayer(), 18);
 		// ////getSession().write(stream);
 		return this;
@@ -1341,7 +1341,7 @@ public class WorldPacketsEncoder extends Encoder {
 	 * dynamic map region
 	 */
 	public WorldPacketsEncoder sendDynamicGameScene(boolean sendLswp) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 144);
 		if (sendLswp) // exists on newer protocol, sends all player encoded
 			// region ids, afterwards new pupdate protocol is
@@ -1432,7 +1432,7 @@ public class WorldPacketsEncoder extends Encoder {
 	public WorldPacketsEncoder sendNPCInterface(NPC npc, boolean nocliped, int windowId, int windowComponentId,
 			int interfaceId) {
 		int[] xteas = new int[4];
-		OutputStream stream = new OutputStream(26);
+		OutputStream stream = OutputStream.acquire(26);
 		stream.writePacket(getPlayer(), 57);
 		stream.writeIntV2(xteas[0]);
 		stream.writeShortLE128(npc.getIndex());
@@ -1449,7 +1449,7 @@ public class WorldPacketsEncoder extends Encoder {
 	public WorldPacketsEncoder sendObjectInterface(GameObject object, boolean nocliped, int windowId,
 			int windowComponentId, int interfaceId) {
 		int[] xteas = new int[4];
-		OutputStream stream = new OutputStream(33);
+		OutputStream stream = OutputStream.acquire(33);
 		stream.writePacket(getPlayer(), 143);
 		stream.writeIntV2(xteas[1]);
 		stream.writeByte(nocliped ? 1 : 0);
@@ -1495,7 +1495,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendCameraLook(int viewLocalX, int viewLocalY, int viewZ, int speed1, int speed2) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 116);
 		stream.writeByte128(viewLocalY);
 		stream.writeByte(speed1);
@@ -1507,14 +1507,14 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendResetCamera() {
-		OutputStream stream = new OutputStream(1);
+		OutputStream stream = OutputStream.acquire(1);
 		stream.writePacket(getPlayer(), 95);
 		// ////getSession().write(stream);
 		return this;
 	}
 
 	public WorldPacketsEncoder sendCameraRotation(int unknown1, int unknown2) {
-		OutputStream stream = new OutputStream(5);
+		OutputStream stream = OutputStream.acquire(5);
 		stream.writePacket(getPlayer(), 123);
 		stream.writeShort(unknown1);
 		stream.writeShortLE(unknown1);
@@ -1528,7 +1528,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 	
 	public WorldPacketsEncoder sendClientConsoleCommand(String command) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 61);
 		stream.writeString(command);
 		stream.endPacketVarByte();
@@ -1536,7 +1536,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendOpenURL(String url) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarShort(getPlayer(), 17);
 		stream.writeByte(0);
 		stream.writeString(url);
@@ -1546,7 +1546,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendSetMouse(String walkHereReplace, int cursor) {
-		OutputStream stream = new OutputStream();
+		OutputStream stream = OutputStream.acquire();
 		stream.writePacketVarByte(getPlayer(), 10);
 		stream.writeString(walkHereReplace);
 		stream.writeShort(cursor);
@@ -1556,7 +1556,7 @@ public class WorldPacketsEncoder extends Encoder {
 	}
 
 	public WorldPacketsEncoder sendCameraPos(int moveLocalX, int moveLocalY, int moveZ, int speed1, int speed2) {
-		OutputStream stream = new OutputStream(7);
+		OutputStream stream = OutputStream.acquire(7);
 		stream.writePacket(getPlayer(), 74);
 		stream.writeByte128(speed2);
 		stream.writeByte128(speed1);
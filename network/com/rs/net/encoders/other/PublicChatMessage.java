@@ -1,9 +1,8 @@
 package com.rs.net.encoders.other;
 
-import com.rs.game.map.World;
+import com.rs.game.map.EntityGrid;
 import com.rs.game.player.Player;
 
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -21,13 +20,9 @@ public class PublicChatMessage extends ChatMessage {
 
 	@NonNull
 	public void sendPublicChatMessage(Player player, PublicChatMessage message) {
-		player.getMapRegionsIds().parallelStream().filter(regionalPlayer -> regionalPlayer != null).forEach(regionalPlayer -> {
-			ObjectArrayList<Short> playersIndexes = World.getRegion(regionalPlayer).getPlayersIndexes();
-			playersIndexes.iterator().forEachRemaining(p -> {
-				World.players().filter(
-						playerIndex -> playerIndex.getLocalPlayerUpdate().getLocalPlayers()[player.getIndex()] != null)
-						.forEach(worldPlayer -> worldPlayer.getPackets().sendPublicMessage(player, message));
-			});
+		EntityGrid.forEachPlayer(player, 14, worldPlayer -> {
+			if (worldPlayer.getLocalPlayerUpdate().getLocalPlayers()[player.getIndex()] != null)
+				worldPlayer.getPackets().sendPublicMessage(player, message);
 		});
 	}
 }
\ No newline at end of file
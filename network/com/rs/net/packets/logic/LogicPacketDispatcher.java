@@ -3,14 +3,10 @@ package com.rs.net.packets.logic;
 import com.rs.game.player.Player;
 import com.rs.io.InputStream;
 import com.rs.utilities.ReflectionUtils;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.SneakyThrows;
 
-import java.lang.annotation.Annotation;
 import java.lang.annotation.IncompleteAnnotationException;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
 
 /**
  * @author Dennis
@@ -18,9 +14,14 @@ import java.util.Optional;
 public class LogicPacketDispatcher {
 
     /**
-     * The object map which contains all the interface on the world.
+     * The amount of opcodes the client is able to send.
      */
-    private static final Object2ObjectOpenHashMap<LogicPacketSignature, LogicPacket> PACKET = new Object2ObjectOpenHashMap<>();
+    private static final int PACKET_COUNT = 256;
+
+    /**
+     * The packet table, rebuilt on every {@link #load()}.
+     */
+    private static volatile PacketTable TABLE = new PacketTable(new LogicPacket[PACKET_COUNT], new int[PACKET_COUNT]);
 
     /**
      * Executes the specified interface if it's registered.
@@ -30,64 +31,78 @@ public class LogicPacketDispatcher {
      */
     @SneakyThrows(Exception.class)
     public static void execute(Player player, InputStream input, int packetId) {
-        Optional<LogicPacket> outgoingPacket = getVerifiedPacket(packetId);
-        outgoingPacket.filter(packet -> matchesSize(packet, input.getLength())).ifPresent(packet -> packet.execute(player, input));
+        LogicPacket outgoingPacket = getVerifiedPacket(packetId, input.getLength());
+        if (outgoingPacket != null)
+            outgoingPacket.execute(player, input);
     }
 
     /**
-     * Gets a interface which matches the {@code identifier}.
+     * Gets the packet registered for the {@code id} opcode, if it accepts a payload of {@code size} bytes.
      *
-     * @param identifier the identifier to check for matches.
-     * @return an Optional with the found value, {@link Optional#empty} otherwise.
+     * @param id   the opcode to look up.
+     * @param size the size of the payload.
+     * @return the registered packet, or {@code null} if there is none.
      */
-    private static Optional<LogicPacket> getVerifiedPacket(int id) {
-        for (Entry<LogicPacketSignature, LogicPacket> outgoingPacket : PACKET.entrySet()) {
-            if (isPacket(outgoingPacket.getValue(), id)) {
-                return Optional.of(outgoingPacket.getValue());
-            }
-        }
-        return Optional.empty();
-    }
-
-    private static boolean isPacket(LogicPacket outgoingPacket, int packetId) {
-        Annotation annotation = outgoingPacket.getClass().getAnnotation(LogicPacketSignature.class);
-        LogicPacketSignature signature = (LogicPacketSignature) annotation;
-        return signature.packetId() == packetId;
-    }
-
-    private static boolean matchesSize(LogicPacket outgoingPacket, int size) {
-        Annotation annotation = outgoingPacket.getClass().getAnnotation(LogicPacketSignature.class);
-        LogicPacketSignature signature = (LogicPacketSignature) annotation;
-        return signature.packetSize() == 0 || signature.packetSize() == size;
+    static LogicPacket getVerifiedPacket(int id, int size) {
+        if (id < 0 || id >= PACKET_COUNT)
+            return null;
+        PacketTable table = TABLE;
+        int expected = table.sizes[id];
+        return expected == 0 || expected == size ? table.packets[id] : null;
     }
 
     /**
-     * Loads all the interface into the {@link #PACKET} list.
+     * Loads all the packets into the {@link #TABLE}.
      * <p>
      * </p>
      * <b>Method should only be called once on start-up.</b>
      */
     public static void load() {
         List<LogicPacket> packets = ReflectionUtils.getImplementersOf(LogicPacket.class);
+        LogicPacket[] table = new LogicPacket[PACKET_COUNT];
+        int[] sizes = new int[PACKET_COUNT];
 
         for (LogicPacket outgoingPacket : packets) {
-            if (outgoingPacket.getClass().getAnnotation(LogicPacketSignature.class) == null) {
+            LogicPacketSignature signature = outgoingPacket.getClass().getAnnotation(LogicPacketSignature.class);
+            if (signature == null) {
                 throw new IncompleteAnnotationException(LogicPacketSignature.class,
                         outgoingPacket.getClass().getName() + " has no annotation.");
             }
-            PACKET.put(outgoingPacket.getClass().getAnnotation(LogicPacketSignature.class), outgoingPacket);
+            if (signature.packetId() < 0 || signature.packetId() >= PACKET_COUNT)
+                continue;
+            table[signature.packetId()] = outgoingPacket;
+            sizes[signature.packetId()] = signature.packetSize();
         }
+        TABLE = new PacketTable(table, sizes);
     }
 
     /**
-     * Reloads all the interface into the {@link #PACKET} list.
+     * Reloads all the packets into the {@link #TABLE}.
      * <p>
      * </p>
-     * <b>This method can be invoked on run-time to clear all the commands in the
-     * list and add them back in a dynamic fashion.</b>
+     * <b>This method can be invoked on run-time; the table is rebuilt aside and
+     * swapped in once complete so in-flight packets never see it half filled, or
+     * the sizes of one load with the packets of another.</b>
      */
     public static void reload() {
-        PACKET.clear();
         load();
     }
-}
\ No newline at end of file
+
+    /**
+     * The packets and their expected payload sizes, indexed by opcode, published together.
+     */
+    private static final class PacketTable {
+
+        private final LogicPacket[] packets;
+
+        /**
+         * The expected payload size per opcode, {@code 0} accepting any size.
+         */
+        private final int[] sizes;
+
+        private PacketTable(LogicPacket[] packets, int[] sizes) {
+            this.packets = packets;
+            this.sizes = sizes;
+        }
+    }
+}
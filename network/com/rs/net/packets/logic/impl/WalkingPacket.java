@@ -2,6 +2,7 @@ package com.rs.net.packets.logic.impl;
 
 import com.rs.game.map.WorldTile;
 import com.rs.game.player.Player;
+import com.rs.game.route.Route;
 import com.rs.game.route.RouteFinder;
 import com.rs.game.route.strategy.FixedTileStrategy;
 import com.rs.io.InputStream;
@@ -35,19 +36,17 @@ public class WalkingPacket implements LogicPacket {
 
 		player.getSkillAction().ifPresent(skill -> skill.cancel());
 
-		int steps = RouteFinder.findRoute(RouteFinder.WALK_ROUTEFINDER, player.getX(), player.getY(), player.getPlane(),
+		Route route = RouteFinder.find(RouteFinder.LONG_ROUTEFINDER, player.getX(), player.getY(), player.getPlane(),
 				player.getSize(), new FixedTileStrategy(baseX, baseY), true);
-		int[] bufferX = RouteFinder.getLastPathBufferX();
-		int[] bufferY = RouteFinder.getLastPathBufferY();
 		int last = -1;
-		for (int i = steps - 1; i >= 0; i--) {
-			if (!player.addWalkSteps(bufferX[i], bufferY[i], 25, true))
+		for (int i = route.getSteps() - 1; i >= 0; i--) {
+			if (!player.addWalkSteps(route.getX(i), route.getY(i), 25, true))
 				break;
 			last = i;
 		}
 
 		if (last != -1) {
-			WorldTile tile = new WorldTile(bufferX[last], bufferY[last], player.getPlane());
+			WorldTile tile = new WorldTile(route.getX(last), route.getY(last), player.getPlane());
 			player.getPackets().sendMinimapFlag(
 					tile.getLocalX(player.getLastLoadedMapRegionTile(), player.getMapSize()),
 					tile.getLocalY(player.getLastLoadedMapRegionTile(), player.getMapSize()));
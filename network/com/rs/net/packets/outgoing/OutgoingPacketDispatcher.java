@@ -5,15 +5,10 @@ import com.rs.io.InputStream;
 import com.rs.net.decoders.WorldPacketsDecoder;
 import com.rs.plugin.RSInterfacePluginDispatcher;
 import com.rs.utilities.ReflectionUtils;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.SneakyThrows;
 
-import java.lang.annotation.Annotation;
 import java.lang.annotation.IncompleteAnnotationException;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
 
 /**
  * @author Dennis
@@ -21,9 +16,14 @@ import java.util.Optional;
 public class OutgoingPacketDispatcher {
 
     /**
-     * The object map which contains all the interface on the world.
+     * The amount of opcodes the client is able to send.
      */
-    private static final Object2ObjectOpenHashMap<OutgoingPacketSignature, OutgoingPacket> PACKET = new Object2ObjectOpenHashMap<>();
+    private static final int PACKET_COUNT = 256;
+
+    /**
+     * The packet table indexed by opcode, rebuilt on every {@link #load()}.
+     */
+    private static volatile OutgoingPacket[] PACKETS = new OutgoingPacket[PACKET_COUNT];
 
     /**
      * Executes the specified interface if it's registered.
@@ -33,8 +33,9 @@ public class OutgoingPacketDispatcher {
      */
     @SneakyThrows(Exception.class)
     public static void execute(Player player, InputStream input, int packetId) {
-        Optional<OutgoingPacket> incomingPacket = getVerifiedPacket(packetId);
-        incomingPacket.ifPresent(packet -> packet.execute(player, input));
+        OutgoingPacket incomingPacket = getVerifiedPacket(packetId);
+        if (incomingPacket != null)
+            incomingPacket.execute(player, input);
 
         if (packetId == WorldPacketsDecoder.ACTION_BUTTON1_PACKET
                 || packetId == WorldPacketsDecoder.ACTION_BUTTON2_PACKET
@@ -50,53 +51,50 @@ public class OutgoingPacketDispatcher {
     }
 
     /**
-     * Gets a interface which matches the {@code identifier}.
+     * Gets the packet registered for the {@code id} opcode.
      *
-     * @param identifier the identifier to check for matches.
-     * @return an Optional with the found value, {@link Optional#empty} otherwise.
+     * @param id the opcode to look up.
+     * @return the registered packet, or {@code null} if there is none.
      */
-    private static Optional<OutgoingPacket> getVerifiedPacket(int id) {
-        for (Entry<OutgoingPacketSignature, OutgoingPacket> incomingPacket : PACKET.entrySet()) {
-            if (isPacket(incomingPacket.getValue(), id)) {
-                return Optional.of(incomingPacket.getValue());
-            }
-        }
-        return Optional.empty();
-    }
-
-    private static boolean isPacket(OutgoingPacket incomingPacket, int packetId) {
-        Annotation annotation = incomingPacket.getClass().getAnnotation(OutgoingPacketSignature.class);
-        OutgoingPacketSignature signature = (OutgoingPacketSignature) annotation;
-        return Arrays.stream(signature.packetId()).anyMatch(packet -> packet == packetId);
+    static OutgoingPacket getVerifiedPacket(int id) {
+        if (id < 0 || id >= PACKET_COUNT)
+            return null;
+        return PACKETS[id];
     }
 
     /**
-     * Loads all the interface into the {@link #PACKET} list.
+     * Loads all the packets into the {@link #PACKETS} table.
      * <p>
      * </p>
      * <b>Method should only be called once on start-up.</b>
      */
     public static void load() {
         List<OutgoingPacket> packets = ReflectionUtils.getImplementersOf(OutgoingPacket.class);
+        OutgoingPacket[] table = new OutgoingPacket[PACKET_COUNT];
 
         for (OutgoingPacket outgoingPacket : packets) {
-            if (outgoingPacket.getClass().getAnnotation(OutgoingPacketSignature.class) == null) {
+            OutgoingPacketSignature signature = outgoingPacket.getClass().getAnnotation(OutgoingPacketSignature.class);
+            if (signature == null) {
                 throw new IncompleteAnnotationException(OutgoingPacketSignature.class,
                         outgoingPacket.getClass().getName() + " has no annotation.");
             }
-            PACKET.put(outgoingPacket.getClass().getAnnotation(OutgoingPacketSignature.class), outgoingPacket);
+            for (int packetId : signature.packetId()) {
+                if (packetId < 0 || packetId >= PACKET_COUNT)
+                    continue;
+                table[packetId] = outgoingPacket;
+            }
         }
+        PACKETS = table;
     }
 
     /**
-     * Reloads all the interface into the {@link #PACKET} list.
+     * Reloads all the packets into the {@link #PACKETS} table.
      * <p>
      * </p>
-     * <b>This method can be invoked on run-time to clear all the commands in the
-     * list and add them back in a dynamic fashion.</b>
+     * <b>This method can be invoked on run-time; the table is rebuilt aside and
+     * swapped in once complete so in-flight packets never see it half filled.</b>
      */
     public static void reload() {
-        PACKET.clear();
         load();
     }
-}
\ No newline at end of file
+}
@@ -5,15 +5,13 @@ import com.rs.game.player.Player;
 import com.rs.plugin.listener.Command;
 import com.rs.plugin.wrapper.CommandSignature;
 import com.rs.utilities.ReflectionUtils;
-import io.vavr.control.Try;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.SneakyThrows;
 
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * The manager class of commands which will dispatch executable commands.
@@ -23,9 +21,11 @@ import java.util.Optional;
 public final class CommandPluginDispatcher {
 
     /**
-     * The object map which contains all the commands on the world.
+     * The commands registry indexed by their lower-cased aliases.
      */
-    private static final Object2ObjectOpenHashMap<CommandSignature, Command> COMMANDS = new Object2ObjectOpenHashMap<>();
+    private static final PluginRegistry<String, Command> COMMANDS = new PluginRegistry<>("Commands",
+            command -> Arrays.stream(command.getClass().getAnnotation(CommandSignature.class).alias())
+                    .map(String::toLowerCase).collect(Collectors.toList()));
 
     /**
      * Executes the specified {@code string} if it's a command.
@@ -40,7 +40,7 @@ public final class CommandPluginDispatcher {
                 player.getPackets().sendGameMessage("You don't have the privileges required to use this command.");
                 return;
             }
-            Try.run(() -> commander.execute(player, parts, command));
+            COMMANDS.invoke(commander, () -> commander.execute(player, parts, command));
         });
     }
 
@@ -51,14 +51,7 @@ public final class CommandPluginDispatcher {
      * @return an Optional with the found value, {@link Optional#empty} otherwise.
      */
     private static Optional<Command> getCommand(String identifier) {
-        for (Entry<CommandSignature, Command> command : COMMANDS.entrySet()) {
-            for (String s : command.getKey().alias()) {
-                if (s.equalsIgnoreCase(identifier)) {
-                    return Optional.of(command.getValue());
-                }
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(COMMANDS.get(identifier.toLowerCase()));
     }
 
     /**
@@ -78,28 +71,33 @@ public final class CommandPluginDispatcher {
     }
 
     /**
-     * Loads all the commands into the {@link #COMMANDS} list.
+     * Loads all the commands into the {@link #COMMANDS} registry.
      * <p>
      * </p>
      * <b>Method should only be called once on start-up.</b>
      */
     public static void load() {
-        List<Command> commands = ReflectionUtils.getImplementersOf(Command.class);
-        commands.forEach(command -> COMMANDS.put(command.getClass().getAnnotation(CommandSignature.class), command));
+        COMMANDS.load(ReflectionUtils.getImplementersOf(Command.class));
     }
 
     /**
-     * Reloads all the commands into the {@link #COMMANDS} list.
+     * Reloads all the commands into the {@link #COMMANDS} registry.
      * <p>
      * </p>
-     * <b>This method can be invoked on run-time to clear all the commands in the
-     * list and add them back in a dynamic fashion.</b>
+     * <b>This method can be invoked on run-time; the registry swaps in its new
+     * index at once, so no command is missed while reloading.</b>
      */
     public static void reload() {
-        COMMANDS.clear();
         load();
     }
 
+    /**
+     * Gets the invocation metrics of the commands, one line each.
+     */
+    public static List<String> getSummary() {
+        return COMMANDS.getSummary();
+    }
+
     public static boolean processCommand(Player player, String command, boolean console, boolean clientCommand) {
         if (command.length() == 0)
             return false;
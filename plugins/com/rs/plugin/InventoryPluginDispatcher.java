@@ -5,14 +5,10 @@ import com.rs.game.player.Player;
 import com.rs.plugin.listener.InventoryType;
 import com.rs.plugin.wrapper.InventoryWrapper;
 import com.rs.utilities.ReflectionUtils;
-import io.vavr.control.Try;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
-import java.lang.annotation.Annotation;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author Dennis
@@ -20,9 +16,10 @@ import java.util.Optional;
 public final class InventoryPluginDispatcher {
 
     /**
-     * The object map which contains all the interface on the world.
+     * The Items registry indexed by the item ids in their signature.
      */
-    private static final Object2ObjectOpenHashMap<InventoryWrapper, InventoryType> ITEMS = new Object2ObjectOpenHashMap<>();
+    private static final PluginRegistry<Integer, InventoryType> ITEMS = new PluginRegistry<>("Items",
+            item -> IntStream.of(item.getClass().getAnnotation(InventoryWrapper.class).itemId()).boxed().collect(Collectors.toList()));
 
     /**
      * Executes the specified Item if it's registered.
@@ -31,48 +28,34 @@ public final class InventoryPluginDispatcher {
      * @param parts  the string which represents a item.
      */
     public static void execute(Player player, Item item, int optionId) {
-        getItem(item.getId()).ifPresent(specifiedItem -> Try.run(() -> specifiedItem.execute(player, item, optionId)));
+        InventoryType specifiedItem = ITEMS.get(item.getId());
+        if (specifiedItem != null)
+            ITEMS.invoke(specifiedItem, () -> specifiedItem.execute(player, item, optionId));
     }
 
     /**
-     * Gets a Item which matches the {@code identifier}.
-     *
-     * @param identifier the identifier to check for matches.
-     * @return an Optional with the found value, {@link Optional#empty} otherwise.
-     */
-    private static Optional<InventoryType> getItem(int itemId) {
-        for (Entry<InventoryWrapper, InventoryType> InventoryType : ITEMS.entrySet()) {
-            if (isCorrectItem(InventoryType.getValue(), itemId)) {
-                return Optional.of(InventoryType.getValue());
-            }
-        }
-        return Optional.empty();
-    }
-
-    private static boolean isCorrectItem(InventoryType InventoryType, int interfaceId) {
-        Annotation annotation = InventoryType.getClass().getAnnotation(InventoryWrapper.class);
-        InventoryWrapper signature = (InventoryWrapper) annotation;
-        return Arrays.stream(signature.itemId()).anyMatch(right -> interfaceId == right);
-    }
-
-    /**
-     * Loads all the Items into the {@link #ITEMS} list.
+     * Loads all the Items into the {@link #ITEMS} registry.
      * <p></p>
      * <b>Method should only be called once on start-up.</b>
      */
     public static void load() {
-        List<InventoryType> inventoryItem = ReflectionUtils.getImplementersOf(InventoryType.class);
-        inventoryItem.forEach(id -> ITEMS.put(id.getClass().getAnnotation(InventoryWrapper.class), id));
+        ITEMS.load(ReflectionUtils.getImplementersOf(InventoryType.class));
     }
 
     /**
-     * Reloads all the Items into the {@link #ITEMS} list.
+     * Reloads all the Items into the {@link #ITEMS} registry.
      * <p></p>
-     * <b>This method can be invoked on run-time to clear all the commands in the list
-     * and add them back in a dynamic fashion.</b>
+     * <b>This method can be invoked on run-time; the registry swaps in its new
+     * index at once.</b>
      */
     public static void reload() {
-        ITEMS.clear();
         load();
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the invocation metrics of the Item plugins, one line each.
+     */
+    public static List<String> getSummary() {
+        return ITEMS.getSummary();
+    }
+}
@@ -10,14 +10,11 @@ import com.rs.io.InputStream;
 import com.rs.plugin.listener.NPCType;
 import com.rs.plugin.wrapper.NPCSignature;
 import com.rs.utilities.ReflectionUtils;
-import io.vavr.control.Try;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
-import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author Dennis
@@ -25,9 +22,16 @@ import java.util.Optional;
 public class NPCPluginDispatcher {
 
     /**
-     * The NPCS map which contains all the NPCS on the world.
+     * The NPCS registry indexed by the NPC ids in their signature.
      */
-    private static final Object2ObjectOpenHashMap<NPCSignature, NPCType> MOBS = new Object2ObjectOpenHashMap<>();
+    private static final PluginRegistry<Integer, NPCType> MOB_IDS = new PluginRegistry<>("NPC ids",
+            mob -> IntStream.of(mob.getClass().getAnnotation(NPCSignature.class).npcId()).boxed().collect(Collectors.toList()));
+
+    /**
+     * The NPCS registry indexed by the NPC names in their signature.
+     */
+    private static final PluginRegistry<String, NPCType> MOB_NAMES = new PluginRegistry<>("NPC names",
+            mob -> Arrays.asList(mob.getClass().getAnnotation(NPCSignature.class).name()));
 
     /**
      * Executes the specified NPCS if it's registered.
@@ -36,71 +40,46 @@ public class NPCPluginDispatcher {
      * @param parts  the string which represents a NPCS.
      */
     public static void execute(Player player, NPC npc, int option) {
-        getMob(npc, npc.getId()).ifPresent(mob -> Try.run(() -> mob.execute(player, npc, option)));
-    }
-
-    /**
-     * Gets a NPCS which matches the {@code identifier}.
-     *
-     * @param identifier the identifier to check for matches.
-     * @return an Optional with the found value, {@link Optional#empty} otherwise.
-     */
-    private static Optional<NPCType> getMob(NPC mob, int npcId) {
-        for (Entry<NPCSignature, NPCType> mobType : MOBS.entrySet()) {
-            if (isNPCId(mobType.getValue(), npcId) || isMobNamed(mobType.getValue(), mob)) {
-                return Optional.of(mobType.getValue());
-            }
+        NPCType mob = MOB_IDS.get((int) npc.getId());
+        if (mob != null) {
+            MOB_IDS.invoke(mob, () -> mob.execute(player, npc, option));
+            return;
         }
-        return Optional.empty();
-    }
-
-    /**
-     * Checks if the the NPCS Id matches the signature
-     *
-     * @param mob
-     * @param npcId
-     * @return
-     */
-    private static boolean isNPCId(NPCType mob, int npcId) {
-        Annotation annotation = mob.getClass().getAnnotation(NPCSignature.class);
-        NPCSignature signature = (NPCSignature) annotation;
-        return Arrays.stream(signature.npcId()).anyMatch(id -> npcId == id);
-    }
-
-    /**
-     * Checks if the the NPC Name matches the signature
-     *
-     * @param mobType
-     * @param objectId
-     * @return
-     */
-    private static boolean isMobNamed(NPCType mobType, NPC mob) {
-        Annotation annotation = mobType.getClass().getAnnotation(NPCSignature.class);
-        NPCSignature signature = (NPCSignature) annotation;
-        return Arrays.stream(signature.name()).anyMatch(mobName -> mob.getDefinitions().getName().contains(mobName));
+        NPCType namedMob = MOB_NAMES.find(npc.getDefinitions().getName(), (name, mobName) -> mobName.contains(name));
+        if (namedMob != null)
+            MOB_NAMES.invoke(namedMob, () -> namedMob.execute(player, npc, option));
     }
 
     /**
-     * Loads all the NPCS into the {@link #MOBS} list.
+     * Loads all the NPCS into the {@link #MOB_IDS} and {@link #MOB_NAMES} registries.
      * <p></p>
      * <b>Method should only be called once on start-up.</b>
      */
     public static void load() {
         List<NPCType> mobTypes = ReflectionUtils.getImplementersOf(NPCType.class);
-        mobTypes.forEach(npc -> MOBS.put(npc.getClass().getAnnotation(NPCSignature.class), npc));
+        MOB_IDS.load(mobTypes);
+        MOB_NAMES.load(mobTypes);
     }
 
     /**
-     * Reloads all the NPCS into the {@link #MOBS} list.
+     * Reloads all the NPCS into the {@link #MOB_IDS} and {@link #MOB_NAMES} registries.
      * <p></p>
-     * <b>This method can be invoked on run-time to clear all the NPCS in the list
-     * and add them back in a dynamic fashion.</b>
+     * <b>This method can be invoked on run-time; each registry swaps in its new
+     * index at once.</b>
      */
     public static void reload() {
-        MOBS.clear();
         load();
     }
 
+    /**
+     * Gets the invocation metrics of the NPC plugins, one line each.
+     */
+    public static List<String> getSummary() {
+        List<String> lines = MOB_IDS.getSummary();
+        lines.addAll(MOB_NAMES.getSummary());
+        return lines;
+    }
+
     @SuppressWarnings("unused")
     private static boolean forceRun;
     private static int npcIndex;
@@ -9,14 +9,11 @@ import com.rs.game.route.RouteEvent;
 import com.rs.plugin.listener.ObjectType;
 import com.rs.plugin.wrapper.ObjectSignature;
 import com.rs.utilities.ReflectionUtils;
-import io.vavr.control.Try;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
-import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author Dennis
@@ -24,9 +21,16 @@ import java.util.Optional;
 public final class ObjectPluginDispatcher {
 
     /**
-     * The object map which contains all the Objects on the world.
+     * The Objects registry indexed by the object ids in their signature.
      */
-    private static final Object2ObjectOpenHashMap<ObjectSignature, ObjectType> OBJECTS = new Object2ObjectOpenHashMap<>();
+    private static final PluginRegistry<Integer, ObjectType> OBJECT_IDS = new PluginRegistry<>("Object ids",
+            object -> IntStream.of(object.getClass().getAnnotation(ObjectSignature.class).objectId()).boxed().collect(Collectors.toList()));
+
+    /**
+     * The Objects registry indexed by the object names in their signature.
+     */
+    private static final PluginRegistry<String, ObjectType> OBJECT_NAMES = new PluginRegistry<>("Object names",
+            object -> Arrays.asList(object.getClass().getAnnotation(ObjectSignature.class).name()));
 
     /**
      * Executes the specified Objects if it's registered.
@@ -35,74 +39,48 @@ public final class ObjectPluginDispatcher {
      * @param parts  the string which represents a Objects.
      */
     public static void execute(Player player, GameObject gamObject, int optionId) {
-        getObject(gamObject, gamObject.getId()).ifPresent(object -> Try.run(() -> object.execute(player, gamObject, optionId)));
-    }
-
-    /**
-     * Gets a Objects which matches the {@code identifier}.
-     *
-     * @param identifier the identifier to check for matches.
-     * @return an Optional with the found value, {@link Optional#empty} otherwise.
-     */
-    private static Optional<ObjectType> getObject(GameObject object, int objectId) {
-        for (Entry<ObjectSignature, ObjectType> objects : OBJECTS.entrySet()) {
-            if (isObjetId(objects.getValue(), objectId) || isObjectNamed(objects.getValue(), object)) {
-                return Optional.of(objects.getValue());
-            }
+        ObjectType object = OBJECT_IDS.get(gamObject.getId());
+        if (object != null) {
+            OBJECT_IDS.invoke(object, () -> object.execute(player, gamObject, optionId));
+            return;
         }
-        return Optional.empty();
-    }
-
-    /**
-     * Checks if the the Object Id matches the signature
-     *
-     * @param object
-     * @param objectId
-     * @return
-     */
-    private static boolean isObjetId(ObjectType object, int objectId) {
-        Annotation annotation = object.getClass().getAnnotation(ObjectSignature.class);
-        ObjectSignature signature = (ObjectSignature) annotation;
-        return Arrays.stream(signature.objectId()).anyMatch(right -> objectId == right);
+        ObjectType namedObject = OBJECT_NAMES.find(gamObject.getDefinitions().getName(), (name, objectName) -> objectName.contains(name));
+        if (namedObject != null)
+            OBJECT_NAMES.invoke(namedObject, () -> namedObject.execute(player, gamObject, optionId));
     }
 
     /**
-     * Checks if the the Object Name matches the signature
-     *
-     * @param object
-     * @param objectId
-     * @return
-     */
-    private static boolean isObjectNamed(ObjectType object, GameObject worldObject) {
-        Annotation annotation = object.getClass().getAnnotation(ObjectSignature.class);
-        ObjectSignature signature = (ObjectSignature) annotation;
-        return Arrays.stream(signature.name())
-                .anyMatch(objectName -> worldObject.getDefinitions().getName().contains(objectName));
-    }
-
-    /**
-     * Loads all the Objects into the {@link #OBJECTS} list.
+     * Loads all the Objects into the {@link #OBJECT_IDS} and {@link #OBJECT_NAMES} registries.
      * <p>
      * </p>
      * <b>Method should only be called once on start-up.</b>
      */
     public static void load() {
         List<ObjectType> objectTypes = ReflectionUtils.getImplementersOf(ObjectType.class);
-        objectTypes.forEach(objectType -> OBJECTS.put(objectType.getClass().getAnnotation(ObjectSignature.class), objectType));
+        OBJECT_IDS.load(objectTypes);
+        OBJECT_NAMES.load(objectTypes);
     }
 
     /**
-     * Reloads all the Objects into the {@link #OBJECTS} list.
+     * Reloads all the Objects into the {@link #OBJECT_IDS} and {@link #OBJECT_NAMES} registries.
      * <p>
      * </p>
-     * <b>This method can be invoked on run-time to clear all the commands in the
-     * list and add them back in a dynamic fashion.</b>
+     * <b>This method can be invoked on run-time; each registry swaps in its new
+     * index at once.</b>
      */
     public static void reload() {
-        OBJECTS.clear();
         load();
     }
 
+    /**
+     * Gets the invocation metrics of the Object plugins, one line each.
+     */
+    public static List<String> getSummary() {
+        List<String> lines = OBJECT_IDS.getSummary();
+        lines.addAll(OBJECT_NAMES.getSummary());
+        return lines;
+    }
+
     @SuppressWarnings("unused")
     public static void handleItemOnObject(final Player player, final GameObject object, final int interfaceId,
                                           final Item item) {
@@ -0,0 +1,202 @@
+package com.rs.plugin;
+
+import io.vavr.CheckedRunnable;
+import io.vavr.control.Try;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * An indexed registry of plugin handlers shared by the plugin dispatchers.
+ * <p>
+ * Handlers are indexed by the keys their signature declares when the registry
+ * is loaded, so a lookup is a single hash probe instead of a scan over every
+ * handler. The index is never mutated in place; {@link #load(Collection)}
+ * publishes a new snapshot, which makes a reload atomic for concurrent readers.
+ *
+ * @param <K> the key the handlers are indexed by.
+ * @param <H> the type of handler held.
+ * @author Dennis
+ */
+public final class PluginRegistry<K, H> {
+
+	/**
+	 * The name of this registry, used when reporting.
+	 */
+	@Getter
+	private final String name;
+
+	/**
+	 * The function supplying the keys a handler is registered under.
+	 */
+	private final Function<H, Collection<K>> keys;
+
+	/**
+	 * The current snapshot of the registry.
+	 */
+	private volatile Snapshot<K, H> snapshot = new Snapshot<>(new Object2ObjectOpenHashMap<>());
+
+	/**
+	 * The invocation metrics per handler class, kept across reloads.
+	 */
+	private final ConcurrentHashMap<String, HandlerMetrics> metrics = new ConcurrentHashMap<>();
+
+	public PluginRegistry(String name, Function<H, Collection<K>> keys) {
+		this.name = name;
+		this.keys = keys;
+	}
+
+	/**
+	 * Replaces every registered handler with {@code handlers}.
+	 *
+	 * @param handlers the handlers to index.
+	 */
+	public synchronized void load(Collection<H> handlers) {
+		Object2ObjectOpenHashMap<K, H> index = new Object2ObjectOpenHashMap<>();
+		handlers.forEach(handler -> keys.apply(handler).forEach(key -> index.put(key, handler)));
+		snapshot = new Snapshot<>(index);
+	}
+
+	/**
+	 * Gets the handler registered under exactly {@code key}.
+	 *
+	 * @param key the key to look up.
+	 * @return the handler, or {@code null} if there is none.
+	 */
+	public H get(K key) {
+		return snapshot.index.get(key);
+	}
+
+	/**
+	 * Gets the handler registered under {@code key}, falling back to the first
+	 * registered key accepted by {@code matcher}. Fallback results are remembered
+	 * until the next reload, so the scan happens once per distinct key.
+	 *
+	 * @param key     the key to look up.
+	 * @param matcher tests a registered key against {@code key}.
+	 * @return the handler, or {@code null} if there is none.
+	 */
+	public H find(K key, BiPredicate<K, K> matcher) {
+		Snapshot<K, H> current = snapshot;
+		H handler = current.index.get(key);
+		if (handler != null)
+			return handler;
+		return current.resolved.computeIfAbsent(key, unresolved -> {
+			for (Entry<K, H> entry : current.index.entrySet()) {
+				if (matcher.test(entry.getKey(), unresolved))
+					return Optional.of(entry.getValue());
+			}
+			return Optional.empty();
+		}).orElse(null);
+	}
+
+	/**
+	 * Gets the amount of keys currently registered.
+	 *
+	 * @return the amount of keys.
+	 */
+	public int size() {
+		return snapshot.index.size();
+	}
+
+	/**
+	 * Invokes {@code action} for {@code handler}, recording how long it took.
+	 * Exceptions are swallowed, as the dispatchers always did.
+	 *
+	 * @param handler the handler being invoked.
+	 * @param action  the invocation itself.
+	 */
+	public void invoke(H handler, CheckedRunnable action) {
+		long start = System.nanoTime();
+		Try.run(action);
+		metrics.computeIfAbsent(handler.getClass().getSimpleName(), HandlerMetrics::new).record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Gets the amount of keys registered and the invocation metrics of every handler
+	 * invoked so far, one line each.
+	 *
+	 * @return the lines.
+	 */
+	public List<String> getSummary() {
+		List<String> lines = new ArrayList<>();
+		lines.add(name + ": " + size() + " keys registered.");
+		metrics.values().forEach(metric -> lines.add(name + " - " + metric));
+		return lines;
+	}
+
+	/**
+	 * An immutable view of the registry at one point in time.
+	 */
+	private static final class Snapshot<K, H> {
+
+		/**
+		 * The handlers indexed by their declared keys.
+		 */
+		private final Object2ObjectOpenHashMap<K, H> index;
+
+		/**
+		 * The fallback lookups resolved against this snapshot.
+		 */
+		private final ConcurrentHashMap<K, Optional<H>> resolved = new ConcurrentHashMap<>();
+
+		private Snapshot(Object2ObjectOpenHashMap<K, H> index) {
+			this.index = index;
+		}
+	}
+
+	/**
+	 * The invocation count and latency of a single handler.
+	 */
+	public static final class HandlerMetrics {
+
+		/**
+		 * The simple class name of the handler.
+		 */
+		@Getter
+		private final String handler;
+
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private HandlerMetrics(String handler) {
+			this.handler = handler;
+		}
+
+		private void record(long nanos) {
+			invocations.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		public long getInvocations() {
+			return invocations.sum();
+		}
+
+		public long getAverageNanos() {
+			long count = invocations.sum();
+			return count == 0 ? 0 : totalNanos.sum() / count;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos.get();
+		}
+
+		@Override
+		public String toString() {
+			return handler + "[invocations=" + getInvocations() + ", avg=" + getAverageNanos() / 1000 + "us, max="
+					+ getMaxNanos() / 1000 + "us]";
+		}
+	}
+}
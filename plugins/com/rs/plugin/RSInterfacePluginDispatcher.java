@@ -18,11 +18,7 @@ import io.vavr.control.Try;
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import skills.Skills;
 
-import java.lang.annotation.Annotation;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
 
 /**
  * @author Dennis
@@ -30,9 +26,9 @@ import java.util.Optional;
 public final class RSInterfacePluginDispatcher {
 
 	/**
-	 * The object map which contains all the interface on the world.
+	 * The interface handlers indexed by interface id, replaced as a whole on every {@link #load()}.
 	 */
-	private static final Object2ObjectArrayMap<RSInterfaceSignature, RSInterface> INTERFACES = new Object2ObjectArrayMap<>();
+	private static volatile RSInterface[] INTERFACES = new RSInterface[0];
 
 	/**
 	 * Executes the specified interface if it's registered.
@@ -41,50 +37,55 @@ public final class RSInterfacePluginDispatcher {
 	 * @param parts  the string which represents a interface.
 	 */
 	public static void execute(Player player, int interfaceId, int componentId, int packetId, byte slotId, int slotId2) {
-		getRSInterface(interfaceId).ifPresent(inter -> Try.run(() -> inter.execute(player, interfaceId, componentId, packetId, slotId, slotId2)));
+		RSInterface inter = getRSInterface(interfaceId);
+		if (inter != null)
+			Try.run(() -> inter.execute(player, interfaceId, componentId, packetId, slotId, slotId2));
 	}
 
 	/**
-	 * Gets a interface which matches the {@code identifier}.
+	 * Gets the interface registered for the {@code interfaceId}.
 	 * 
-	 * @param identifier the identifier to check for matches.
-	 * @return an Optional with the found value, {@link Optional#empty} otherwise.
+	 * @param interfaceId the interface id clicked.
+	 * @return the found handler, or {@code null} if there is none.
 	 */
-	private static Optional<RSInterface> getRSInterface(int interfaceId) {
-		for (Entry<RSInterfaceSignature, RSInterface> rsInterface : INTERFACES.entrySet()) {
-			if (isInterface(rsInterface.getValue(), interfaceId)) {
-				return Optional.of(rsInterface.getValue());
-			}
-		}
-		return Optional.empty();
-	}
-
-	private static boolean isInterface(RSInterface rsInterface, int interfaceId) {
-		Annotation annotation = rsInterface.getClass().getAnnotation(RSInterfaceSignature.class);
-		RSInterfaceSignature signature = (RSInterfaceSignature) annotation;
-		return Arrays.stream(signature.interfaceId()).anyMatch(right -> interfaceId == right);
+	private static RSInterface getRSInterface(int interfaceId) {
+		RSInterface[] table = INTERFACES;
+		if (interfaceId < 0 || interfaceId >= table.length)
+			return null;
+		return table[interfaceId];
 	}
 
 	/**
-	 * Loads all the interface into the {@link #INTERFACES} list.
+	 * Loads all the interface into the {@link #INTERFACES} table.
 	 * <p>
 	 * </p>
 	 * <b>Method should only be called once on start-up.</b>
 	 */
 	public static void load() {
 		List<RSInterface> interfaces = ReflectionUtils.getImplementersOf(RSInterface.class);
-		interfaces.forEach(inter -> INTERFACES.put(inter.getClass().getAnnotation(RSInterfaceSignature.class), inter));
+		int size = 0;
+		for (RSInterface inter : interfaces) {
+			for (int interfaceId : inter.getClass().getAnnotation(RSInterfaceSignature.class).interfaceId())
+				size = Math.max(size, interfaceId + 1);
+		}
+		RSInterface[] table = new RSInterface[size];
+		for (RSInterface inter : interfaces) {
+			for (int interfaceId : inter.getClass().getAnnotation(RSInterfaceSignature.class).interfaceId()) {
+				if (interfaceId >= 0)
+					table[interfaceId] = inter;
+			}
+		}
+		INTERFACES = table;
 	}
 
 	/**
-	 * Reloads all the interface into the {@link #INTERFACES} list.
+	 * Reloads all the interface into the {@link #INTERFACES} table.
 	 * <p>
 	 * </p>
-	 * <b>This method can be invoked on run-time to clear all the commands in the
-	 * list and add them back in a dynamic fashion.</b>
+	 * <b>This method can be invoked on run-time; the table is rebuilt aside and
+	 * swapped in once complete so button clicks never see it half filled.</b>
 	 */
 	public static void reload() {
-		INTERFACES.clear();
 		load();
 	}
 
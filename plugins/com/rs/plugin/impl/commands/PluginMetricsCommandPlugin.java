@@ -0,0 +1,28 @@
+package com.rs.plugin.impl.commands;
+
+import java.util.stream.Stream;
+
+import com.rs.game.player.Player;
+import com.rs.game.player.Rights;
+import com.rs.plugin.CommandPluginDispatcher;
+import com.rs.plugin.InventoryPluginDispatcher;
+import com.rs.plugin.NPCPluginDispatcher;
+import com.rs.plugin.ObjectPluginDispatcher;
+import com.rs.plugin.listener.Command;
+import com.rs.plugin.wrapper.CommandSignature;
+
+/**
+ * Displays the registered keys and invocation metrics of the plugin dispatchers.
+ * @author Dennis
+ *
+ */
+@CommandSignature(alias = {"plugins", "pluginstats"}, rights = {Rights.ADMINISTRATOR}, syntax = "Displays the plugin invocation metrics")
+public final class PluginMetricsCommandPlugin implements Command {
+	
+	@Override
+	public void execute(Player player, String[] cmd, String command) throws Exception {
+		Stream.of(CommandPluginDispatcher.getSummary(), InventoryPluginDispatcher.getSummary(), NPCPluginDispatcher.getSummary(),
+				ObjectPluginDispatcher.getSummary()).flatMap(lines -> lines.stream())
+				.forEach(line -> player.getPackets().sendGameMessage(line));
+	}
+}
@@ -0,0 +1,27 @@
+package com.rs.plugin.impl.commands;
+
+import com.rs.game.map.TickProfiler;
+import com.rs.game.player.Player;
+import com.rs.game.player.Rights;
+import com.rs.plugin.listener.Command;
+import com.rs.plugin.wrapper.CommandSignature;
+
+/**
+ * Displays the world tick timings, use "tick reset" to clear them.
+ * @author Dennis
+ *
+ */
+@CommandSignature(alias = {"tick", "tickstats"}, rights = {Rights.ADMINISTRATOR}, syntax = "Displays the world tick timings")
+public final class TickProfileCommandPlugin implements Command {
+	
+	@Override
+	public void execute(Player player, String[] cmd, String command) throws Exception {
+		if (cmd.length > 1 && cmd[1].equals("reset")) {
+			TickProfiler.requestReset();
+			player.getPackets().sendGameMessage("Tick timings will be reset at the end of this tick.");
+			return;
+		}
+		TickProfiler.getSummary().forEach(line -> player.getPackets().sendGameMessage(line));
+		player.getPackets().sendGameMessage("Last tick: " + TickProfiler.describeLastTick());
+	}
+}
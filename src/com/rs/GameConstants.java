@@ -9,6 +9,7 @@ import com.rs.game.player.Player;
 import com.rs.game.player.Rights;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 public final class GameConstants {
 
@@ -17,11 +18,19 @@ public final class GameConstants {
      */
     public static final String SERVER_NAME = GameProperties.getGameProperties().getString("server_name");
     public static final int RECEIVE_DATA_LIMIT = GameProperties.getGameProperties().getInteger("receive_data_limit");
+    public static final int RECEIVE_BYTES_PER_TICK = GameProperties.getGameProperties().getInteger("receive_bytes_per_tick");
+    public static final int RECEIVE_PACKETS_PER_TICK = GameProperties.getGameProperties().getInteger("receive_packets_per_tick");
     public static final int PACKET_SIZE_LIMIT = GameProperties.getGameProperties().getInteger("packet_size_limit");
     public static final int CLIENT_REVISION = GameProperties.getGameProperties().getInteger("revision");
     public static final long CONNECTION_TIMEOUT = GameProperties.getGameProperties().getInteger("connection_timeout");
     public static final String SQL_FILE_PATH = GameProperties.getGameProperties().getString("sql_location");
     public static final boolean SQL_ENABLED = GameProperties.getGameProperties().getBoolean("sql_state");
+    public static final boolean PRELOAD_DEFINITIONS = GameProperties.getGameProperties().getBoolean("preload_definitions");
+    public static final long JS5_RESPONSE_CACHE_SIZE = GameProperties.getGameProperties().getInteger("js5_response_cache_mb") * 1024L * 1024L;
+    public static final int JS5_TICK_MS = GameProperties.getGameProperties().getInteger("js5_tick_ms");
+    public static final int JS5_BYTES_PER_TICK = GameProperties.getGameProperties().getInteger("js5_bytes_per_tick");
+    public static final int[] JS5_WARMUP_INDEXES = Arrays.stream(GameProperties.getGameProperties().getString("js5_warmup_indexes").split(","))
+            .map(String::trim).filter(index -> !index.isEmpty()).mapToInt(Integer::parseInt).toArray();
 
     /**
      * Player settings
@@ -78,6 +87,28 @@ public final class GameConstants {
      */
     public static final long WORLD_CYCLE_NS = 600000000L;
     public static final long WORLD_CYCLE_MS = WORLD_CYCLE_NS / 1000000L;
+    public static final boolean PARALLEL_WORLD_TICK = GameProperties.getGameProperties().getBoolean("parallel_world_tick");
+    public static final boolean NPC_DORMANCY = GameProperties.getGameProperties().getBoolean("npc_dormancy");
+    public static final int REGION_LOADER_THREADS = GameProperties.getGameProperties().getInteger("region_loader_threads");
+    public static final int REGION_PRELOAD_DISTANCE = GameProperties.getGameProperties().getInteger("region_preload_distance");
+    public static final String REGION_CACHE_PATH = GameProperties.getGameProperties().getString("region_cache_path");
+    public static final boolean PRECOMPILE_REGIONS = GameProperties.getGameProperties().getBoolean("precompile_regions");
+    public static final long REGION_IDLE_UNLOAD_MS = GameProperties.getGameProperties().getInteger("region_idle_unload_seconds") * 1000L;
+
+    /**
+     * Persistence settings
+     */
+    public static final String PLAYER_SAVE_PATH = GameProperties.getGameProperties().getString("player_save_path");
+    public static final String PLAYER_SAVE_FORMAT = GameProperties.getGameProperties().getString("player_save_format");
+    public static final int AUTOSAVE_MINUTES = GameProperties.getGameProperties().getInteger("autosave_minutes");
+    public static final int PROFILE_CACHE_SIZE = GameProperties.getGameProperties().getInteger("profile_cache_size");
+
+    /**
+     * Login settings
+     */
+    public static final int LOGIN_THREADS = GameProperties.getGameProperties().getInteger("login_threads");
+    public static final int LOGIN_QUEUE_CAPACITY = GameProperties.getGameProperties().getInteger("login_queue_capacity");
+    public static final int LOGIN_RETRY_SECONDS = GameProperties.getGameProperties().getInteger("login_retry_seconds");
 
     /**
      * Memory settings
@@ -4,17 +4,23 @@ import java.io.IOException;
 import java.util.concurrent.Executors;
 
 import com.rs.cache.Cache;
+import com.rs.cache.loaders.ItemDefinitions;
+import com.rs.cache.loaders.NPCDefinitions;
+import com.rs.cache.loaders.ObjectDefinitions;
 import com.rs.cores.BlockingExecutorService;
 import com.rs.cores.CoresManager;
 import com.rs.game.dialogue.DialogueEventRepository;
 import com.rs.game.map.MapBuilder;
+import com.rs.game.map.RegionCompiler;
 import com.rs.game.map.World;
 import com.rs.game.npc.combat.NPCCombatDispatcher;
 import com.rs.game.npc.global.GenericNPCDispatcher;
 import com.rs.game.player.content.FriendChatsManager;
 import com.rs.game.player.spells.passive.PassiveSpellDispatcher;
+import com.rs.net.GrabScheduler;
 import com.rs.net.Huffman;
 import com.rs.net.ServerChannelHandler;
+import com.rs.net.encoders.GrabResponseCache;
 import com.rs.net.host.HostListType;
 import com.rs.net.host.HostManager;
 import com.rs.net.packets.logic.LogicPacketDispatcher;
@@ -26,6 +32,8 @@ import com.rs.plugin.ObjectPluginDispatcher;
 import com.rs.plugin.RSInterfacePluginDispatcher;
 import com.rs.utilities.LogUtility;
 import com.rs.utilities.LogUtility.LogType;
+import com.rs.utilities.ReflectionUtils;
+import com.rs.utilities.Utility;
 import com.rs.utilities.json.GsonHandler;
 import com.rs.utilities.json.impl.MobDropTableLoader;
 import com.rs.utilities.loaders.Censor;
@@ -78,9 +86,12 @@ public class GameLoader {
 		getBackgroundLoader().submit(() -> {
 			World.get().startAsync().awaitRunning();
 			ServerChannelHandler.init();
+			GrabScheduler.init();
 			Huffman.init();
 			MapArchiveKeys.init();
 			MapBuilder.init();
+			if (GameConstants.PRECOMPILE_REGIONS)
+				RegionCompiler.compileAll();
 			LogUtility.log(LogType.INFO, "Loading Game World.");
 		});
 		getBackgroundLoader().submit(() -> {
@@ -90,6 +101,13 @@ public class GameLoader {
 			NPCCombatDefinitionsL.init();
 			NPCBonuses.init();
 			LogUtility.log(LogType.INFO, "Loading Bonuses.");
+			if (GameConstants.PRELOAD_DEFINITIONS) {
+				ItemDefinitions.preloadItemsDefinitions();
+				NPCDefinitions.preloadNPCDefinitions();
+				ObjectDefinitions.preloadObjectDefinitions();
+			}
+			if (GameConstants.JS5_WARMUP_INDEXES.length > 0)
+				GrabResponseCache.warmUp(GameConstants.JS5_WARMUP_INDEXES);
 		});
 		getBackgroundLoader().submit(() -> {
 			MusicHints.init();
@@ -108,6 +126,7 @@ public class GameLoader {
 		});
 		getBackgroundLoader().submit(() -> {
 			LogUtility.log(LogType.INFO, "Loading Plugin handlers.");
+			long pluginStart = Utility.currentTimeMillis();
 			RSInterfacePluginDispatcher.load();
 			InventoryPluginDispatcher.load();
 			ObjectPluginDispatcher.load();
@@ -118,6 +137,8 @@ public class GameLoader {
 			OutgoingPacketDispatcher.load();
 			GenericNPCDispatcher.load();
 			PassiveSpellDispatcher.load();
+			ReflectionUtils.releaseScan();
+			LogUtility.log(LogType.INFO, "Plugin handlers took " + (Utility.currentTimeMillis() - pluginStart) + " milli seconds to load.");
 		});
 		LogUtility.log(LogType.INFO, "Startup completed.");
 	}
@@ -8,8 +8,8 @@ import com.rs.cache.loaders.NPCDefinitions;
 import com.rs.cache.loaders.ObjectDefinitions;
 import com.rs.cores.CoresManager;
 import com.rs.game.map.MapBuilder;
-import com.rs.game.map.Region;
 import com.rs.game.map.World;
+import com.rs.net.PlayerPersistence;
 import com.rs.net.ServerChannelHandler;
 import com.rs.utilities.LogUtility;
 import com.rs.utilities.LogUtility.LogType;
@@ -65,12 +65,10 @@ public class Launcher {
 			ItemDefinitions.clearItemsDefinitions();
 			NPCDefinitions.clearNPCDefinitions();
 			ObjectDefinitions.clearObjectDefinitions();
-			for (Region region : World.getRegions().values()) {
-				for (int regionId : MapBuilder.FORCE_LOAD_REGIONS)
-					if (regionId == region.getRegionId())
-						continue;
-				region.unloadMap();
-			}
+			World.getRegions().forEach(region -> {
+				if (!Arrays.stream(MapBuilder.FORCE_LOAD_REGIONS).anyMatch(regionId -> regionId == region.getRegionId()))
+					region.unloadMap();
+			});
 		}
 		Arrays.stream(Cache.STORE.getIndexes()).filter(index -> index != null).forEach(index -> index.resetCachedFiles());
 		System.gc();
@@ -83,6 +81,7 @@ public class Launcher {
 	public static void shutdown() {
 		try {
 			ServerChannelHandler.shutdown();
+			PlayerPersistence.flush();
 			CoresManager.shutdown();
 		} finally {
 			System.exit(0);
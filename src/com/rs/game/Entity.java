@@ -15,8 +15,10 @@ import com.rs.GameConstants;
 import com.rs.cache.loaders.AnimationDefinitions;
 import com.rs.cache.loaders.ObjectDefinitions;
 import com.rs.game.map.DynamicRegion;
+import com.rs.game.map.EntityGrid;
 import com.rs.game.map.GameObject;
 import com.rs.game.map.Region;
+import com.rs.game.map.RegionStreamer;
 import com.rs.game.map.World;
 import com.rs.game.map.WorldTile;
 import com.rs.game.map.areas.AreaHandler;
@@ -97,6 +99,11 @@ public abstract class Entity extends WorldTile {
 	private transient long findTargetDelay;
 	private transient short hashCode;
 	private transient EntityMovement movement;
+	// the chunk bucket and slot of this entity in the entity grid
+	private transient int gridKey;
+	private transient int gridSlot;
+	// the slot of this entity in the occupants of its region
+	private transient int regionSlot;
 	private transient Attributes attributes;
 	private transient int mapSize;
 	
@@ -374,6 +381,7 @@ public abstract class Entity extends WorldTile {
 			if (player.getDetails().getRunEnergy() <= 0)
 				setRun(false);
 		});
+		int lastDirection = -1;
 		for (int stepCount = 0; stepCount < (isRun() ? 2 : 1); stepCount++) {
 			Object[] nextStep = getNextWalkStep();
 			if (nextStep == null) {
@@ -394,10 +402,13 @@ public abstract class Entity extends WorldTile {
 				ifPlayer(player -> player.getMovement().drainRunEnergy());
 			}
 			moveLocation(Utility.DIRECTION_DELTA_X[dir], Utility.DIRECTION_DELTA_Y[dir], 0);
+			lastDirection = dir;
 		}
 		updateEntityRegion(this);
 		if (needMapUpdate())
 			loadMapRegions();
+		if (lastDirection != -1 && isPlayer())
+			RegionStreamer.preload(this, lastDirection);
 	}
 
 	@Override
@@ -500,42 +511,33 @@ public abstract class Entity extends WorldTile {
 							 */)
 			return true;
 		int size = getSize();
-		for (int regionId : getMapRegionsIds()) {
-			ObjectArrayList<Short> npcIndexes = World.getRegion(regionId).getNpcsIndexes();
-			if (npcIndexes != null && npcIndexes.size() < 50) {
-				for (int npcIndex : npcIndexes) {
-					NPC target = World.getNPCs().get(npcIndex);
-					if (target == null || target == this || target.isDead() || target.isFinished()
-							|| target.getPlane() != getPlane() || !target.isMultiArea()
-							|| (!(this instanceof Familiar) && target instanceof Familiar))
-						continue;
-					int targetSize = target.getSize();
-					if (!checkUnder && target.getNextWalkDirection() == -1) { // means
-						// the
-						// walk
-						// hasnt
-						// been
-						// processed
-						// yet
-						int previewDir = getPreviewNextWalkStep();
-						if (previewDir != -1) {
-							WorldTile tile = target.transform(Utility.DIRECTION_DELTA_X[previewDir],
-									Utility.DIRECTION_DELTA_Y[previewDir], 0);
-							if (Utility.colides(tile.getX(), tile.getY(), targetSize, getX(), getY(), size))
-								continue;
-
-							if (Utility.colides(tile.getX(), tile.getY(), targetSize, toX, toY, size))
-								return false;
-						}
-					}
-					if (Utility.colides(target.getX(), target.getY(), targetSize, getX(), getY(), size))
-						continue;
-					if (Utility.colides(target.getX(), target.getY(), targetSize, toX, toY, size))
+		return EntityGrid.findNPC(this, size + 1, target -> {
+			if (target == this || target.isDead() || !target.isMultiArea()
+					|| (!(this instanceof Familiar) && target instanceof Familiar))
+				return false;
+			int targetSize = target.getSize();
+			if (!checkUnder && target.getNextWalkDirection() == -1) { // means
+				// the
+				// walk
+				// hasnt
+				// been
+				// processed
+				// yet
+				int previewDir = getPreviewNextWalkStep();
+				if (previewDir != -1) {
+					WorldTile tile = target.transform(Utility.DIRECTION_DELTA_X[previewDir],
+							Utility.DIRECTION_DELTA_Y[previewDir], 0);
+					if (Utility.colides(tile.getX(), tile.getY(), targetSize, getX(), getY(), size))
 						return false;
+
+					if (Utility.colides(tile.getX(), tile.getY(), targetSize, toX, toY, size))
+						return true;
 				}
 			}
-		}
-		return true;
+			if (Utility.colides(target.getX(), target.getY(), targetSize, getX(), getY(), size))
+				return false;
+			return Utility.colides(target.getX(), target.getY(), targetSize, toX, toY, size);
+		}) == null;
 	}
 
 	public WorldTile getMiddleWorldTile() {
@@ -996,13 +998,7 @@ public abstract class Entity extends WorldTile {
 	}
 
 	public void playSound(int soundId, int type) {
-		for (int regionId : getMapRegionsIds()) {
-			ObjectArrayList<Short> playerIndexes = World.getRegion(regionId).getPlayersIndexes();
-			if (playerIndexes != null) {
-				World.players().filter(p -> !withinDistance(p))
-						.forEach(p -> p.getPackets().sendSound(soundId, 0, type));
-			}
-		}
+		EntityGrid.forEachPlayer(this, 14, player -> player.getPackets().sendSound(soundId, 0, type));
 	}
 
 	public boolean addWalkStepsInteract(int destX, int destY, int maxStepsCount, int size, boolean calculate) {
@@ -1079,20 +1075,21 @@ public abstract class Entity extends WorldTile {
 	}
 
 	public final void updateEntityRegion(Entity entity) {
+		EntityGrid.update(entity);
 		if (entity.isFinished()) {
 			if (isPlayer())
-				World.getRegion(entity.getLastRegionId()).removePlayerIndex((short) entity.getIndex());
+				World.getRegion(entity.getLastRegionId()).removePlayerIndex(entity.toPlayer());
 			else
-				World.getRegion(entity.getLastRegionId()).removeNPCIndex(entity.getIndex());
+				World.getRegion(entity.getLastRegionId()).removeNPCIndex(entity.toNPC());
 			return;
 		}
 		short regionId = (short) entity.getRegionId();
 		if (entity.getLastRegionId() != regionId) {
 			ifPlayer(player -> {
 				if (entity.getLastRegionId() > 0)
-					World.getRegion(entity.getLastRegionId()).removePlayerIndex((short) entity.getIndex());
+					World.getRegion(entity.getLastRegionId()).removePlayerIndex(player);
 				Region region = World.getRegion(regionId);
-				region.addPlayerIndex((short) entity.getIndex());
+				region.addPlayerIndex(player);
 				int musicId = region.getRandomMusicId();
 				if (musicId != -1)
 					player.getMusicsManager().checkMusic(musicId);
@@ -1102,8 +1099,8 @@ public abstract class Entity extends WorldTile {
 			});
 			ifNpc(npc -> {
 				if (entity.getLastRegionId() > 0)
-					World.getRegion(entity.getLastRegionId()).removeNPCIndex(entity.getIndex());
-				World.getRegion(regionId).addNPCIndex((short) entity.getIndex());
+					World.getRegion(entity.getLastRegionId()).removeNPCIndex(npc);
+				World.getRegion(regionId).addNPCIndex(npc);
 			});
 			entity.checkMultiArea();
 			entity.setLastRegionId(regionId);
@@ -2,6 +2,7 @@ package com.rs.game;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -120,4 +121,12 @@ public class EntityList<T extends Entity> implements Iterable<T> {
 		return StreamSupport.stream(spliterator(), false);
 	}
 	
+	/**
+	 * Converts the array to a parallel {@code Stream} which splits evenly across
+	 * the backing array, unlike the iterator based {@link #stream()}.
+	 */
+	public Stream<T> parallelStream() {
+		return Arrays.stream(entities).parallel().filter(Objects::nonNull);
+	}
+	
 }
\ No newline at end of file
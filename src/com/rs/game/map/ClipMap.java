@@ -0,0 +1,89 @@
+package com.rs.game.map;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.rs.game.route.ChunkConnectivity;
+
+/**
+ * The clip flags of every loaded region, kept in a table indexed by region id so a
+ * lookup is two array reads and never allocates.
+ * <p>
+ * Every entry is the flat mask array of a {@link RegionMap}, published by its
+ * {@link Region} once the region finished loading and withdrawn when it unloads.
+ * Tiles of regions that aren't loaded read as fully clipped ({@code -1}), as they
+ * always did.
+ * @author Dennis
+ */
+public final class ClipMap {
+
+	/**
+	 * The amount of region ids, 256 regions along both axes.
+	 */
+	private static final int REGIONS = 1 << 16;
+
+	/**
+	 * The highest coordinate along either axis, exclusive.
+	 */
+	private static final int MAX_COORDINATE = 256 << 6;
+
+	private static final AtomicReferenceArray<int[]> MASKS = new AtomicReferenceArray<>(REGIONS);
+	private static final AtomicReferenceArray<int[]> CLIPED_ONLY_MASKS = new AtomicReferenceArray<>(REGIONS);
+
+	/**
+	 * Gets the clip flags of a tile.
+	 * @return the flags, or {@code -1} if its region isn't loaded.
+	 */
+	public static int getMask(int plane, int x, int y) {
+		return getMask(MASKS, plane, x, y);
+	}
+
+	/**
+	 * Gets the projectile clip flags of a tile.
+	 * @return the flags, or {@code -1} if its region isn't loaded.
+	 */
+	public static int getClipedOnlyMask(int plane, int x, int y) {
+		return getMask(CLIPED_ONLY_MASKS, plane, x, y);
+	}
+
+	/**
+	 * Gets the flat mask array of a loaded region, indexed by {@link RegionMap#index(int, int, int)}.
+	 * @return the masks, or {@code null} if the region isn't loaded.
+	 */
+	public static int[] getMasks(int regionId) {
+		return regionId < 0 || regionId >= REGIONS ? null : MASKS.get(regionId);
+	}
+
+	/**
+	 * Publishes the masks of a region if it is loaded, or withdraws them if it isn't.
+	 * Regions no longer in the {@link RegionDirectory} are ignored.
+	 */
+	static void update(Region region) {
+		int regionId = region.getRegionId();
+		if (regionId < 0 || regionId >= REGIONS)
+			return;
+		if (World.getRegions().get(regionId) != region)
+			return;
+		boolean loaded = region.getLoadMapStage() == 2;
+		MASKS.set(regionId, loaded && region.getMap() != null ? region.getMap().getMasks() : null);
+		CLIPED_ONLY_MASKS.set(regionId, loaded && region.getClipedOnlyMap() != null ? region.getClipedOnlyMap().getMasks() : null);
+		ChunkConnectivity.invalidate(regionId);
+	}
+
+	/**
+	 * Withdraws the masks of a region that was removed.
+	 */
+	static void clear(int regionId) {
+		if (regionId < 0 || regionId >= REGIONS)
+			return;
+		MASKS.set(regionId, null);
+		CLIPED_ONLY_MASKS.set(regionId, null);
+		ChunkConnectivity.invalidate(regionId);
+	}
+
+	private static int getMask(AtomicReferenceArray<int[]> table, int plane, int x, int y) {
+		if (x < 0 || y < 0 || x >= MAX_COORDINATE || y >= MAX_COORDINATE)
+			return -1;
+		int[] masks = table.get((x >> 6) << 8 | y >> 6);
+		return masks == null ? -1 : masks[RegionMap.index(plane, x & 0x3F, y & 0x3F)];
+	}
+}
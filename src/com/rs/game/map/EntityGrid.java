@@ -0,0 +1,197 @@
+package com.rs.game.map;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.rs.game.Entity;
+import com.rs.game.npc.NPC;
+import com.rs.game.player.Player;
+
+/**
+ * The players and npcs of the world bucketed by the 8x8 chunk they stand in, for
+ * finding the entities within a few tiles of a tile without walking whole regions.
+ * <p>
+ * Every bucket is a plain array of entity indexes. An entity remembers its bucket and
+ * slot, so moving it between chunks is two constant time array writes. Buckets are
+ * kept in a table indexed by region id, holding the 64 chunks of every plane of a
+ * region. Moves are serialized by a lock, queries read the buckets without one.
+ * <p>
+ * Entities are bucketed by their south-west tile. Queries look far enough south-west
+ * to find the largest entity ever bucketed reaching into range.
+ * @author Dennis
+ */
+public final class EntityGrid {
+
+	/**
+	 * The amount of region ids, 256 regions along both axes.
+	 */
+	private static final int REGIONS = 1 << 16;
+
+	/**
+	 * The highest coordinate along either axis, exclusive.
+	 */
+	private static final int MAX_COORDINATE = 256 << 6;
+
+	/**
+	 * The key of entities that aren't bucketed, the default of a new or deserialized entity.
+	 */
+	private static final int NONE = 0;
+
+	private static final AtomicReferenceArray<Bucket[]> PLAYERS = new AtomicReferenceArray<>(REGIONS);
+	private static final AtomicReferenceArray<Bucket[]> NPCS = new AtomicReferenceArray<>(REGIONS);
+
+	/**
+	 * The size of the largest entity ever bucketed.
+	 */
+	private static volatile int maxSize = 1;
+
+	/**
+	 * Moves an entity into the bucket of the chunk it stands in, or out of the grid if it is finished.
+	 * Called whenever the entity's region is updated.
+	 */
+	public static synchronized void update(Entity entity) {
+		int key = entity.isFinished() ? NONE : getKey(entity.getPlane(), entity.getX(), entity.getY());
+		int previous = entity.getGridKey();
+		if (previous == key)
+			return;
+		AtomicReferenceArray<Bucket[]> table = entity.isPlayer() ? PLAYERS : NPCS;
+		if (previous != NONE)
+			getBucket(table, previous).remove(entity);
+		entity.setGridKey(key);
+		if (key == NONE)
+			return;
+		int size = entity.getSize();
+		if (size > maxSize)
+			maxSize = size;
+		getBucket(table, key).add(entity);
+	}
+
+	/**
+	 * Performs an action for every player within a distance of a tile, on its plane.
+	 */
+	public static void forEachPlayer(WorldTile tile, int distance, Consumer<Player> action) {
+		findPlayer(tile, distance, player -> {
+			action.accept(player);
+			return false;
+		});
+	}
+
+	/**
+	 * Performs an action for every npc partly within a distance of a tile, on its plane.
+	 */
+	public static void forEachNPC(WorldTile tile, int distance, Consumer<NPC> action) {
+		findNPC(tile, distance, npc -> {
+			action.accept(npc);
+			return false;
+		});
+	}
+
+	/**
+	 * Finds the first player within a distance of a tile matching a filter, stopping there.
+	 * @return the player, or {@code null} if none matched.
+	 */
+	public static Player findPlayer(WorldTile tile, int distance, Predicate<Player> filter) {
+		return (Player) find(PLAYERS, tile.getPlane(), tile.getX(), tile.getY(), distance, filter);
+	}
+
+	/**
+	 * Finds the first npc partly within a distance of a tile matching a filter, stopping there.
+	 * @return the npc, or {@code null} if none matched.
+	 */
+	public static NPC findNPC(WorldTile tile, int distance, Predicate<NPC> filter) {
+		return (NPC) find(NPCS, tile.getPlane(), tile.getX(), tile.getY(), distance, filter);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Entity> Entity find(AtomicReferenceArray<Bucket[]> table, int plane, int x, int y, int distance,
+			Predicate<T> filter) {
+		int reach = maxSize - 1;
+		int minX = Math.max(0, x - distance - reach), minY = Math.max(0, y - distance - reach);
+		int maxX = Math.min(MAX_COORDINATE - 1, x + distance), maxY = Math.min(MAX_COORDINATE - 1, y + distance);
+		boolean players = table == PLAYERS;
+		for (int chunkX = minX >> 3; chunkX <= maxX >> 3; chunkX++) {
+			for (int chunkY = minY >> 3; chunkY <= maxY >> 3; chunkY++) {
+				Bucket[] buckets = table.get((chunkX >> 3) << 8 | chunkY >> 3);
+				if (buckets == null)
+					continue;
+				Bucket bucket = buckets[plane << 6 | (chunkX & 0x7) << 3 | chunkY & 0x7];
+				if (bucket == null)
+					continue;
+				int[] indexes = bucket.indexes;
+				int count = Math.min(bucket.size, indexes.length);
+				for (int slot = 0; slot < count; slot++) {
+					Entity entity = players ? World.getPlayers().get(indexes[slot]) : World.getNPCs().get(indexes[slot]);
+					if (entity == null || entity.isFinished() || entity.getPlane() != plane)
+						continue;
+					int size = entity.getSize();
+					if (entity.getX() > x + distance || entity.getX() + size - 1 < x - distance || entity.getY() > y + distance
+							|| entity.getY() + size - 1 < y - distance)
+						continue;
+					if (filter.test((T) entity))
+						return entity;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static int getKey(int plane, int x, int y) {
+		if (x < 0 || y < 0 || x >= MAX_COORDINATE || y >= MAX_COORDINATE || plane < 0 || plane > 3)
+			return NONE;
+		return (((x >> 6) << 8 | y >> 6) << 8 | plane << 6 | (x >> 3 & 0x7) << 3 | y >> 3 & 0x7) + 1;
+	}
+
+	private static Bucket getBucket(AtomicReferenceArray<Bucket[]> table, int key) {
+		key--;
+		int regionId = key >>> 8;
+		Bucket[] buckets = table.get(regionId);
+		if (buckets == null) {
+			buckets = new Bucket[4 << 6];
+			table.set(regionId, buckets);
+		}
+		Bucket bucket = buckets[key & 0xFF];
+		if (bucket == null)
+			bucket = buckets[key & 0xFF] = new Bucket();
+		return bucket;
+	}
+
+	/**
+	 * The indexes of the entities in a single chunk.
+	 */
+	private static final class Bucket {
+
+		private int[] indexes = new int[4];
+		private volatile int size;
+
+		private void add(Entity entity) {
+			if (size == indexes.length) {
+				int[] grown = new int[size << 1];
+				System.arraycopy(indexes, 0, grown, 0, size);
+				indexes = grown;
+			}
+			indexes[size] = entity.getIndex();
+			entity.setGridSlot(size);
+			size++;
+		}
+
+		private void remove(Entity entity) {
+			int slot = entity.getGridSlot();
+			if (slot >= size || indexes[slot] != entity.getIndex()) {
+				// the slot went stale, such as after the entity was given another index
+				for (slot = size - 1; slot >= 0 && indexes[slot] != entity.getIndex(); slot--)
+					;
+				if (slot < 0)
+					return;
+			}
+			int last = --size;
+			if (slot == last)
+				return;
+			int moved = indexes[last];
+			indexes[slot] = moved;
+			Entity other = entity.isPlayer() ? World.getPlayers().get(moved) : World.getNPCs().get(moved);
+			if (other != null)
+				other.setGridSlot(slot);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.rs.game.map;
+
+import com.google.common.util.concurrent.AbstractScheduledService.CustomScheduler;
+import com.rs.GameConstants;
+import com.rs.utilities.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fixed-rate clock driving the {@link World} tick.
+ * <p>
+ * Every tick is scheduled against its own deadline, {@code start + tick * cycle},
+ * rather than a delay after the previous tick finished, so a slow tick no longer
+ * pushes every later tick back. When the world falls behind, ticks run back to back
+ * until the clock caught up, for at most {@link #MAX_CATCH_UP_TICKS} ticks; anything
+ * further behind is skipped and the clock is rebased on the current time.
+ * @author Dennis
+ */
+public final class GameClock extends CustomScheduler {
+
+	/**
+	 * The most ticks the clock is allowed to run late by before skipping them.
+	 */
+	public static final int MAX_CATCH_UP_TICKS = 5;
+
+	/**
+	 * The amount of ticks started since the server started.
+	 */
+	private static volatile long tick;
+
+	/**
+	 * The deadline of the tick that is scheduled next, {@code 0} before the first.
+	 */
+	private static volatile long deadline;
+
+	/**
+	 * The amount of ticks skipped because the world was too far behind.
+	 */
+	private static volatile long skippedTicks;
+
+	/**
+	 * How late every tick started past its deadline, written on the world thread only.
+	 */
+	private static final LatencyHistogram SKEW_TIMES = new LatencyHistogram();
+
+	@Override
+	protected Schedule getNextSchedule() {
+		long now = System.nanoTime();
+		long next = deadline == 0 ? now + GameConstants.WORLD_CYCLE_NS : deadline + GameConstants.WORLD_CYCLE_NS;
+		long behind = now - next;
+		if (behind > MAX_CATCH_UP_TICKS * GameConstants.WORLD_CYCLE_NS) {
+			skippedTicks += behind / GameConstants.WORLD_CYCLE_NS;
+			next = now;
+		}
+		deadline = next;
+		return new Schedule(Math.max(0, next - now), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Marks the start of a new tick, must be called first thing by the world tick.
+	 */
+	static void onTick() {
+		tick++;
+		SKEW_TIMES.record(System.nanoTime() - deadline);
+	}
+
+	/**
+	 * Gets the current tick, which increases by one every world cycle and never skips
+	 * backwards.
+	 * @return the current tick.
+	 */
+	public static long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Gets the amount of ticks skipped since start-up because the world fell behind
+	 * more than {@link #MAX_CATCH_UP_TICKS}.
+	 * @return the skipped tick count.
+	 */
+	public static long getSkippedTicks() {
+		return skippedTicks;
+	}
+
+	/**
+	 * Gets how late every tick started past its deadline.
+	 * @return the skew histogram, in nanoseconds.
+	 */
+	public static LatencyHistogram getSkewTimes() {
+		return SKEW_TIMES;
+	}
+}
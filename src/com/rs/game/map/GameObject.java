@@ -8,7 +8,6 @@ import com.rs.game.item.Item;
 import com.rs.game.player.Player;
 import com.rs.net.encoders.other.Animation;
 
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
@@ -143,18 +142,11 @@ public class GameObject extends WorldTile {
 		if (creator == null) {
 			World.players().filter(p -> p.withinDistance(object)).forEach(player -> player.getPackets().sendObjectAnimation(object, animation));
 		} else {
-			for (int regionId : creator.getMapRegionsIds()) {
-				ObjectArrayList<Short> playersIndexes = World.getRegion(regionId).getPlayersIndexes();
-				if (playersIndexes == null)
-					continue;
-				for (Short playerIndex : playersIndexes) {
-					Player player = World.getPlayers().get(playerIndex);
-					if (player == null || !player.isStarted() || player.isFinished()
-							|| !player.withinDistance(object))
-						continue;
-					player.getPackets().sendObjectAnimation(object, animation);
-				}
-			}
+			EntityGrid.forEachPlayer(object, 14, player -> {
+				if (!player.isStarted())
+					return;
+				player.getPackets().sendObjectAnimation(object, animation);
+			});
 		}
 	}
 }
\ No newline at end of file
@@ -307,15 +307,16 @@ public final class MapBuilder {
 	public static void destroyRegion(int regionId) {
 		Region region = World.getRegions().get(regionId);
 		if (region != null) {
-			List<Short> playerIndexes = region.getPlayersIndexes();
-			List<Short> npcIndexes = region.getNpcsIndexes();
+			OccupantList playerIndexes = region.getPlayersIndexes();
+			OccupantList npcIndexes = region.getNpcsIndexes();
 			if (region.getGroundItems() != null)
 				region.getGroundItems().clear();
 			region.getSpawnedObjects().clear();
 			region.getRemovedOriginalObjects().clear();
 			if (npcIndexes != null) {
-				for (int npcIndex : npcIndexes) {
-					NPC npc = World.getNPCs().get(npcIndex);
+				// from the end, as deregistering moves the last npc into the freed slot
+				for (int slot = npcIndexes.size() - 1; slot >= 0; slot--) {
+					NPC npc = World.getNPCs().get(npcIndexes.get(slot));
 					if (npc == null)
 						continue;
 					if (npc instanceof Familiar || npc instanceof Pet) {
@@ -330,8 +331,8 @@ public final class MapBuilder {
 			World.getRegions().remove(regionId);
 
 			if (playerIndexes != null) {
-				for (int playerIndex : playerIndexes) {
-					Player player = World.getPlayers().get(playerIndex);
+				for (int slot = 0; slot < playerIndexes.size(); slot++) {
+					Player player = World.getPlayers().get(playerIndexes.get(slot));
 					if (player == null || !player.isStarted() || player.isFinished())
 						continue;
 					player.getDetails().setForceNextMapLoadRefresh(true);
@@ -0,0 +1,135 @@
+package com.rs.game.map;
+
+import com.rs.GameConstants;
+import com.rs.game.npc.NPC;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+/**
+ * Puts npcs no player can see to sleep, so they are skipped by every phase of the
+ * {@link World} tick.
+ * <p>
+ * A region is watched while it is one of the map regions of any player. An npc falls
+ * asleep once its region is unwatched and it has nothing left to finish: no walk
+ * steps, force walk, combat target or pending hits, and it isn't dead. Tasks such as
+ * respawns keep running as always. A sleeping npc wakes as soon as a player watches
+ * its region again, before the npcs are processed in that tick.
+ * <p>
+ * The awake and sleeping npcs are logged once a minute.
+ * @author Dennis
+ */
+public final class NPCDormancy {
+
+	/**
+	 * The amount of region ids, 256 regions along both axes.
+	 */
+	private static final int REGIONS = 1 << 16;
+
+	/**
+	 * The amount of ticks between every logged summary.
+	 */
+	private static final int SUMMARY_INTERVAL = 100;
+
+	/**
+	 * The last tick every region was watched in.
+	 */
+	private static final int[] watched = new int[REGIONS];
+
+	/**
+	 * The current tick, starting past {@code 1} so no region counts as watched the tick before the first.
+	 */
+	private static int tick = 1;
+
+	private static int dormant;
+	private static int wakes;
+	private static int sleeps;
+
+	/**
+	 * Marks the regions watched this tick and wakes the npcs of those nobody watched the
+	 * tick before, called by the game thread before the npcs are processed.
+	 */
+	public static void update() {
+		tick++;
+		if (GameConstants.NPC_DORMANCY)
+			World.players().filter(player -> player.getMapRegionsIds() != null)
+					.forEach(player -> player.getMapRegionsIds().forEach(NPCDormancy::watch));
+		if (tick % SUMMARY_INTERVAL == 0)
+			logSummary();
+	}
+
+	/**
+	 * Checks if an npc is processed this tick, putting it to sleep if nobody watches it.
+	 * Only called by the game thread once a tick, when the npcs are processed.
+	 */
+	public static boolean process(NPC npc) {
+		if (npc.isDormant())
+			return false;
+		if (!GameConstants.NPC_DORMANCY || isWatched(npc.getRegionId()) || !isSettled(npc))
+			return true;
+		npc.setDormant(true);
+		dormant++;
+		sleeps++;
+		return false;
+	}
+
+	/**
+	 * Wakes an npc, as done when it is removed from the world or its region is watched again.
+	 */
+	public static void wake(NPC npc) {
+		if (!npc.isDormant())
+			return;
+		npc.setDormant(false);
+		// masks set while nobody watched were never sent
+		npc.resetMasks();
+		dormant--;
+		wakes++;
+	}
+
+	/**
+	 * Checks if an npc is awake, used by the phases after the npcs are processed.
+	 */
+	public static boolean isAwake(NPC npc) {
+		return !npc.isDormant();
+	}
+
+	public static int getDormant() {
+		return dormant;
+	}
+
+	private static void watch(int regionId) {
+		if (regionId < 0 || regionId >= REGIONS)
+			return;
+		int last = watched[regionId];
+		if (last == tick)
+			return;
+		watched[regionId] = tick;
+		if (last == tick - 1)
+			return;
+		Region region = World.getRegions().get(regionId);
+		OccupantList npcsIndexes = region == null ? null : region.getNpcsIndexes();
+		if (npcsIndexes == null)
+			return;
+		for (int slot = 0; slot < npcsIndexes.size(); slot++) {
+			NPC npc = World.getNPCs().get(npcsIndexes.get(slot));
+			if (npc != null)
+				wake(npc);
+		}
+	}
+
+	private static boolean isWatched(int regionId) {
+		return regionId < 0 || regionId >= REGIONS || watched[regionId] == tick;
+	}
+
+	private static boolean isSettled(NPC npc) {
+		return !npc.isDead() && !npc.hasWalkSteps() && !npc.isForceWalking() && npc.getNextWorldTile() == null
+				&& npc.getCombat().getTarget() == null && npc.getReceivedHits().isEmpty() && npc.getNextHits().isEmpty();
+	}
+
+	private static void logSummary() {
+		if (!GameConstants.NPC_DORMANCY)
+			return;
+		LogUtility.log(LogType.INFO, "NPCs: " + (World.getNPCs().size() - dormant) + " awake, " + dormant + " dormant, "
+				+ wakes + " woken, " + sleeps + " fell asleep");
+		wakes = sleeps = 0;
+	}
+}
@@ -0,0 +1,76 @@
+package com.rs.game.map;
+
+import java.util.function.IntConsumer;
+
+/**
+ * The indexes of the players or npcs standing in a region, packed at the front of a
+ * plain int array.
+ * <p>
+ * Every entity remembers the slot it was added at, so adding and removing are
+ * constant time; a removal moves the last index into the freed slot. Iterating
+ * never boxes.
+ * @author Dennis
+ */
+public final class OccupantList {
+
+	private int[] indexes = new int[4];
+	private int size;
+
+	/**
+	 * Adds an index.
+	 * @return the slot it was added at.
+	 */
+	int add(int index) {
+		if (size == indexes.length) {
+			int[] grown = new int[size << 1];
+			System.arraycopy(indexes, 0, grown, 0, size);
+			indexes = grown;
+		}
+		indexes[size] = index;
+		return size++;
+	}
+
+	/**
+	 * Removes an index.
+	 * @param slot the slot it was added at, searched for if no longer right.
+	 * @return the slot the last index was moved into, or {@code -1} if none was moved.
+	 */
+	int remove(int index, int slot) {
+		if (slot < 0 || slot >= size || indexes[slot] != index) {
+			for (slot = size - 1; slot >= 0 && indexes[slot] != index; slot--)
+				;
+			if (slot < 0)
+				return -1;
+		}
+		int last = --size;
+		if (slot == last)
+			return -1;
+		indexes[slot] = indexes[last];
+		return slot;
+	}
+
+	/**
+	 * Gets the index at a slot, from {@code 0} up to {@link #size()}.
+	 */
+	public int get(int slot) {
+		return indexes[slot];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Performs an action for every index. The action must not add or remove indexes.
+	 */
+	public void forEach(IntConsumer action) {
+		int[] indexes = this.indexes;
+		int count = Math.min(size, indexes.length);
+		for (int slot = 0; slot < count; slot++)
+			action.accept(indexes[slot]);
+	}
+}
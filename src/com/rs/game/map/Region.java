@@ -4,21 +4,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.rs.GameConstants;
-import com.rs.cache.Cache;
 import com.rs.cache.loaders.ClientScriptMap;
 import com.rs.cache.loaders.ObjectDefinitions;
-import com.rs.cores.CoresManager;
 import com.rs.game.item.FloorItem;
 import com.rs.game.npc.NPC;
 import com.rs.game.player.Player;
-import com.rs.io.InputStream;
+import com.rs.game.route.ChunkConnectivity;
 import com.rs.utilities.LogUtility;
 import com.rs.utilities.RandomUtils;
 import com.rs.utilities.LogUtility.LogType;
 import com.rs.utilities.json.GsonHandler;
 import com.rs.utilities.json.impl.NPCAutoSpawn;
 import com.rs.utilities.json.impl.ObjectSpawnLoader;
-import com.rs.utilities.loaders.MapArchiveKeys;
 import com.rs.utilities.loaders.NPCSpawning;
 
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -40,8 +37,8 @@ public class Region {
 	protected RegionMap map;
 	protected RegionMap clipedOnlyMap;
 
-	protected ObjectArrayList<Short> playersIndexes;
-	protected ObjectArrayList<Short> npcsIndexes;
+	protected OccupantList playersIndexes;
+	protected OccupantList npcsIndexes;
 	protected ObjectArrayList<GameObject> spawnedObjects;
 	protected ObjectArrayList<GameObject> removedOriginalObjects;
 	private ObjectArrayList<FloorItem> groundItems;
@@ -52,6 +49,16 @@ public class Region {
 	private int[] musicIds;
 	private boolean[][][] npcClipping;
 
+	/**
+	 * The time since the region is loaded but nobody is in or looking at it, or {@code 0}.
+	 */
+	private long idleSince;
+
+	/**
+	 * The bytes counted by the {@link RegionStreamer} when the map was loaded.
+	 */
+	private long loadedBytes;
+
 	public Region(int regionId) {
 		this.regionId = regionId;
 		this.spawnedObjects = new ObjectArrayList<GameObject>();
@@ -62,12 +69,10 @@ public class Region {
 	}
 
 	@SneakyThrows(Throwable.class)
-	public void checkLoadMap() {
+	public synchronized void checkLoadMap() {
 		if (getLoadMapStage() == 0) {
 			setLoadMapStage(1);
-			CoresManager.schedule(() -> {
-				loadRegionMap();
-				setLoadMapStage(2);
+			RegionStreamer.load(this, () -> {
 				if (!isLoadedObjectSpawns()) {
 					loadObjectSpawns();
 					setLoadedObjectSpawns(true);
@@ -76,7 +81,7 @@ public class Region {
 					loadNPCSpawns(regionId);
 					setLoadedNPCSpawns(true);
 				}
-			}, 1);
+			});
 		}
 	}
 
@@ -97,40 +102,81 @@ public class Region {
 	
 	/**
 	 * Unload's map from memory.
+	 * @return {@code true} if the map was unloaded.
 	 */
-	public void unloadMap() {
-		if (getLoadMapStage() == 2
-				&& (playersIndexes == null || playersIndexes.isEmpty())
-				&& (npcsIndexes == null || npcsIndexes.isEmpty())) {
+	public boolean unloadMap() {
+		if (getLoadMapStage() == 2 && isEmpty()) {
 			objects = null;
 			map = null;
+			clipedOnlyMap = null;
 			npcClipping = null;
 			setLoadMapStage(0);
+			return true;
 		}
+		return false;
+	}
+
+	/**
+	 * Checks if no player or npc is in this region.
+	 */
+	public boolean isEmpty() {
+		return (playersIndexes == null || playersIndexes.isEmpty())
+				&& (npcsIndexes == null || npcsIndexes.isEmpty());
+	}
+
+	/**
+	 * Gets the bytes held by the clip maps and object table of this region.
+	 */
+	public long getMapBytes() {
+		long bytes = 0;
+		if (map != null)
+			bytes += map.getMasks().length * 4L;
+		if (clipedOnlyMap != null)
+			bytes += clipedOnlyMap.getMasks().length * 4L;
+		if (objects != null)
+			bytes += 4 * 64 * 64 * 4 * 4L;
+		return bytes;
 	}
 
-	public RegionMap forceGetRegionMapClipedOnly() {
-		if (clipedOnlyMap == null)
+	public synchronized RegionMap forceGetRegionMapClipedOnly() {
+		if (clipedOnlyMap == null) {
 			clipedOnlyMap = new RegionMap(regionId, true);
+			ClipMap.update(this);
+		}
 		return clipedOnlyMap;
 	}
 
-	public RegionMap forceGetRegionMap() {
-		if (map == null)
+	public synchronized RegionMap forceGetRegionMap() {
+		if (map == null) {
 			map = new RegionMap(regionId, false);
+			ClipMap.update(this);
+		}
 		return map;
 	}
+
+	/**
+	 * Sets the load stage of the map, publishing or withdrawing its masks in the {@link ClipMap}.
+	 */
+	public void setLoadMapStage(int loadMapStage) {
+		int previous = this.loadMapStage;
+		this.loadMapStage = loadMapStage;
+		ClipMap.update(this);
+		if (loadMapStage == 2 && previous != 2)
+			loadedBytes = RegionStreamer.onLoaded(this);
+		else if (previous == 2 && loadMapStage != 2)
+			RegionStreamer.onUnloaded(loadedBytes);
+	}
 	
 	public int getMask(int plane, int localX, int localY) {
 		if (map == null || getLoadMapStage() != 2)
 			return -1; // cliped tile
-		return map.getMasks()[plane][localX][localY];
+		return map.getMask(plane, localX, localY);
 	}
 
 	public int getMaskClipedOnly(int plane, int localX, int localY) {
 		if (clipedOnlyMap == null || getLoadMapStage() != 2)
 			return -1; // cliped tile
-		return clipedOnlyMap.getMasks()[plane][localX][localY];
+		return clipedOnlyMap.getMask(plane, localX, localY);
 	}
 
 	public void setMask(int plane, int localX, int localY, int mask) {
@@ -138,29 +184,29 @@ public class Region {
 			return; // cliped tile
 
 		if (localX >= 64 || localY >= 64 || localX < 0 || localY < 0) {
-			WorldTile tile = new WorldTile(map.getRegionX() + localX,
-					map.getRegionY() + localY, plane);
-			int regionId = tile.getRegionId();
-			int newRegionX = (regionId >> 8) * 64;
-			int newRegionY = (regionId & 0xff) * 64;
-			World.getRegion(tile.getRegionId()).setMask(plane,
-					tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
+			int x = map.getRegionX() + localX, y = map.getRegionY() + localY;
+			World.getRegion((x >> 6) << 8 | y >> 6).setMask(plane, x & 0x3F, y & 0x3F, mask);
 			return;
 		}
 
 		map.setMask(plane, localX, localY, mask);
+		ChunkConnectivity.invalidate(plane, map.getRegionX() + localX, map.getRegionY() + localY, 1);
 	}
 
 	public void clip(GameObject object, int x, int y) {
-		if (map == null)
-			map = new RegionMap(regionId, false);
-		if (clipedOnlyMap == null)
-			clipedOnlyMap = new RegionMap(regionId, true);
+		forceGetRegionMap();
+		forceGetRegionMapClipedOnly();
+		clip(map, clipedOnlyMap, object, x, y);
+	}
+
+	/**
+	 * Adds the clipping of an object to a pair of maps.
+	 */
+	static void clip(RegionMap map, RegionMap clipedOnlyMap, GameObject object, int x, int y) {
 		int plane = object.getPlane();
 		int type = object.getType();
 		int rotation = object.getRotation();
-		if (x < 0 || y < 0 || x >= map.getMasks()[plane].length
-				|| y >= map.getMasks()[plane][x].length)
+		if (x < 0 || y < 0 || x >= 64 || y >= 64)
 			return;
 		ObjectDefinitions objectDefinition = ObjectDefinitions
 				.getObjectDefinitions(object.getId()); // load
@@ -208,23 +254,19 @@ public class Region {
 	}
 
 	public void unclip(int plane, int x, int y) {
-		if (map == null)
-			map = new RegionMap(regionId, false);
-		if (clipedOnlyMap == null)
-			clipedOnlyMap = new RegionMap(regionId, true);
+		forceGetRegionMap();
+		forceGetRegionMapClipedOnly();
 		map.setMask(plane, x, y, 0);
+		ChunkConnectivity.invalidate(plane, map.getRegionX() + x, map.getRegionY() + y, 1);
 	}
 
 	public void unclip(GameObject object, int x, int y) {
-		if (map == null)
-			map = new RegionMap(regionId, false);
-		if (clipedOnlyMap == null)
-			clipedOnlyMap = new RegionMap(regionId, true);
+		forceGetRegionMap();
+		forceGetRegionMapClipedOnly();
 		int plane = object.getPlane();
 		int type = object.getType();
 		int rotation = object.getRotation();
-		if (x < 0 || y < 0 || x >= map.getMasks()[plane].length
-				|| y >= map.getMasks()[plane][x].length)
+		if (x < 0 || y < 0 || x >= 64 || y >= 64)
 			return;
 		ObjectDefinitions objectDefinition = ObjectDefinitions
 				.getObjectDefinitions(object.getId()); // load
@@ -270,6 +312,7 @@ public class Region {
 		if (original) {
 			objects[plane][localX][localY][slot] = object;
 			clip(object, localX, localY);
+			invalidateConnectivity(object);
 		} else {
 			GameObject spawned = getSpawnedObjectWithSlot(plane, localX,
 					localY, slot);
@@ -302,6 +345,7 @@ public class Region {
 			}
 			// clips spawned object(either original or non original)
 			clip(object, localX, localY);
+			invalidateConnectivity(object);
 			for (Player p2 : World.getPlayers()) {
 				if (p2 == null || !p2.isStarted() || p2.isFinished()
 						|| !p2.getMapRegionsIds().contains(regionId))
@@ -311,6 +355,15 @@ public class Region {
 		}
 	}
 
+	/**
+	 * Forgets the walkable areas around an object after it changed the clipping there.
+	 */
+	private void invalidateConnectivity(GameObject object) {
+		ObjectDefinitions definitions = ObjectDefinitions.getObjectDefinitions(object.getId());
+		ChunkConnectivity.invalidate(object.getPlane(), object.getX(), object.getY(),
+				Math.max(definitions.getSizeX(), definitions.getSizeY()));
+	}
+
 	public void removeObject(GameObject object, int plane, int localX,
 			int localY) {
 		if (objects == null)
@@ -347,6 +400,7 @@ public class Region {
 						"Requested object to remove wasnt found.(Shouldnt happen)");
 			return;
 		}
+		invalidateConnectivity(object);
 		for (Player p2 : World.getPlayers()) {
 			if (p2 == null || !p2.isStarted() || p2.isFinished()
 					|| !p2.getMapRegionsIds().contains(regionId))
@@ -436,6 +490,28 @@ public class Region {
 		return list;
 	}
 
+	/**
+	 * Gets the objects in this region as players see them, leaving out original objects
+	 * that are removed or replaced by spawned ones.
+	 */
+	List<GameObject> getCurrentObjects() {
+		List<GameObject> list = new ArrayList<GameObject>();
+		GameObject[][][][] objects = this.objects;
+		if (objects != null) {
+			for (int z = 0; z < 4; z++)
+				for (int x = 0; x < 64; x++)
+					for (int y = 0; y < 64; y++)
+						for (int slot = 0; slot < 4; slot++) {
+							GameObject object = objects[z][x][y][slot];
+							if (object != null && getObjectWithSlot(z, x, y, slot) == object)
+								list.add(object);
+						}
+		}
+		for (GameObject object : spawnedObjects.toArray(new GameObject[0]))
+			list.add(object);
+		return list;
+	}
+
 	public boolean containsObjectWithId(int plane, int x, int y, int id) {
 		GameObject object = getObjectWithId(plane, x, y, id);
 		return object != null && object.getId() == id;
@@ -485,109 +561,17 @@ public class Region {
 	}
 
 	public void loadRegionMap() {
-		int regionX = (regionId >> 8) * 64;
-		int regionY = (regionId & 0xff) * 64;
-		int landArchiveId = Cache.STORE.getIndexes()[5].getArchiveId("l"
-				+ ((regionX >> 3) / 8) + "_" + ((regionY >> 3) / 8));
-
-		byte[] landContainerData = landArchiveId == -1 ? null : Cache.STORE
-				.getIndexes()[5].getFile(landArchiveId, 0,
-				MapArchiveKeys.getMapKeys(regionId));
-
-		int mapArchiveId = Cache.STORE.getIndexes()[5].getArchiveId("m"
-				+ ((regionX >> 3) / 8) + "_" + ((regionY >> 3) / 8));
-
-		byte[] mapContainerData = mapArchiveId == -1 ? null : Cache.STORE
-				.getIndexes()[5].getFile(mapArchiveId, 0);
-
-		byte[][][] mapSettings = mapContainerData == null ? null
-				: new byte[4][64][64];
-		
-		
-		if (mapContainerData != null) {
-			InputStream mapStream = new InputStream(mapContainerData);
-			for (int plane = 0; plane < 4; plane++) {
-				for (int x = 0; x < 64; x++) {
-					for (int y = 0; y < 64; y++) {
-						while (true) {
-							int value = mapStream.readUnsignedByte();
-							if (value == 0) {
-								break;
-							} else if (value == 1) {
-								mapStream.readByte();
-								break;
-							} else if (value <= 49) {
-								mapStream.readByte();
-
-							} else if (value <= 81) {
-								mapSettings[plane][x][y] = (byte) (value - 49);
-							}
-						}
-					}
-				}
-			}
-			for (int plane = 0; plane < 4; plane++) {
-				for (int x = 0; x < 64; x++) {
-					for (int y = 0; y < 64; y++) {
-						if ((mapSettings[plane][x][y] & 0x1) == 1) {
-							int realPlane = plane;
-							if ((mapSettings[1][x][y] & 2) == 2)
-								realPlane--;
-							if (realPlane >= 0)
-								forceGetRegionMap().addUnwalkable(realPlane, x,
-										y);
-						}
-					}
-				}
-			}
-		} else {
-			for (int plane = 0; plane < 4; plane++) {
-				for (int x = 0; x < 64; x++) {
-					for (int y = 0; y < 64; y++) {
-						forceGetRegionMap().addUnwalkable(plane, x, y);
-					}
-				}
-			}
-		}
-		if (landContainerData != null) {
-			InputStream landStream = new InputStream(landContainerData);
-			int objectId = -1;
-			int incr;
-			while ((incr = landStream.readSmart2()) != 0) {
-				objectId += incr;
-				int location = 0;
-				int incr2;
-				while ((incr2 = landStream.readUnsignedSmart()) != 0) {
-					location += incr2 - 1;
-					int localX = (location >> 6 & 0x3f);
-					int localY = (location & 0x3f);
-					int plane = location >> 12;
-					int objectData = landStream.readUnsignedByte();
-					int type = objectData >> 2;
-					int rotation = objectData & 0x3;
-					if (localX < 0 || localX >= 64 || localY < 0
-							|| localY >= 64)
-						continue;
-					int objectPlane = plane;
-					if (mapSettings != null
-							&& (mapSettings[1][localX][localY] & 2) == 2)
-						objectPlane--;
-					if (objectPlane < 0 || objectPlane >= 4 || plane < 0
-							|| plane >= 4)
-						continue;
-					
-					spawnObject(new GameObject(objectId, type, rotation,
-							localX + regionX, localY + regionY, objectPlane),
-							objectPlane, localX, localY, true);
-				}
-			}
-		}
-		if (GameConstants.DEBUG && landContainerData == null && landArchiveId != -1
-				&& MapArchiveKeys.getMapKeys(regionId) != null)
-			LogUtility.log(LogType.ERROR, "Missing xteas for region " + regionId + ".");
+		RegionCompiler.load(this);
 	}
 
-
+	/**
+	 * Places an object of the region's map, whose clipping was already added.
+	 */
+	void placeOriginalObject(GameObject object, int plane, int localX, int localY) {
+		if (objects == null)
+			objects = new GameObject[4][64][64][4];
+		objects[plane][localX][localY][OBJECT_SLOTS[object.getType()]] = object;
+	}
 
 	public int getRotation(int plane, int x, int y) {
 		return 0;
@@ -636,30 +620,40 @@ public class Region {
 		return playersIndexes == null ? 0 : playersIndexes.size();
 	}
 
-	public void addPlayerIndex(Short index) {
+	public void addPlayerIndex(Player player) {
 		// creates list if doesnt exist
 		if (playersIndexes == null)
-			playersIndexes = new ObjectArrayList<Short>();
-		playersIndexes.add(index);
+			playersIndexes = new OccupantList();
+		player.setRegionSlot(playersIndexes.add(player.getIndex()));
 	}
 
-	public void addNPCIndex(Short index) {
+	public void addNPCIndex(NPC npc) {
 		// creates list if doesnt exist
 		if (npcsIndexes == null)
-			npcsIndexes = new ObjectArrayList<Short>();
-		npcsIndexes.add(index);
+			npcsIndexes = new OccupantList();
+		npc.setRegionSlot(npcsIndexes.add(npc.getIndex()));
 	}
 
-	public void removePlayerIndex(Short index) {
+	public void removePlayerIndex(Player player) {
 		if (playersIndexes == null) // removed region example cons or dung
 			return;
-		playersIndexes.remove(index);
+		int slot = playersIndexes.remove(player.getIndex(), player.getRegionSlot());
+		if (slot == -1)
+			return;
+		Player moved = World.getPlayers().get(playersIndexes.get(slot));
+		if (moved != null)
+			moved.setRegionSlot(slot);
 	}
 
-	public boolean removeNPCIndex(Object index) {
+	public void removeNPCIndex(NPC npc) {
 		if (npcsIndexes == null) // removed region example cons or dung
-			return false;
-		return npcsIndexes.remove(index);
+			return;
+		int slot = npcsIndexes.remove(npc.getIndex(), npc.getRegionSlot());
+		if (slot == -1)
+			return;
+		NPC moved = World.getNPCs().get(npcsIndexes.get(slot));
+		if (moved != null)
+			moved.setRegionSlot(slot);
 	}
 
 	public void loadMusicIds() {
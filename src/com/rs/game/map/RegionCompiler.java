@@ -0,0 +1,435 @@
+package com.rs.game.map;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.alex.store.ArchiveReference;
+import com.alex.utils.Utils;
+import com.rs.GameConstants;
+import com.rs.cache.Cache;
+import com.rs.game.route.ChunkConnectivity;
+import com.rs.io.InputStream;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+import com.rs.utilities.loaders.MapArchiveKeys;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Compiles the map and land archives of a region into a file holding its clip masks
+ * and static object placements, so loading a region again skips the archive lookup,
+ * XTEA decryption, decompression, decoding and clip calculations.
+ * <p>
+ * Compiled regions are kept in {@link GameConstants#REGION_CACHE_PATH}, one file per
+ * region, and read through a memory mapping. Every file is stamped with the map and
+ * object definition index checksums and the region's XTEA keys; a file with another
+ * stamp is stale and compiled again the next time its region loads. All regions can
+ * be compiled up front on start-up with {@link #compileAll()}.
+ * @author Dennis
+ */
+public final class RegionCompiler {
+
+	private static final int MAGIC = 0x52474e31;
+	private static final int VERSION = 1;
+
+	/**
+	 * The size of a mask array, and the markers of a dense and a missing one in a file.
+	 */
+	private static final int MASKS = 4 << 12;
+	private static final int DENSE = -1;
+	private static final int MISSING = -2;
+
+	/**
+	 * The archive ids of index 5 by name hash, built on first use.
+	 */
+	private static volatile Int2IntOpenHashMap archiveIds;
+
+	/**
+	 * Loads the masks and objects of a region, compiling it if its file is missing or stale,
+	 * along with the clipping the objects of its loaded neighbours add to it.
+	 */
+	static void load(Region region) {
+		int regionId = region.getRegionId();
+		Compiled compiled = read(regionId);
+		if (compiled == null) {
+			compiled = compile(regionId);
+			write(regionId, compiled);
+		}
+		apply(region, compiled);
+		spillNeighbours(region);
+	}
+
+	/**
+	 * Compiles every region with a map or land archive that has no up to date file yet,
+	 * across all cores.
+	 */
+	public static void compileAll() {
+		long start = System.nanoTime();
+		AtomicInteger compiled = new AtomicInteger();
+		IntStream.range(0, 1 << 16).parallel().forEach(regionId -> {
+			if (getArchiveId('m', regionId) == -1 && getArchiveId('l', regionId) == -1)
+				return;
+			if (read(regionId) != null)
+				return;
+			write(regionId, compile(regionId));
+			compiled.incrementAndGet();
+		});
+		LogUtility.log(LogType.INFO, "Compiled " + compiled.get() + " regions in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+	}
+
+	/**
+	 * Decodes the archives of a region into detached maps.
+	 */
+	private static Compiled compile(int regionId) {
+		int regionX = (regionId >> 8) * 64;
+		int regionY = (regionId & 0xff) * 64;
+		Compiled compiled = new Compiled(stamp(regionId));
+		int landArchiveId = getArchiveId('l', regionId);
+		byte[] landContainerData = landArchiveId == -1 ? null
+				: Cache.STORE.getIndexes()[5].getFile(landArchiveId, 0, MapArchiveKeys.getMapKeys(regionId));
+		int mapArchiveId = getArchiveId('m', regionId);
+		byte[] mapContainerData = mapArchiveId == -1 ? null : Cache.STORE.getIndexes()[5].getFile(mapArchiveId, 0);
+		byte[][][] mapSettings = mapContainerData == null ? null : new byte[4][64][64];
+		RegionMap map = new RegionMap(regionId, compiled.spills);
+		RegionMap clipedOnlyMap = new RegionMap(regionId, compiled.clipedOnlySpills);
+		if (mapContainerData != null) {
+			InputStream mapStream = new InputStream(mapContainerData);
+			for (int plane = 0; plane < 4; plane++) {
+				for (int x = 0; x < 64; x++) {
+					for (int y = 0; y < 64; y++) {
+						while (true) {
+							int value = mapStream.readUnsignedByte();
+							if (value == 0) {
+								break;
+							} else if (value == 1) {
+								mapStream.readByte();
+								break;
+							} else if (value <= 49) {
+								mapStream.readByte();
+							} else if (value <= 81) {
+								mapSettings[plane][x][y] = (byte) (value - 49);
+							}
+						}
+					}
+				}
+			}
+			for (int plane = 0; plane < 4; plane++) {
+				for (int x = 0; x < 64; x++) {
+					for (int y = 0; y < 64; y++) {
+						if ((mapSettings[plane][x][y] & 0x1) == 1) {
+							int realPlane = plane;
+							if ((mapSettings[1][x][y] & 2) == 2)
+								realPlane--;
+							if (realPlane >= 0) {
+								map.addUnwalkable(realPlane, x, y);
+								compiled.hasMap = true;
+							}
+						}
+					}
+				}
+			}
+		} else {
+			for (int plane = 0; plane < 4; plane++)
+				for (int x = 0; x < 64; x++)
+					for (int y = 0; y < 64; y++)
+						map.addUnwalkable(plane, x, y);
+			compiled.hasMap = true;
+		}
+		if (landContainerData != null) {
+			InputStream landStream = new InputStream(landContainerData);
+			int objectId = -1;
+			int incr;
+			while ((incr = landStream.readSmart2()) != 0) {
+				objectId += incr;
+				int location = 0;
+				int incr2;
+				while ((incr2 = landStream.readUnsignedSmart()) != 0) {
+					location += incr2 - 1;
+					int localX = (location >> 6 & 0x3f);
+					int localY = (location & 0x3f);
+					int plane = location >> 12;
+					int objectData = landStream.readUnsignedByte();
+					int type = objectData >> 2;
+					int rotation = objectData & 0x3;
+					int objectPlane = plane;
+					if (mapSettings != null && (mapSettings[1][localX][localY] & 2) == 2)
+						objectPlane--;
+					if (objectPlane < 0 || objectPlane >= 4 || plane < 0 || plane >= 4)
+						continue;
+					Region.clip(map, clipedOnlyMap, new GameObject(objectId, type, rotation,
+							localX + regionX, localY + regionY, objectPlane), localX, localY);
+					compiled.hasMap = compiled.hasClipedOnlyMap = true;
+					compiled.objects.add(objectId);
+					compiled.objects.add(type << 2 | rotation);
+					compiled.objects.add(RegionMap.index(objectPlane, localX, localY));
+				}
+			}
+		}
+		if (GameConstants.DEBUG && landContainerData == null && landArchiveId != -1
+				&& MapArchiveKeys.getMapKeys(regionId) != null)
+			LogUtility.log(LogType.ERROR, "Missing xteas for region " + regionId + ".");
+		compiled.masks = compiled.hasMap ? map.getMasks() : null;
+		compiled.clipedOnlyMasks = compiled.hasClipedOnlyMap ? clipedOnlyMap.getMasks() : null;
+		return compiled;
+	}
+
+	/**
+	 * Adds the compiled masks and objects of a region to it and its neighbours.
+	 */
+	private static void apply(Region region, Compiled compiled) {
+		if (compiled.hasMap)
+			or(region.forceGetRegionMap().getMasks(), compiled.masks);
+		if (compiled.hasClipedOnlyMap)
+			or(region.forceGetRegionMapClipedOnly().getMasks(), compiled.clipedOnlyMasks);
+		spill(compiled.spills, false);
+		spill(compiled.clipedOnlySpills, true);
+		int regionX = (region.getRegionId() >> 8) * 64;
+		int regionY = (region.getRegionId() & 0xff) * 64;
+		int[] objects = compiled.objects.elements();
+		for (int index = 0; index < compiled.objects.size(); index += 3) {
+			int location = objects[index + 2];
+			int plane = location >> 12, localX = location >> 6 & 0x3f, localY = location & 0x3f;
+			region.placeOriginalObject(new GameObject(objects[index], objects[index + 1] >> 2, objects[index + 1] & 0x3,
+					localX + regionX, localY + regionY, plane), plane, localX, localY);
+		}
+	}
+
+	private static void or(int[] masks, int[] compiled) {
+		for (int index = 0; index < MASKS; index++)
+			masks[index] |= compiled[index];
+	}
+
+	/**
+	 * Adds the clipping the current objects of every loaded neighbour add to a region,
+	 * which the region lost if it was unloaded while the neighbour stayed loaded.
+	 */
+	private static void spillNeighbours(Region region) {
+		int regionId = region.getRegionId();
+		int regionX = regionId >> 8, regionY = regionId & 0xff;
+		for (int x = Math.max(0, regionX - 1); x <= Math.min(255, regionX + 1); x++) {
+			for (int y = Math.max(0, regionY - 1); y <= Math.min(255, regionY + 1); y++) {
+				int neighbourId = x << 8 | y;
+				Region neighbour = World.getRegions().get(neighbourId);
+				if (neighbourId == regionId || neighbour == null || neighbour.getLoadMapStage() != 2
+						|| neighbour instanceof DynamicRegion)
+					continue;
+				IntArrayList spills = new IntArrayList(), clipedOnlySpills = new IntArrayList();
+				RegionMap map = new RegionMap(neighbourId, spills);
+				RegionMap clipedOnlyMap = new RegionMap(neighbourId, clipedOnlySpills);
+				for (GameObject object : neighbour.getCurrentObjects())
+					Region.clip(map, clipedOnlyMap, object, object.getXInRegion(), object.getYInRegion());
+				spill(spills, false, regionId);
+				spill(clipedOnlySpills, true, regionId);
+			}
+		}
+	}
+
+	private static void spill(IntArrayList spills, boolean clipedOnly) {
+		spill(spills, clipedOnly, -1);
+	}
+
+	/**
+	 * Adds spilled masks to the regions they land in.
+	 * @param regionId the only region to add masks to, or {@code -1} for every region.
+	 */
+	private static void spill(IntArrayList spills, boolean clipedOnly, int regionId) {
+		int[] elements = spills.elements();
+		for (int index = 0; index < spills.size(); index += 4) {
+			int x = elements[index + 1], y = elements[index + 2];
+			if (regionId != -1 && ((x >> 6) << 8 | y >> 6) != regionId)
+				continue;
+			Region region = World.getRegion((x >> 6) << 8 | y >> 6);
+			if (clipedOnly) {
+				region.forceGetRegionMapClipedOnly().addMask(elements[index], x & 0x3F, y & 0x3F, elements[index + 3]);
+				continue;
+			}
+			region.forceGetRegionMap().addMask(elements[index], x & 0x3F, y & 0x3F, elements[index + 3]);
+			// the region holding the tile may be loaded already, with its areas found from before
+			ChunkConnectivity.invalidate(elements[index], x, y, 1);
+		}
+	}
+
+	/**
+	 * Reads the compiled file of a region.
+	 * @return the compiled region, or {@code null} if the file is missing, stale or corrupt.
+	 */
+	private static Compiled read(int regionId) {
+		Path path = getPath(regionId);
+		if (!Files.exists(path))
+			return null;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			IntBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+			if (buffer.get() != MAGIC || buffer.get() != VERSION)
+				return null;
+			int[] stamp = new int[3];
+			buffer.get(stamp);
+			if (!Arrays.equals(stamp, stamp(regionId)))
+				return null;
+			Compiled compiled = new Compiled(stamp);
+			compiled.masks = readMasks(buffer);
+			compiled.clipedOnlyMasks = readMasks(buffer);
+			compiled.hasMap = compiled.masks != null;
+			compiled.hasClipedOnlyMap = compiled.clipedOnlyMasks != null;
+			readInts(buffer, compiled.spills);
+			readInts(buffer, compiled.clipedOnlySpills);
+			readInts(buffer, compiled.objects);
+			return compiled;
+		} catch (IOException | RuntimeException e) {
+			LogUtility.log(LogType.WARN, "Failed to read compiled region " + regionId + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the compiled file of a region, replacing the old one in a single move.
+	 */
+	private static void write(int regionId, Compiled compiled) {
+		IntArrayList ints = new IntArrayList();
+		ints.add(MAGIC);
+		ints.add(VERSION);
+		ints.addElements(ints.size(), compiled.stamp);
+		writeMasks(ints, compiled.masks);
+		writeMasks(ints, compiled.clipedOnlyMasks);
+		writeInts(ints, compiled.spills);
+		writeInts(ints, compiled.clipedOnlySpills);
+		writeInts(ints, compiled.objects);
+		ByteBuffer buffer = ByteBuffer.allocate(ints.size() * 4);
+		buffer.asIntBuffer().put(ints.elements(), 0, ints.size());
+		Path path = getPath(regionId);
+		try {
+			Files.createDirectories(path.getParent());
+			Path temp = Files.createTempFile(path.getParent(), regionId + "-", ".tmp");
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+			}
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LogUtility.log(LogType.WARN, "Failed to write compiled region " + regionId + ": " + e);
+		}
+	}
+
+	/**
+	 * Reads a mask array, stored either dense or as {@code index, mask} pairs.
+	 */
+	private static int[] readMasks(IntBuffer buffer) {
+		int count = buffer.get();
+		if (count == MISSING)
+			return null;
+		int[] masks = new int[MASKS];
+		if (count == DENSE) {
+			buffer.get(masks);
+			return masks;
+		}
+		for (int pair = 0; pair < count; pair++) {
+			int index = buffer.get();
+			masks[index] = buffer.get();
+		}
+		return masks;
+	}
+
+	/**
+	 * Writes a mask array as {@code index, mask} pairs if less than half of it is set, dense otherwise.
+	 */
+	private static void writeMasks(IntArrayList ints, int[] masks) {
+		if (masks == null) {
+			ints.add(MISSING);
+			return;
+		}
+		int count = 0;
+		for (int mask : masks)
+			if (mask != 0)
+				count++;
+		if (count * 2 >= MASKS) {
+			ints.add(DENSE);
+			ints.addElements(ints.size(), masks);
+		} else {
+			ints.add(count);
+			for (int index = 0; index < MASKS; index++) {
+				if (masks[index] != 0) {
+					ints.add(index);
+					ints.add(masks[index]);
+				}
+			}
+		}
+	}
+
+	private static void readInts(IntBuffer buffer, IntArrayList ints) {
+		int[] values = new int[buffer.get()];
+		buffer.get(values);
+		ints.addElements(ints.size(), values);
+	}
+
+	private static void writeInts(IntArrayList ints, IntArrayList values) {
+		ints.add(values.size());
+		ints.addElements(ints.size(), values.elements(), 0, values.size());
+	}
+
+	/**
+	 * Gets the stamp a region's file must hold to be up to date.
+	 */
+	private static int[] stamp(int regionId) {
+		return new int[] { Cache.STORE.getIndexes()[5].getCRC(), Cache.STORE.getIndexes()[16].getCRC(),
+				Arrays.hashCode(MapArchiveKeys.getMapKeys(regionId)) };
+	}
+
+	/**
+	 * Gets the id of a region's map ({@code m}) or land ({@code l}) archive.
+	 * @return the archive id, or {@code -1} if the region has none.
+	 */
+	private static int getArchiveId(char type, int regionId) {
+		Int2IntOpenHashMap ids = archiveIds;
+		if (ids == null) {
+			synchronized (RegionCompiler.class) {
+				if ((ids = archiveIds) == null) {
+					ids = new Int2IntOpenHashMap();
+					ids.defaultReturnValue(-1);
+					ArchiveReference[] archives = Cache.STORE.getIndexes()[5].getTable().getArchives();
+					for (int archiveId : Cache.STORE.getIndexes()[5].getTable().getValidArchiveIds())
+						ids.putIfAbsent(archives[archiveId].getNameHash(), archiveId);
+					archiveIds = ids;
+				}
+			}
+		}
+		return ids.get(Utils.getNameHash(type + "" + (regionId >> 8) + "_" + (regionId & 0xff)));
+	}
+
+	private static Path getPath(int regionId) {
+		return Paths.get(GameConstants.REGION_CACHE_PATH, regionId + ".dat");
+	}
+
+	/**
+	 * The compiled masks and objects of a region.
+	 */
+	private static final class Compiled {
+
+		private final int[] stamp;
+		private boolean hasMap, hasClipedOnlyMap;
+		private int[] masks, clipedOnlyMasks;
+
+		/**
+		 * The masks added to other regions as {@code plane, x, y, mask}.
+		 */
+		private final IntArrayList spills = new IntArrayList(), clipedOnlySpills = new IntArrayList();
+
+		/**
+		 * The objects as {@code id, type << 2 | rotation, location}.
+		 */
+		private final IntArrayList objects = new IntArrayList();
+
+		private Compiled(int[] stamp) {
+			this.stamp = stamp;
+		}
+	}
+}
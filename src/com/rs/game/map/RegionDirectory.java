@@ -0,0 +1,92 @@
+package com.rs.game.map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * The regions of the world, kept in a fixed table of 256 by 256 slots indexed by
+ * region id.
+ * <p>
+ * Lookups are a single array read and never box the id. A missing region is created
+ * by the calling thread and published with a compare-and-set, so the game thread and
+ * the region loaders never see two regions for the same id; a thread losing the race
+ * drops its region and uses the published one. Ids outside the table, such as those
+ * of negative coordinates, are kept in a separate map.
+ * @author Dennis
+ */
+public final class RegionDirectory {
+
+	/**
+	 * The amount of region ids, 256 regions along both axes.
+	 */
+	private static final int REGIONS = 1 << 16;
+
+	private final AtomicReferenceArray<Region> regions = new AtomicReferenceArray<>(REGIONS);
+
+	/**
+	 * The regions outside the table.
+	 */
+	private final ConcurrentHashMap<Integer, Region> outOfRange = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets a region without creating it.
+	 * @return the region, or {@code null} if it was never created.
+	 */
+	public Region get(int regionId) {
+		return inRange(regionId) ? regions.get(regionId) : outOfRange.get(regionId);
+	}
+
+	/**
+	 * Gets a region, creating it on first use.
+	 */
+	public Region getOrCreate(int regionId) {
+		Region region = get(regionId);
+		if (region != null)
+			return region;
+		region = new Region(regionId);
+		if (!inRange(regionId)) {
+			Region previous = outOfRange.putIfAbsent(regionId, region);
+			return previous != null ? previous : region;
+		}
+		return regions.compareAndSet(regionId, null, region) ? region : regions.get(regionId);
+	}
+
+	/**
+	 * Replaces a region, as done when a dynamic region is built over it.
+	 */
+	public void put(int regionId, Region region) {
+		if (inRange(regionId))
+			regions.set(regionId, region);
+		else
+			outOfRange.put(regionId, region);
+		ClipMap.update(region);
+	}
+
+	/**
+	 * Removes a region, withdrawing its masks from the {@link ClipMap}.
+	 */
+	public void remove(int regionId) {
+		if (inRange(regionId))
+			regions.set(regionId, null);
+		else
+			outOfRange.remove(regionId);
+		ClipMap.clear(regionId);
+	}
+
+	/**
+	 * Performs an action for every created region.
+	 */
+	public void forEach(Consumer<Region> action) {
+		for (int regionId = 0; regionId < REGIONS; regionId++) {
+			Region region = regions.get(regionId);
+			if (region != null)
+				action.accept(region);
+		}
+		outOfRange.values().forEach(action);
+	}
+
+	private static boolean inRange(int regionId) {
+		return regionId >= 0 && regionId < REGIONS;
+	}
+}
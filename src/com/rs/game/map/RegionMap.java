@@ -1,5 +1,9 @@
 package com.rs.game.map;
 
+import com.rs.game.route.ChunkConnectivity;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
 /*
  * Author Alex(Also known as dragonkk)
  */
@@ -7,20 +11,49 @@ public class RegionMap {
 
     private int regionX;
     private int regionY;
-    private int masks[][][];
+    /**
+     * The masks of every tile, indexed by {@link #index(int, int, int)}.
+     */
+    private final int[] masks;
     private boolean clipedOnly;
 
+    /**
+     * The masks added to tiles of other regions as {@code plane, x, y, mask}, or
+     * {@code null} if they are added to those regions directly.
+     */
+    private IntArrayList spills;
+
     public RegionMap(int regionId, boolean clipedOnly) {
 	regionX = (regionId >> 8) * 64;
 	regionY = (regionId & 0xff) * 64;
-	masks = new int[4][64][64];
+	masks = new int[4 << 12];
 	this.clipedOnly = clipedOnly;
     }
 
-    public int[][][] getMasks() {
+    /**
+     * Creates a detached map, recording masks added to other regions in {@code spills}
+     * instead of adding them.
+     */
+    RegionMap(int regionId, IntArrayList spills) {
+	this(regionId, false);
+	this.spills = spills;
+    }
+
+    /**
+     * Gets the index of a tile in the flat mask array.
+     */
+    public static int index(int plane, int x, int y) {
+	return plane << 12 | x << 6 | y;
+    }
+
+    public int[] getMasks() {
 	return masks;
     }
 
+    public int getMask(int plane, int x, int y) {
+	return masks[index(plane, x, y)];
+    }
+
     public int getRegionX() {
 	return regionX;
     }
@@ -430,47 +463,53 @@ public class RegionMap {
 
     public void setMask(int plane, int x, int y, int mask) {
 	if (x >= 64 || y >= 64 || x < 0 || y < 0) {
-	    WorldTile tile = new WorldTile(regionX + x, regionY + y, plane);
-	    int regionId = tile.getRegionId();
-	    int newRegionX = (regionId >> 8) * 64;
-	    int newRegionY = (regionId & 0xff) * 64;
-	    if (clipedOnly)
-		World.getRegion(tile.getRegionId()).forceGetRegionMapClipedOnly().setMask(plane, tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
-	    else
-		World.getRegion(tile.getRegionId()).forceGetRegionMap().setMask(plane, tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
+	    getNeighbourMap(x, y).setMask(plane, (regionX + x) & 0x3F, (regionY + y) & 0x3F, mask);
+	    invalidateNeighbour(plane, x, y);
 	    return;
 	}
-	masks[plane][x][y] = mask;
+	masks[index(plane, x, y)] = mask;
     }
 
     public void addMask(int plane, int x, int y, int mask) {
 	if (x >= 64 || y >= 64 || x < 0 || y < 0) {
-	    WorldTile tile = new WorldTile(regionX + x, regionY + y, plane);
-	    int regionId = tile.getRegionId();
-	    int newRegionX = (regionId >> 8) * 64;
-	    int newRegionY = (regionId & 0xff) * 64;
-	    if (clipedOnly)
-		World.getRegion(tile.getRegionId()).forceGetRegionMapClipedOnly().addMask(plane, tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
-	    else
-		World.getRegion(tile.getRegionId()).forceGetRegionMap().addMask(plane, tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
+	    if (spills != null) {
+		spills.add(plane);
+		spills.add(regionX + x);
+		spills.add(regionY + y);
+		spills.add(mask);
+		return;
+	    }
+	    getNeighbourMap(x, y).addMask(plane, (regionX + x) & 0x3F, (regionY + y) & 0x3F, mask);
+	    invalidateNeighbour(plane, x, y);
 	    return;
 	}
-	masks[plane][x][y] = masks[plane][x][y] | mask;
+	masks[index(plane, x, y)] |= mask;
     }
 
     public void removeMask(int plane, int x, int y, int mask) {
 	if (x >= 64 || y >= 64 || x < 0 || y < 0) {
-	    WorldTile tile = new WorldTile(regionX + x, regionY + y, plane);
-	    int regionId = tile.getRegionId();
-	    int newRegionX = (regionId >> 8) * 64;
-	    int newRegionY = (regionId & 0xff) * 64;
-	    if (clipedOnly)
-		World.getRegion(tile.getRegionId()).forceGetRegionMapClipedOnly().removeMask(plane, tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
-	    else
-		World.getRegion(tile.getRegionId()).forceGetRegionMap().removeMask(plane, tile.getX() - newRegionX, tile.getY() - newRegionY, mask);
+	    getNeighbourMap(x, y).removeMask(plane, (regionX + x) & 0x3F, (regionY + y) & 0x3F, mask);
+	    invalidateNeighbour(plane, x, y);
 	    return;
 	}
-	masks[plane][x][y] &= (~mask);
+	masks[index(plane, x, y)] &= (~mask);
+    }
+
+    /**
+     * Forgets the walkable areas around a tile outside of this region after its walk
+     * clipping changed, as the region holding it isn't told.
+     */
+    private void invalidateNeighbour(int plane, int x, int y) {
+	if (!clipedOnly)
+	    ChunkConnectivity.invalidate(plane, regionX + x, regionY + y, 1);
+    }
+
+    /**
+     * Gets the map of the region holding a tile outside of this region.
+     */
+    private RegionMap getNeighbourMap(int x, int y) {
+	Region region = World.getRegion(((regionX + x) >> 6) << 8 | ((regionY + y) >> 6));
+	return clipedOnly ? region.forceGetRegionMapClipedOnly() : region.forceGetRegionMap();
     }
 
 }
@@ -0,0 +1,180 @@
+package com.rs.game.map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.rs.GameConstants;
+import com.rs.cores.CoresManager;
+import com.rs.game.Entity;
+import com.rs.utilities.LatencyHistogram;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+import com.rs.utilities.Utility;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+/**
+ * Streams region maps in and out of memory.
+ * <p>
+ * Maps are decoded on the {@link CoresManager#regionExecutor} as soon as a region is
+ * requested, and the regions ahead of every walking player are requested before the
+ * player's scene reaches them. Loaded regions nobody is in or looking at for
+ * {@link GameConstants#REGION_IDLE_UNLOAD_MS} are unloaded again by the game thread.
+ * <p>
+ * Loading a region only restores what its compiled map holds, so regions with spawned
+ * or removed objects are kept loaded. The clipping objects of loaded neighbours add to
+ * a region is added again when it loads, see {@link RegionCompiler#load}.
+ * <p>
+ * The loaded regions, the bytes their clip maps hold and the time from requesting a
+ * region to its map being usable are logged once a minute.
+ * @author Dennis
+ */
+public final class RegionStreamer {
+
+	/**
+	 * The time from requesting a region to its map being usable, in nanoseconds.
+	 */
+	private static final LatencyHistogram LOAD_TIMES = new LatencyHistogram();
+
+	private static final AtomicInteger loadedRegions = new AtomicInteger();
+	private static final AtomicLong loadedBytes = new AtomicLong();
+	private static final AtomicInteger preloads = new AtomicInteger();
+	private static int unloads;
+
+	/**
+	 * Decodes the map of a region on the region pool.
+	 * @param region the region, which must be in load stage {@code 1}.
+	 * @param task what to do once the map is usable, such as spawning the region's objects and npcs.
+	 */
+	static void load(Region region, Runnable task) {
+		long start = System.nanoTime();
+		CoresManager.regionExecutor.execute(() -> {
+			try {
+				region.loadRegionMap();
+				region.setLoadMapStage(2);
+				synchronized (LOAD_TIMES) {
+					LOAD_TIMES.record(System.nanoTime() - start);
+				}
+				task.run();
+			} catch (Throwable e) {
+				LogUtility.log(LogType.ERROR, "Failed to load region " + region.getRegionId() + ": " + e);
+				e.printStackTrace();
+			}
+		});
+	}
+
+	/**
+	 * Requests the regions just past the edge of a walking entity's scene in the
+	 * direction it is heading.
+	 * @param entity the entity.
+	 * @param direction the direction it last walked in.
+	 */
+	public static void preload(Entity entity, int direction) {
+		int deltaX = Utility.DIRECTION_DELTA_X[direction];
+		int deltaY = Utility.DIRECTION_DELTA_Y[direction];
+		int distance = (GameConstants.MAP_SIZES[entity.getMapSize()] >> 1) + GameConstants.REGION_PRELOAD_DISTANCE;
+		int x = entity.getX() + deltaX * distance;
+		int y = entity.getY() + deltaY * distance;
+		request(x, y);
+		// a diagonal heading may cross into either neighbouring region first
+		if (deltaX != 0 && deltaY != 0) {
+			request(x - deltaX * 64, y);
+			request(x, y - deltaY * 64);
+		} else {
+			request(x + deltaY * 64, y + deltaX * 64);
+			request(x - deltaY * 64, y - deltaX * 64);
+		}
+	}
+
+	/**
+	 * Unloads every loaded region that was idle for at least {@link GameConstants#REGION_IDLE_UNLOAD_MS},
+	 * only called by the game thread.
+	 */
+	public static void unloadIdleRegions() {
+		IntOpenHashSet viewed = new IntOpenHashSet();
+		World.players().filter(player -> player.getMapRegionsIds() != null).forEach(player -> viewed.addAll(player.getMapRegionsIds()));
+		long now = Utility.currentTimeMillis();
+		World.getRegions().forEach(region -> {
+			if (region.getLoadMapStage() != 2 || region instanceof DynamicRegion || isForceLoaded(region.getRegionId()))
+				return;
+			if (viewed.contains(region.getRegionId()) || !region.isEmpty()) {
+				region.setIdleSince(0);
+				return;
+			}
+			if (region.getIdleSince() == 0) {
+				region.setIdleSince(now);
+				return;
+			}
+			if (now - region.getIdleSince() < GameConstants.REGION_IDLE_UNLOAD_MS)
+				return;
+			if (!region.getSpawnedObjects().isEmpty() || !region.getRemovedOriginalObjects().isEmpty())
+				return;
+			if (region.unloadMap()) {
+				region.setIdleSince(0);
+				unloads++;
+			}
+		});
+		logSummary();
+	}
+
+	/**
+	 * Counts a region whose map became usable.
+	 * @return the bytes the region's map holds.
+	 */
+	static long onLoaded(Region region) {
+		long bytes = region.getMapBytes();
+		loadedRegions.incrementAndGet();
+		loadedBytes.addAndGet(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Counts a region whose map was unloaded.
+	 * @param bytes the bytes counted when it was loaded.
+	 */
+	static void onUnloaded(long bytes) {
+		loadedRegions.decrementAndGet();
+		loadedBytes.addAndGet(-bytes);
+	}
+
+	public static int getLoadedRegions() {
+		return loadedRegions.get();
+	}
+
+	public static long getLoadedBytes() {
+		return loadedBytes.get();
+	}
+
+	private static void request(int x, int y) {
+		if (x < 0 || y < 0)
+			return;
+		Region region = World.getRegion((x >> 6) << 8 | y >> 6);
+		if (region.getLoadMapStage() != 0)
+			return;
+		preloads.incrementAndGet();
+		region.checkLoadMap();
+	}
+
+	private static boolean isForceLoaded(int regionId) {
+		for (int forced : MapBuilder.FORCE_LOAD_REGIONS)
+			if (forced == regionId)
+				return true;
+		return false;
+	}
+
+	private static void logSummary() {
+		String times;
+		synchronized (LOAD_TIMES) {
+			times = "load p50=" + toMillis(LOAD_TIMES.getPercentile(50)) + " p99=" + toMillis(LOAD_TIMES.getPercentile(99))
+					+ " max=" + toMillis(LOAD_TIMES.getMax()) + " ms over " + LOAD_TIMES.getCount() + " loads";
+			LOAD_TIMES.reset();
+		}
+		LogUtility.log(LogType.INFO, "Regions: " + loadedRegions.get() + " loaded (" + loadedBytes.get() / 1024 + " kb), "
+				+ preloads.getAndSet(0) + " preloaded, " + unloads + " unloaded, " + times);
+		unloads = 0;
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format("%.2f", nanos / 1_000_000D);
+	}
+}
@@ -0,0 +1,260 @@
+package com.rs.game.map;
+
+import com.rs.GameConstants;
+import com.rs.game.Entity;
+import com.rs.game.player.Player;
+import com.rs.game.task.Task;
+import com.rs.utilities.LatencyHistogram;
+import com.rs.utilities.LogUtility;
+import com.rs.utilities.LogUtility.LogType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every phase of the {@link World} tick along with the slowest entities and
+ * tasks within it. Ticks exceeding {@link GameConstants#WORLD_CYCLE_NS} are logged
+ * as they happen and a summary of every phase is logged once a minute.
+ * <p>
+ * Recording is done on the world thread only and never allocates; strings are
+ * only built when something is logged or queried.
+ * @author Dennis
+ */
+public final class TickProfiler {
+
+	/**
+	 * The phases of a single world tick, in the order they run.
+	 */
+	public enum TickPhase {
+		TASK_SEQUENCE, ROUTE_SEARCH, PLAYER_PROCESS, NPC_PROCESS, ENTITY_UPDATE, UPDATE_ENCODING, MASK_RESET, SESSION_FLUSH
+	}
+
+	/**
+	 * The amount of slowest entities and tasks remembered per tick.
+	 */
+	public static final int SLOWEST_COUNT = 5;
+
+	/**
+	 * The amount of ticks between every logged summary.
+	 */
+	private static final int SUMMARY_INTERVAL = 100;
+
+	private static final TickPhase[] PHASES = TickPhase.values();
+
+	/**
+	 * The duration histogram of every phase, reset after every summary.
+	 */
+	private static final LatencyHistogram[] PHASE_TIMES = new LatencyHistogram[PHASES.length];
+
+	/**
+	 * The duration histogram of the whole tick, reset after every summary.
+	 */
+	private static final LatencyHistogram TICK_TIMES = new LatencyHistogram();
+
+	/**
+	 * The phase durations of the tick in progress.
+	 */
+	private static final long[] phaseNanos = new long[PHASES.length];
+
+	private static final SlowestList entities = new SlowestList();
+	private static final SlowestList tasks = new SlowestList();
+
+	/**
+	 * The slowest entities and tasks of the last completed tick.
+	 */
+	private static final SlowestList lastEntities = new SlowestList();
+	private static final SlowestList lastTasks = new SlowestList();
+
+	private static long tickStart;
+	private static long phaseStart;
+	private static long lastTickNanos;
+	private static long ticks;
+	private static long overruns;
+
+	/**
+	 * Whether the histograms are to be cleared at the end of the tick in progress.
+	 */
+	private static final AtomicBoolean resetRequested = new AtomicBoolean();
+
+	static {
+		for (int index = 0; index < PHASES.length; index++)
+			PHASE_TIMES[index] = new LatencyHistogram();
+	}
+
+	/**
+	 * Marks the start of a tick.
+	 */
+	public static void startTick() {
+		tickStart = phaseStart = System.nanoTime();
+		entities.clear();
+		tasks.clear();
+	}
+
+	/**
+	 * Marks the end of {@code phase}, which started when the previous one ended.
+	 * @param phase the phase that just completed.
+	 */
+	public static void endPhase(TickPhase phase) {
+		long now = System.nanoTime();
+		phaseNanos[phase.ordinal()] = now - phaseStart;
+		PHASE_TIMES[phase.ordinal()].record(now - phaseStart);
+		phaseStart = now;
+	}
+
+	/**
+	 * Marks the end of a tick, logging it if it ran over budget.
+	 */
+	public static void endTick() {
+		lastTickNanos = System.nanoTime() - tickStart;
+		TICK_TIMES.record(lastTickNanos);
+		lastEntities.copyOf(entities);
+		lastTasks.copyOf(tasks);
+		ticks++;
+		if (lastTickNanos > GameConstants.WORLD_CYCLE_NS) {
+			overruns++;
+			LogUtility.log(LogType.WARN, "Tick " + ticks + " took " + toMillis(lastTickNanos) + " ms " + describeLastTick());
+		}
+		boolean requested = resetRequested.getAndSet(false);
+		if (ticks % SUMMARY_INTERVAL == 0) {
+			getSummary().forEach(line -> LogUtility.log(LogType.INFO, line));
+			reset();
+		} else if (requested) {
+			reset();
+		}
+	}
+
+	/**
+	 * Records the time an entity took to process.
+	 */
+	public static void recordEntity(Entity entity, long nanos) {
+		entities.offer(entity, nanos);
+	}
+
+	/**
+	 * Records the time a task took to execute.
+	 */
+	public static void recordTask(Task task, long nanos) {
+		tasks.offer(task, nanos);
+	}
+
+	/**
+	 * Processes {@code entity}, recording how long it took.
+	 */
+	public static void processEntity(Entity entity) {
+		long start = System.nanoTime();
+		entity.processEntity();
+		recordEntity(entity, System.nanoTime() - start);
+	}
+
+	/**
+	 * Clears every histogram at the end of the tick in progress, safe to call from any thread.
+	 */
+	public static void requestReset() {
+		resetRequested.set(true);
+	}
+
+	/**
+	 * Clears every histogram, only called by the world thread as it records into them.
+	 */
+	private static void reset() {
+		TICK_TIMES.reset();
+		GameClock.getSkewTimes().reset();
+		for (LatencyHistogram histogram : PHASE_TIMES)
+			histogram.reset();
+	}
+
+	/**
+	 * Gets a readable summary of the ticks recorded since the last summary.
+	 * @return the summary, one line per phase.
+	 */
+	public static List<String> getSummary() {
+		List<String> lines = new ArrayList<>();
+		lines.add("Tick summary: " + ticks + " ticks, " + overruns + " overruns, "
+				+ describe(TICK_TIMES));
+		lines.add("Clock: tick " + GameClock.getTick() + ", " + GameClock.getSkippedTicks() + " skipped, skew "
+				+ describe(GameClock.getSkewTimes()));
+		for (int index = 0; index < PHASES.length; index++)
+			lines.add(PHASES[index].name() + ": " + describe(PHASE_TIMES[index]));
+		return lines;
+	}
+
+	/**
+	 * Gets a readable description of the last completed tick.
+	 * @return the description.
+	 */
+	public static String describeLastTick() {
+		StringBuilder builder = new StringBuilder("[");
+		for (int index = 0; index < PHASES.length; index++) {
+			if (index > 0)
+				builder.append(", ");
+			builder.append(PHASES[index].name()).append('=').append(toMillis(phaseNanos[index]));
+		}
+		builder.append("] slowest entities: ");
+		lastEntities.describe(builder);
+		builder.append(" slowest tasks: ");
+		lastTasks.describe(builder);
+		return builder.toString();
+	}
+
+	public static long getLastTickNanos() {
+		return lastTickNanos;
+	}
+
+	private static String describe(LatencyHistogram histogram) {
+		return "mean=" + toMillis(histogram.getMean()) + " p50=" + toMillis(histogram.getPercentile(50))
+				+ " p99=" + toMillis(histogram.getPercentile(99)) + " max=" + toMillis(histogram.getMax()) + " ms";
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format("%.2f", nanos / 1_000_000D);
+	}
+
+	/**
+	 * A fixed-size list keeping the slowest objects offered to it, slowest first.
+	 */
+	private static final class SlowestList {
+
+		private final Object[] owners = new Object[SLOWEST_COUNT];
+		private final long[] nanos = new long[SLOWEST_COUNT];
+		private int size;
+
+		private void offer(Object owner, long time) {
+			if (size == SLOWEST_COUNT && time <= nanos[size - 1])
+				return;
+			int index = size == SLOWEST_COUNT ? size - 1 : size++;
+			while (index > 0 && nanos[index - 1] < time) {
+				owners[index] = owners[index - 1];
+				nanos[index] = nanos[index - 1];
+				index--;
+			}
+			owners[index] = owner;
+			nanos[index] = time;
+		}
+
+		private void copyOf(SlowestList other) {
+			System.arraycopy(other.owners, 0, owners, 0, SLOWEST_COUNT);
+			System.arraycopy(other.nanos, 0, nanos, 0, SLOWEST_COUNT);
+			size = other.size;
+		}
+
+		private void clear() {
+			for (int index = 0; index < size; index++)
+				owners[index] = null;
+			size = 0;
+		}
+
+		private void describe(StringBuilder builder) {
+			builder.append('[');
+			for (int index = 0; index < size; index++) {
+				if (index > 0)
+					builder.append(", ");
+				Object owner = owners[index];
+				builder.append(owner instanceof Player ? ((Player) owner).getDisplayName()
+						: owner instanceof Task ? owner.getClass().getName() : String.valueOf(owner));
+				builder.append('=').append(toMillis(nanos[index]));
+			}
+			builder.append(']');
+		}
+	}
+}
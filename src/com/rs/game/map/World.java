@@ -8,6 +8,7 @@ import com.rs.game.Entity;
 import com.rs.game.EntityList;
 import com.rs.game.npc.NPC;
 import com.rs.game.player.Player;
+import com.rs.game.map.TickProfiler.TickPhase;
 import com.rs.game.route.Flags;
 import com.rs.game.task.Task;
 import com.rs.game.task.TaskManager;
@@ -25,7 +26,6 @@ import com.rs.utilities.AntiFlood;
 import com.rs.utilities.LogUtility;
 import com.rs.utilities.LogUtility.LogType;
 import com.rs.utilities.Utility;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -34,7 +34,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -72,7 +72,7 @@ public final class World extends AbstractScheduledService {
 	private static final EntityList<NPC> npcs = new EntityList<NPC>(GameConstants.NPCS_LIMIT, false);
 	
 	@Getter
-	private static Object2ObjectOpenHashMap<Integer, Region> regions = new Object2ObjectOpenHashMap<>();
+	private static final RegionDirectory regions = new RegionDirectory();
 
 	public static final void init() {
 		World.get().submit(new RestoreRunEnergyTask());
@@ -83,6 +83,9 @@ public final class World extends AbstractScheduledService {
 		World.get().submit(new PlayerOwnedObjectTask());
 		World.get().submit(new RestoreSkillTask());
 		World.get().submit(new RestoreHitpoints());
+		World.get().submit(new RegionUnloadTask());
+		if (GameConstants.AUTOSAVE_MINUTES > 0)
+			World.get().submit(new PlayerAutosaveTask());
 		try {
 			loadConfiguration();
 		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IOException e) {
@@ -95,11 +98,7 @@ public final class World extends AbstractScheduledService {
 	}
 
 	public static final Region getRegion(int id, boolean load) {
-		Region region = regions.get(id);
-		if (region == null) {
-			region = new Region(id);
-			regions.put(id, region);
-		}
+		Region region = regions.getOrCreate(id);
 		if (load)
 			region.checkLoadMap();
 		return region;
@@ -152,19 +151,11 @@ public final class World extends AbstractScheduledService {
 	}
 
 	public static int getMask(int plane, int x, int y) {
-		WorldTile tile = new WorldTile(x, y, plane);
-		Region region = getRegion(tile.getRegionId());
-		if (region == null)
-			return -1;
-		return region.getMask(tile.getPlane(), tile.getXInRegion(), tile.getYInRegion());
+		return ClipMap.getMask(plane, x, y);
 	}
 
 	private static int getClipedOnlyMask(int plane, int x, int y) {
-		WorldTile tile = new WorldTile(x, y, plane);
-		Region region = getRegion(tile.getRegionId());
-		if (region == null)
-			return -1;
-		return region.getMaskClipedOnly(tile.getPlane(), tile.getXInRegion(), tile.getYInRegion());
+		return ClipMap.getClipedOnlyMask(plane, x, y);
 	}
 
 	public static final boolean checkProjectileStep(int plane, int x, int y, int dir, int size) {
@@ -543,73 +534,47 @@ public final class World extends AbstractScheduledService {
 				player.getPackets().sendGraphics(graphics, tile);
 			}
 		} else {
-			for (int regionId : creator.getMapRegionsIds()) {
-				List<Short> playersIndexes = getRegion(regionId).getPlayersIndexes();
-				if (playersIndexes == null)
-					continue;
-				for (Short playerIndex : playersIndexes) {
-					Player player = players.get(playerIndex);
-					if (player == null || !player.isStarted() || player.isFinished() || !player.withinDistance(tile))
-						continue;
-					player.getPackets().sendGraphics(graphics, tile);
-				}
-			}
+			EntityGrid.forEachPlayer(tile, 14, player -> {
+				if (!player.isStarted())
+					return;
+				player.getPackets().sendGraphics(graphics, tile);
+			});
 		}
 	}
 
 	@SuppressWarnings("deprecation")
 	public static final void sendProjectile(Entity shooter, WorldTile startTile, WorldTile receiver, int gfxId,
 			int startHeight, int endHeight, int speed, int delay, int curve, int startDistanceOffset) {
-		for (int regionId : shooter.getMapRegionsIds()) {
-			List<Short> playersIndexes = getRegion(regionId).getPlayersIndexes();
-			if (playersIndexes == null)
-				continue;
-			for (Short playerIndex : playersIndexes) {
-				Player player = players.get(playerIndex);
-				if (player == null || !player.isStarted() || player.isFinished()
-						|| (!player.withinDistance(shooter) && !player.withinDistance(receiver)))
-					continue;
-				player.getPackets().sendProjectile(null, startTile, receiver, gfxId, startHeight, endHeight, speed,
-						delay, curve, startDistanceOffset, shooter.getSize());
-			}
-		}
+		forEachViewer(shooter, receiver, player -> player.getPackets().sendProjectile(null, startTile, receiver, gfxId, startHeight,
+				endHeight, speed, delay, curve, startDistanceOffset, shooter.getSize()));
 	}
 
 	@SuppressWarnings("deprecation")
 	public static final void sendProjectile(Entity shooter, WorldTile receiver, int gfxId, int startHeight,
 			int endHeight, int speed, int delay, int curve, int startDistanceOffset) {
-		for (int regionId : shooter.getMapRegionsIds()) {
-			List<Short> playersIndexes = getRegion(regionId).getPlayersIndexes();
-			if (playersIndexes == null)
-				continue;
-			for (Short playerIndex : playersIndexes) {
-				Player player = players.get(playerIndex);
-				if (player == null || !player.isStarted() || player.isFinished()
-						|| (!player.withinDistance(shooter) && !player.withinDistance(receiver)))
-					continue;
-				player.getPackets().sendProjectile(null, shooter, receiver, gfxId, startHeight, endHeight, speed, delay,
-						curve, startDistanceOffset, shooter.getSize());
-			}
-		}
+		forEachViewer(shooter, receiver, player -> player.getPackets().sendProjectile(null, shooter, receiver, gfxId, startHeight,
+				endHeight, speed, delay, curve, startDistanceOffset, shooter.getSize()));
 	}
 
 	@SuppressWarnings("deprecation")
 	public static final void sendProjectile(Entity shooter, Entity receiver, int gfxId, int startHeight, int endHeight,
 			int speed, int delay, int curve, int startDistanceOffset) {
-		for (int regionId : shooter.getMapRegionsIds()) {
-			List<Short> playersIndexes = getRegion(regionId).getPlayersIndexes();
-			if (playersIndexes == null)
-				continue;
-			for (Short playerIndex : playersIndexes) {
-				Player player = players.get(playerIndex);
-				if (player == null || !player.isStarted() || player.isFinished()
-						|| (!player.withinDistance(shooter) && !player.withinDistance(receiver)))
-					continue;
-				int size = shooter.getSize();
-				player.getPackets().sendProjectile(receiver, shooter, receiver, gfxId, startHeight, endHeight, speed,
-						delay, curve, startDistanceOffset, size);
-			}
-		}
+		forEachViewer(shooter, receiver, player -> player.getPackets().sendProjectile(receiver, shooter, receiver, gfxId, startHeight,
+				endHeight, speed, delay, curve, startDistanceOffset, shooter.getSize()));
+	}
+
+	/**
+	 * Performs an action for every started player close enough to see either end of a projectile, once each.
+	 */
+	private static void forEachViewer(WorldTile shooter, WorldTile receiver, Consumer<Player> action) {
+		EntityGrid.forEachPlayer(shooter, 14, player -> {
+			if (player.isStarted())
+				action.accept(player);
+		});
+		EntityGrid.forEachPlayer(receiver, 14, player -> {
+			if (player.isStarted() && !player.withinDistance(shooter))
+				action.accept(player);
+		});
 	}
 
 	public static final boolean isMultiArea(WorldTile tile) {
@@ -731,32 +696,80 @@ public final class World extends AbstractScheduledService {
 
 	@Override
 	protected void runOneIteration() {
+		GameClock.onTick();
+		TickProfiler.startTick();
 		try {
 			World.get().getTaskManager().sequence();
+			TickProfiler.endPhase(TickPhase.TASK_SEQUENCE);
 
-			World.players().forEach(Player::processEntity);
-			World.npcs().forEach(NPC::processEntity);
+			findRoutes();
+			TickProfiler.endPhase(TickPhase.ROUTE_SEARCH);
+			World.players().forEach(TickProfiler::processEntity);
+			TickProfiler.endPhase(TickPhase.PLAYER_PROCESS);
+			NPCDormancy.update();
+			World.npcs().filter(NPCDormancy::process).forEach(TickProfiler::processEntity);
+			TickProfiler.endPhase(TickPhase.NPC_PROCESS);
 
 			World.players().forEach(Entity::processEntityUpdate);
-			World.npcs().forEach(Entity::processEntityUpdate);
+			World.npcs().filter(NPCDormancy::isAwake).forEach(Entity::processEntityUpdate);
+			TickProfiler.endPhase(TickPhase.ENTITY_UPDATE);
 
-			World.players().forEach(player -> {
-				player.getPackets().sendLocalPlayersUpdate();
-				player.getPackets().sendLocalNPCsUpdate();
-			});
+			sendLocalUpdates();
+			TickProfiler.endPhase(TickPhase.UPDATE_ENCODING);
 
 			World.players().forEach(Entity::resetMasks);
-			World.npcs().forEach(Entity::resetMasks);
+			World.npcs().filter(NPCDormancy::isAwake).forEach(Entity::resetMasks);
+			TickProfiler.endPhase(TickPhase.MASK_RESET);
 
 			ServerChannelHandler.processSessionQueue();
+			TickProfiler.endPhase(TickPhase.SESSION_FLUSH);
 		} catch (Exception e) {
+			LogUtility.log(LogType.ERROR, "World tick failed: " + e);
 			e.printStackTrace();
+		} finally {
+			TickProfiler.endTick();
 		}
 	}
 
+	/**
+	 * Encodes the local player and npc updates for every player. This phase only reads
+	 * the world state settled by the phases before it, so each player's packets are
+	 * built on the {@link CoresManager#worldUpdateExecutor} unless the tick is configured
+	 * to run serially; either way this returns once every player has been updated.
+	 */
+	private static void sendLocalUpdates() {
+		if (!GameConstants.PARALLEL_WORLD_TICK) {
+			World.players().forEach(World::sendLocalUpdate);
+			return;
+		}
+		CoresManager.worldUpdateExecutor.submit(() -> players.parallelStream().filter(VALID_PLAYER).forEach(World::sendLocalUpdate)).join();
+	}
+
+	/**
+	 * Finds the routes the players' route events and the force walking npcs will search
+	 * for this tick ahead of time, in parallel on the {@link CoresManager#worldUpdateExecutor}.
+	 * The searches only read the world, and a route is only used if its entity hasn't
+	 * moved by the time it is processed. Routes are searched for as they are processed
+	 * instead if the tick is configured to run serially.
+	 */
+	private static void findRoutes() {
+		if (!GameConstants.PARALLEL_WORLD_TICK)
+			return;
+		CoresManager.worldUpdateExecutor.submit(() -> {
+			players.parallelStream().filter(VALID_PLAYER).filter(player -> player.getRouteEvent() != null)
+					.forEach(player -> player.getRouteEvent().prepare(player));
+			npcs.parallelStream().filter(VALID_NPC).filter(NPCDormancy::isAwake).forEach(NPC::prepareForceWalkRoute);
+		}).join();
+	}
+
+	private static void sendLocalUpdate(Player player) {
+		player.getPackets().sendLocalPlayersUpdate();
+		player.getPackets().sendLocalNPCsUpdate();
+	}
+
 	@Override
 	protected Scheduler scheduler() {
-		return Scheduler.newFixedDelaySchedule(600, 600, TimeUnit.MILLISECONDS);
+		return new GameClock();
 	}
 	
 	/**
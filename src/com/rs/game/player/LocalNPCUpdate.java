@@ -4,13 +4,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 
 import com.rs.GameConstants;
-import com.rs.game.map.World;
+import com.rs.game.map.EntityGrid;
 import com.rs.game.npc.NPC;
 import com.rs.io.OutputStream;
 import com.rs.utilities.Utility;
 
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
-
 public final class LocalNPCUpdate {
 
 	private transient Player player;
@@ -26,12 +24,13 @@ public final class LocalNPCUpdate {
 	}
 
 	public OutputStream createPacketAndProcess() {
-		OutputStream stream = new OutputStream();
-		OutputStream updateBlockData = new OutputStream();
+		OutputStream stream = OutputStream.acquire(256);
+		OutputStream updateBlockData = OutputStream.acquire(256);
 		stream.writePacketVarShort(player, 16);
 		processLocalNPCsInform(stream, updateBlockData);
 		stream.writeBytes(updateBlockData.getBuffer(), 0,
 				updateBlockData.getOffset());
+		updateBlockData.release();
 		stream.endPacketVarShort();
 		return stream;
 	}
@@ -81,39 +80,31 @@ public final class LocalNPCUpdate {
 
 	private void addInScreenNPCs(OutputStream stream,
 			OutputStream updateBlockData) {
-		for (int regionId : player.getMapRegionsIds()) {
-			ObjectArrayList<Short> indexes = World.getRegion(regionId).getNpcsIndexes();
-			if (indexes == null)
-				continue;
-			for (int npcIndex : indexes) {
-				if (localNPCs.size() == GameConstants.LOCAL_NPCS_LIMIT)
-					break;
-				NPC n = World.getNPCs().get(npcIndex);
-				if (n == null || n.isFinished() || localNPCs.contains(n)
-						|| !n.withinDistance(player, 14) || n.isDead())
-					continue;
-				boolean needUpdate = n.needMasksUpdate() || n.getLastFaceEntity() != -1;
-				int x = n.getX() - player.getX();
-				int y = n.getY() - player.getY();
-				stream.writeBits(15, n.getIndex());
-				
-			
-				stream.writeBits(1,  n.isTeleported()  ? 1: 0);
-				stream.writeBits(1, needUpdate ? 1 : 0);
-				stream.writeBits(14, n.getId());
-				stream.writeBits(3, (n.getDirection() >> 11) - 4);
-				if (x < 15)
-					x += 32;
-				stream.writeBits(5, x);
-				stream.writeBits(2, n.getPlane());
-				if (y < 15)
-					y += 32;
-				stream.writeBits(5, y);
-				localNPCs.add(n);
-				if (needUpdate)
-					appendUpdateBlock(n, updateBlockData, true);
-			}
-		}
+		if (localNPCs.size() == GameConstants.LOCAL_NPCS_LIMIT)
+			return;
+		EntityGrid.findNPC(player, 14, n -> {
+			if (localNPCs.contains(n) || !n.withinDistance(player, 14) || n.isDead())
+				return false;
+			boolean needUpdate = n.needMasksUpdate() || n.getLastFaceEntity() != -1;
+			int x = n.getX() - player.getX();
+			int y = n.getY() - player.getY();
+			stream.writeBits(15, n.getIndex());
+			stream.writeBits(1, n.isTeleported() ? 1 : 0);
+			stream.writeBits(1, needUpdate ? 1 : 0);
+			stream.writeBits(14, n.getId());
+			stream.writeBits(3, (n.getDirection() >> 11) - 4);
+			if (x < 15)
+				x += 32;
+			stream.writeBits(5, x);
+			stream.writeBits(2, n.getPlane());
+			if (y < 15)
+				y += 32;
+			stream.writeBits(5, y);
+			localNPCs.add(n);
+			if (needUpdate)
+				appendUpdateBlock(n, updateBlockData, true);
+			return localNPCs.size() == GameConstants.LOCAL_NPCS_LIMIT;
+		});
 	}
 
 	private void appendUpdateBlock(NPC n, OutputStream data, boolean added) {
@@ -579,8 +579,8 @@ public final class LocalPlayerUpdate {
 	}
 
 	public OutputStream createPacketAndProcess() {
-		OutputStream stream = new OutputStream();
-		OutputStream updateBlockData = new OutputStream();
+		OutputStream stream = OutputStream.acquire(256);
+		OutputStream updateBlockData = OutputStream.acquire(256);
 		stream.writePacketVarShort(player, 33);
 		processLocalPlayers(stream, updateBlockData, true);
 		processLocalPlayers(stream, updateBlockData, false);
@@ -588,6 +588,7 @@ public final class LocalPlayerUpdate {
 		processOutsidePlayers(stream, updateBlockData, false);
 		stream.writeBytes(updateBlockData.getBuffer(), 0,
 				updateBlockData.getOffset());
+		updateBlockData.release();
 		stream.endPacketVarShort();
 		totalRenderDataSentLength = 0;
 		localPlayersIndexesCount = 0;
@@ -1,7 +1,6 @@
 package com.rs.game.player;
 
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.alex.utils.VarsManager;
 import com.rs.GameConstants;
@@ -28,7 +27,7 @@ import com.rs.game.route.RouteEvent;
 import com.rs.game.task.impl.CombatEffectTask;
 import com.rs.game.task.impl.SkillActionTask;
 import com.rs.net.IsaacKeyPair;
-import com.rs.net.LogicPacket;
+import com.rs.net.LogicPacketQueue;
 import com.rs.net.Session;
 import com.rs.net.encoders.WorldPacketsEncoder;
 import com.rs.net.encoders.other.HintIconsManager;
@@ -215,7 +214,7 @@ public class Player extends Entity {
 	/**
 	 * Represents a Player's queue logic packets listing
 	 */
-	private transient ConcurrentLinkedQueue<LogicPacket> logicPackets;
+	private transient LogicPacketQueue logicPackets;
 	
 	/**
 	 * Personal details & information stored for a Player
@@ -366,7 +365,7 @@ public class Player extends Entity {
 		getPetManager().setPlayer(this);
 		setDirection((byte) Utility.getFaceDirection(0, -1));
 		setTemporaryMovementType((byte) -1);
-		setLogicPackets(new ConcurrentLinkedQueue<LogicPacket>());
+		setLogicPackets(new LogicPacketQueue());
 		setSwitchItemCache(new ObjectArrayList<Byte>());
 		if (getAction() == null)
 			setAction(new ActionManager());
@@ -490,12 +489,14 @@ public class Player extends Entity {
 	}
 
 	/**
-	 * Adds Logic Packets to a queue
-	 * @param packet
+	 * Adds Logic Packets to a queue, replacing a queued packet of the same type
+	 * @param id the opcode of the packet
+	 * @param data the buffer holding the payload
+	 * @param length the payload size
 	 */
-	public void addLogicPacketToQueue(LogicPacket packet) {
-		getLogicPackets().stream().filter(type -> type.getId() == packet.getId()).forEach(logical -> getLogicPackets().remove(logical));
-		getLogicPackets().add(packet);
+	public void addLogicPacketToQueue(int id, byte[] data, int length) {
+		if (!getLogicPackets().offer(id, data, length) && getLogicPackets().getOverflows() == 1)
+			LogUtility.log(LogType.WARN, getDisplayName() + " overflowed their logic packet queue.");
 	}
 	
 	/**
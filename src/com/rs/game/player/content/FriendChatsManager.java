@@ -327,25 +327,31 @@ public class FriendChatsManager {
 	}
 
 	public static void joinChat(String ownerName, Player player) {
+		if (player.getCurrentFriendChat() != null)
+			return;
+		player.getPackets().sendGameMessage("Attempting to join channel...");
+		String formatedName = Utility.formatPlayerNameForProtocol(ownerName);
+		boolean cached;
+		synchronized (cachedFriendChats) {
+			cached = cachedFriendChats.containsKey(formatedName);
+		}
+		// an offline owner is read from disk before taking the lock, so other chats aren't held up meanwhile
+		Player owner = cached ? null : getOwner(ownerName, formatedName);
+		if (!cached && owner == null) {
+			player.getPackets().sendGameMessage("The channel you tried to join does not exist.");
+			return;
+		}
 		synchronized (cachedFriendChats) {
 			if (player.getCurrentFriendChat() != null)
 				return;
-			player.getPackets().sendGameMessage("Attempting to join channel...");
-			String formatedName = Utility.formatPlayerNameForProtocol(ownerName);
 			FriendChatsManager chat = cachedFriendChats.get(formatedName);
 			if (chat == null) {
-				Player owner = World.getPlayerByDisplayName(ownerName);
+				// the chat was dropped since it was looked up
+				if (owner == null)
+					owner = getOwner(ownerName, formatedName);
 				if (owner == null) {
-					if (!AccountCreation.exists(formatedName)) {
-						player.getPackets().sendGameMessage("The channel you tried to join does not exist.");
-						return;
-					}
-					owner = AccountCreation.loadPlayer(formatedName);
-					if (owner == null) {
-						player.getPackets().sendGameMessage("The channel you tried to join does not exist.");
-						return;
-					}
-//					owner.setDisplayName(formatedName);
+					player.getPackets().sendGameMessage("The channel you tried to join does not exist.");
+					return;
 				}
 				FriendsIgnores settings = owner.getFriendsIgnores();
 				if (!settings.hasFriendChat()) {
@@ -366,6 +372,19 @@ public class FriendChatsManager {
 		}
 
 	}
+
+	/**
+	 * Gets the owner of a chat, loading it if offline.
+	 * @return the owner, or {@code null} if there is no such player.
+	 */
+	private static Player getOwner(String ownerName, String formatedName) {
+		Player owner = World.getPlayerByDisplayName(ownerName);
+		if (owner != null)
+			return owner;
+		if (!AccountCreation.exists(formatedName))
+			return null;
+		return AccountCreation.loadPlayer(formatedName);
+	}
 	
 	public void kickPlayerFromFriendsChannel(Player player, String name) {
 		if (player.getCurrentFriendChat() == null)
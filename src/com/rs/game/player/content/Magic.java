@@ -5,6 +5,7 @@ import com.rs.cache.loaders.ItemDefinitions;
 import com.rs.game.Entity;
 import com.rs.game.item.Item;
 import com.rs.game.item.ItemConstants;
+import com.rs.game.map.EntityGrid;
 import com.rs.game.map.World;
 import com.rs.game.map.WorldTile;
 import com.rs.game.player.Equipment;
@@ -17,7 +18,6 @@ import com.rs.net.encoders.other.Graphics;
 import com.rs.utilities.RandomUtils;
 import com.rs.utilities.Utility;
 
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import skills.Skills;
 
 /*
@@ -503,21 +503,14 @@ public class Magic {
 			}
 			if (!checkRunes(player, true, ASTRAL_RUNE, 4, DEATH_RUNE, 3, EARTH_RUNE, 11))
 				return;
-			player.getMapRegionsIds().parallelStream().filter(regionalPlayer -> regionalPlayer != null).forEach(regionalPlayer -> {
-				ObjectArrayList<Short> playersIndexes = World.getRegion(regionalPlayer).getPlayersIndexes();
-				playersIndexes.iterator().forEachRemaining(p -> {
-					World.players().filter(
-							playerIndex -> playerIndex.withinDistance(player, 4) || ControllerHandler.execute(player, controller -> controller.canHit(player, playerIndex)))
-							.forEach(worldPlayer -> {
-								if (!worldPlayer.getDetails().isAcceptAid()) {
-									player.getPackets().sendGameMessage(worldPlayer.getDisplayName() + " is not accepting aid");
-									return;
-								}
-								worldPlayer.setNextGraphics(new Graphics(725, 0, 100));
-//								p2.setCastVeng(true);
-								worldPlayer.getPackets().sendGameMessage("You have the power of vengeance!");
-							});
-				});
+			EntityGrid.forEachPlayer(player, 4, worldPlayer -> {
+				if (!worldPlayer.getDetails().isAcceptAid()) {
+					player.getPackets().sendGameMessage(worldPlayer.getDisplayName() + " is not accepting aid");
+					return;
+				}
+				worldPlayer.setNextGraphics(new Graphics(725, 0, 100));
+//				p2.setCastVeng(true);
+				worldPlayer.getPackets().sendGameMessage("You have the power of vengeance!");
 			});
 			player.setNextAnimation(new Animation(4411));
 			player.getAttributes().getAttributes().put("LAST_VENG", Utility.currentTimeMillis());
@@ -1,9 +1,7 @@
 package com.rs.game.player.content;
 
-import java.util.List;
-
+import com.rs.game.map.EntityGrid;
 import com.rs.game.map.GameObject;
-import com.rs.game.map.Region;
 import com.rs.game.map.World;
 import com.rs.game.map.WorldTile;
 import com.rs.game.player.Player;
@@ -41,22 +39,14 @@ public class WildernessObelisk {
 				for (int x = 1; x < 4; x++)
 					for (int y = 1; y < 4; y++)
 						World.sendGraphics(player, new Graphics(661), center.transform(x, y, 0));
-				Region region = World.getRegion(center.getRegionId());
-				List<Short> playerIndexes = region.getPlayersIndexes();
 				WorldTile newCenter = OBELISK_CENTER_TILES[RandomUtils.inclusive(OBELISK_CENTER_TILES.length)];
-				if (playerIndexes != null) {
-					for (Short i : playerIndexes) {
-						Player p = World.getPlayers().get(i);
-						if (p == null || (p.getX() < center.getX() + 1 || p.getX() > center.getX() + 3
-								|| p.getY() < center.getY() + 1 || p.getY() > center.getY() + 3))
-							continue;
-						int offsetX = p.getX() - center.getX();
-						int offsetY = p.getY() - center.getY();
-						Magic.sendTeleportSpell(p, 8939, 8941, 1690, -1, 0, 0,
-								new WorldTile(newCenter.getX() + offsetX, newCenter.getY() + offsetY, 0), 3, false,
-								Magic.OBJECT_TELEPORT);
-					}
-				}
+				EntityGrid.forEachPlayer(center.transform(2, 2, 0), 1, p -> {
+					int offsetX = p.getX() - center.getX();
+					int offsetY = p.getY() - center.getY();
+					Magic.sendTeleportSpell(p, 8939, 8941, 1690, -1, 0, 0,
+							new WorldTile(newCenter.getX() + offsetX, newCenter.getY() + offsetY, 0), 3, false,
+							Magic.OBJECT_TELEPORT);
+				});
 				IS_ACTIVE[index] = false;
 			
 				this.cancel();
@@ -0,0 +1,377 @@
+package com.rs.game.route;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.rs.game.map.ClipMap;
+import com.rs.game.map.RegionMap;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+
+/**
+ * The walkable areas of every 8x8 chunk and how they connect to those of the chunks
+ * around them, for planning routes too long for the {@link WalkRouteFinder}.
+ * <p>
+ * The tiles of a chunk a size 1 entity can walk between without leaving the chunk
+ * form an area, and every area is a node of the graph searched by
+ * {@link #findPath(int, int, int, int, int)}. Areas are found from the clip flags once
+ * and cached until an object changing the clipping of the chunk is spawned or removed,
+ * or the region is loaded or unloaded. The links between areas of neighbouring chunks
+ * are read from the clip flags along their border while searching.
+ * @author Dennis
+ */
+public final class ChunkConnectivity {
+
+	/**
+	 * The amount of region ids, 256 regions along both axes.
+	 */
+	private static final int REGIONS = 1 << 16;
+
+	/**
+	 * The highest chunk coordinate along either axis, exclusive.
+	 */
+	private static final int MAX_CHUNK = 256 << 3;
+
+	/**
+	 * The most areas a search expands before giving up.
+	 */
+	private static final int MAX_EXPANSIONS = 32768;
+
+	private static final int BLOCKS_WALK = Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE;
+	private static final int BLOCKS_WEST = BLOCKS_WALK | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE;
+	private static final int BLOCKS_EAST = BLOCKS_WALK | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE;
+	private static final int BLOCKS_SOUTH = BLOCKS_WALK | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE;
+	private static final int BLOCKS_NORTH = BLOCKS_WALK | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE;
+
+	/**
+	 * The chunk of a region nothing can walk in.
+	 */
+	private static final Chunk EMPTY = new Chunk(new byte[] { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 }, new byte[0]);
+
+	private static final AtomicReferenceArray<RegionChunks> REGION_CHUNKS = new AtomicReferenceArray<>(REGIONS);
+
+	/**
+	 * Counts every change of the clipping anywhere, so routes found before it can tell they're stale.
+	 */
+	private static final AtomicInteger CHANGES = new AtomicInteger();
+
+	/**
+	 * Finds the areas leading from a tile towards another on the same plane.
+	 * @return the areas, from the one of the source to one in or next to the chunk of the
+	 *         destination, or {@code null} if no route was found.
+	 */
+	public static int[] findPath(int plane, int srcX, int srcY, int destX, int destY) {
+		int start = getNode(plane, srcX, srcY, true);
+		if (start == -1)
+			return null;
+		// a destination nothing can stand on, such as an object, may be reached from any area of its chunk
+		int goal = getNode(plane, destX, destY, false);
+		int goalChunkX = destX >> 3, goalChunkY = destY >> 3;
+		// if nothing can stand in the destination chunk, settle for a chunk next to it
+		int goalReach = getChunk(plane, goalChunkX, goalChunkY).areas.length == 0 ? 1 : 0;
+		Int2IntOpenHashMap costs = new Int2IntOpenHashMap();
+		costs.defaultReturnValue(Integer.MAX_VALUE);
+		Int2IntOpenHashMap parents = new Int2IntOpenHashMap();
+		IntOpenHashSet closed = new IntOpenHashSet();
+		LongHeapPriorityQueue open = new LongHeapPriorityQueue();
+		IntArrayList neighbours = new IntArrayList();
+		costs.put(start, 0);
+		open.enqueue((long) getDistance(getX(plane, start), getY(plane, start), destX, destY) << 32 | start);
+		while (!open.isEmpty() && closed.size() < MAX_EXPANSIONS) {
+			int node = (int) open.dequeueLong();
+			if (!closed.add(node))
+				continue;
+			int chunkX = getChunkX(node), chunkY = getChunkY(node);
+			if (goal != -1 ? node == goal
+					: Math.abs(chunkX - goalChunkX) <= goalReach && Math.abs(chunkY - goalChunkY) <= goalReach)
+				return getPath(parents, start, node);
+			int x = getX(plane, node), y = getY(plane, node);
+			neighbours.clear();
+			addNeighbours(plane, node, neighbours);
+			for (int index = 0; index < neighbours.size(); index++) {
+				int neighbour = neighbours.getInt(index);
+				if (closed.contains(neighbour))
+					continue;
+				int neighbourX = getX(plane, neighbour), neighbourY = getY(plane, neighbour);
+				int cost = costs.get(node) + getDistance(x, y, neighbourX, neighbourY);
+				if (cost >= costs.get(neighbour))
+					continue;
+				costs.put(neighbour, cost);
+				parents.put(neighbour, node);
+				open.enqueue((long) (cost + getDistance(neighbourX, neighbourY, destX, destY)) << 32 | neighbour);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the x of the tile an area is entered towards, the one closest to the middle of its chunk.
+	 */
+	public static int getX(int plane, int node) {
+		return getChunkX(node) << 3 | getChunk(plane, getChunkX(node), getChunkY(node)).areas[node & 0x3F] >> 3;
+	}
+
+	/**
+	 * Gets the y of the tile an area is entered towards, the one closest to the middle of its chunk.
+	 */
+	public static int getY(int plane, int node) {
+		return getChunkY(node) << 3 | getChunk(plane, getChunkX(node), getChunkY(node)).areas[node & 0x3F] & 0x7;
+	}
+
+	/**
+	 * Gets the x of the chunk of an area.
+	 */
+	public static int getChunkX(int node) {
+		return node >>> 17;
+	}
+
+	/**
+	 * Gets the y of the chunk of an area.
+	 */
+	public static int getChunkY(int node) {
+		return node >>> 6 & 0x7FF;
+	}
+
+	/**
+	 * Forgets the areas of the chunks around a tile, called after the clipping around it changed.
+	 * @param size the size of the object changing the clipping along both axes.
+	 */
+	public static void invalidate(int plane, int x, int y, int size) {
+		CHANGES.incrementAndGet();
+		for (int chunkX = (x - 1) >> 3; chunkX <= (x + size) >> 3; chunkX++) {
+			for (int chunkY = (y - 1) >> 3; chunkY <= (y + size) >> 3; chunkY++) {
+				if (chunkX < 0 || chunkY < 0 || chunkX >= MAX_CHUNK || chunkY >= MAX_CHUNK)
+					continue;
+				RegionChunks chunks = REGION_CHUNKS.get((chunkX >> 3) << 8 | chunkY >> 3);
+				if (chunks == null)
+					continue;
+				chunks.chunks[plane << 6 | (chunkX & 0x7) << 3 | chunkY & 0x7] = null;
+				chunks.version.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Forgets the areas of every chunk of a region, called when it is loaded or unloaded.
+	 */
+	public static void invalidate(int regionId) {
+		CHANGES.incrementAndGet();
+		if (regionId >= 0 && regionId < REGIONS)
+			REGION_CHUNKS.set(regionId, null);
+	}
+
+	/**
+	 * Gets the amount of times the clipping changed, as counted by both {@code invalidate} methods.
+	 */
+	public static int getChanges() {
+		return CHANGES.get();
+	}
+
+	/**
+	 * Gets the area a tile belongs to.
+	 * @param nearest whether to get the area of the chunk entered closest to the tile if nothing can stand on it.
+	 * @return the area, or {@code -1} if there is none.
+	 */
+	private static int getNode(int plane, int x, int y, boolean nearest) {
+		int chunkX = x >> 3, chunkY = y >> 3;
+		if (chunkX < 0 || chunkY < 0 || chunkX >= MAX_CHUNK || chunkY >= MAX_CHUNK)
+			return -1;
+		Chunk chunk = getChunk(plane, chunkX, chunkY);
+		int area = chunk.labels[(x & 0x7) << 3 | y & 0x7];
+		if (area == -1 && nearest) {
+			int closest = Integer.MAX_VALUE;
+			for (int index = 0; index < chunk.areas.length; index++) {
+				int distance = getDistance(chunkX << 3 | chunk.areas[index] >> 3, chunkY << 3 | chunk.areas[index] & 0x7, x, y);
+				if (distance < closest) {
+					closest = distance;
+					area = index;
+				}
+			}
+		}
+		return area == -1 ? -1 : getNode(chunkX, chunkY, area);
+	}
+
+	/**
+	 * Gets the node of an area, as {@code chunkX << 17 | chunkY << 6 | area}. A chunk
+	 * has up to 64 areas, one per tile if walls stand between all of them.
+	 */
+	private static int getNode(int chunkX, int chunkY, int area) {
+		return (chunkX << 11 | chunkY) << 6 | area;
+	}
+
+	/**
+	 * Adds the areas of the neighbouring chunks an area leads into.
+	 */
+	private static void addNeighbours(int plane, int node, IntArrayList neighbours) {
+		int chunkX = getChunkX(node), chunkY = getChunkY(node), area = node & 0x3F;
+		Chunk chunk = getChunk(plane, chunkX, chunkY);
+		for (int side = 0; side < 4; side++) {
+			int nextX = chunkX + (side == 0 ? -1 : side == 1 ? 1 : 0);
+			int nextY = chunkY + (side == 2 ? -1 : side == 3 ? 1 : 0);
+			if (nextX < 0 || nextY < 0 || nextX >= MAX_CHUNK || nextY >= MAX_CHUNK)
+				continue;
+			Chunk next = getChunk(plane, nextX, nextY);
+			if (next.areas.length == 0)
+				continue;
+			int[] masks = ClipMap.getMasks((nextX >> 3) << 8 | nextY >> 3);
+			if (masks == null)
+				continue;
+			int blocks = side == 0 ? BLOCKS_WEST : side == 1 ? BLOCKS_EAST : side == 2 ? BLOCKS_SOUTH : BLOCKS_NORTH;
+			long added = 0;
+			for (int offset = 0; offset < 8; offset++) {
+				// the tile along the border of this chunk and the one across it
+				int fromX = side == 0 ? 0 : side == 1 ? 7 : offset, fromY = side == 2 ? 0 : side == 3 ? 7 : offset;
+				int toX = side == 0 ? 7 : side == 1 ? 0 : offset, toY = side == 2 ? 7 : side == 3 ? 0 : offset;
+				if (chunk.labels[fromX << 3 | fromY] != area)
+					continue;
+				int nextArea = next.labels[toX << 3 | toY];
+				if (nextArea == -1 || (added & 1L << nextArea) != 0)
+					continue;
+				int localX = (nextX & 0x7) << 3 | toX, localY = (nextY & 0x7) << 3 | toY;
+				if ((masks[RegionMap.index(plane, localX, localY)] & blocks) != 0)
+					continue;
+				added |= 1L << nextArea;
+				neighbours.add(getNode(nextX, nextY, nextArea));
+			}
+		}
+	}
+
+	private static int[] getPath(Int2IntOpenHashMap parents, int start, int end) {
+		IntArrayList path = new IntArrayList();
+		for (int node = end; node != start; node = parents.get(node))
+			path.add(node);
+		path.add(start);
+		int[] nodes = new int[path.size()];
+		for (int index = 0; index < nodes.length; index++)
+			nodes[index] = path.getInt(nodes.length - 1 - index);
+		return nodes;
+	}
+
+	private static int getDistance(int x, int y, int otherX, int otherY) {
+		return Math.max(Math.abs(x - otherX), Math.abs(y - otherY));
+	}
+
+	private static Chunk getChunk(int plane, int chunkX, int chunkY) {
+		int regionId = (chunkX >> 3) << 8 | chunkY >> 3;
+		RegionChunks chunks = REGION_CHUNKS.get(regionId);
+		if (chunks == null) {
+			chunks = new RegionChunks();
+			if (!REGION_CHUNKS.compareAndSet(regionId, null, chunks))
+				chunks = REGION_CHUNKS.get(regionId);
+			if (chunks == null)
+				return EMPTY;
+		}
+		int slot = plane << 6 | (chunkX & 0x7) << 3 | chunkY & 0x7;
+		Chunk chunk = chunks.chunks[slot];
+		if (chunk != null)
+			return chunk;
+		int version = chunks.version.get();
+		chunk = Chunk.build(ClipMap.getMasks(regionId), plane, (chunkX & 0x7) << 3, (chunkY & 0x7) << 3);
+		chunks.chunks[slot] = chunk;
+		// the clipping changed while building, don't keep what was built from before
+		if (chunks.version.get() != version)
+			chunks.chunks[slot] = null;
+		return chunk;
+	}
+
+	/**
+	 * The chunks of a single region, for every plane.
+	 */
+	private static final class RegionChunks {
+
+		private final Chunk[] chunks = new Chunk[4 << 6];
+
+		/**
+		 * Increased every time a chunk is forgotten.
+		 */
+		private final AtomicInteger version = new AtomicInteger();
+	}
+
+	/**
+	 * The walkable areas of a single chunk.
+	 */
+	private static final class Chunk {
+
+		/**
+		 * The area of every tile by {@code x << 3 | y}, {@code -1} if nothing can stand on it.
+		 */
+		private final byte[] labels;
+
+		/**
+		 * The tile of every area closest to the middle of the chunk, as {@code x << 3 | y}.
+		 */
+		private final byte[] areas;
+
+		private Chunk(byte[] labels, byte[] areas) {
+			this.labels = labels;
+			this.areas = areas;
+		}
+
+		/**
+		 * Finds the areas of a chunk by filling out from every tile not yet in one.
+		 */
+		private static Chunk build(int[] masks, int plane, int baseX, int baseY) {
+			if (masks == null)
+				return EMPTY;
+			byte[] labels = new byte[64];
+			byte[] areas = new byte[64];
+			int count = 0;
+			int[] queue = new int[64];
+			for (int tile = 0; tile < 64; tile++)
+				labels[tile] = (byte) ((getMask(masks, plane, baseX, baseY, tile) & BLOCKS_WALK) != 0 ? -1 : -2);
+			for (int seed = 0; seed < 64; seed++) {
+				if (labels[seed] != -2)
+					continue;
+				int area = count++;
+				int closest = Integer.MAX_VALUE;
+				int read = 0, write = 0;
+				labels[seed] = (byte) area;
+				queue[write++] = seed;
+				while (read != write) {
+					int tile = queue[read++];
+					int x = tile >> 3, y = tile & 0x7;
+					// distance to the middle, doubled to stay whole
+					int distance = (2 * x - 7) * (2 * x - 7) + (2 * y - 7) * (2 * y - 7);
+					if (distance < closest) {
+						closest = distance;
+						areas[area] = (byte) tile;
+					}
+					if (x > 0 && canEnter(masks, plane, baseX, baseY, labels, tile - 8, BLOCKS_WEST)) {
+						labels[tile - 8] = (byte) area;
+						queue[write++] = tile - 8;
+					}
+					if (x < 7 && canEnter(masks, plane, baseX, baseY, labels, tile + 8, BLOCKS_EAST)) {
+						labels[tile + 8] = (byte) area;
+						queue[write++] = tile + 8;
+					}
+					if (y > 0 && canEnter(masks, plane, baseX, baseY, labels, tile - 1, BLOCKS_SOUTH)) {
+						labels[tile - 1] = (byte) area;
+						queue[write++] = tile - 1;
+					}
+					if (y < 7 && canEnter(masks, plane, baseX, baseY, labels, tile + 1, BLOCKS_NORTH)) {
+						labels[tile + 1] = (byte) area;
+						queue[write++] = tile + 1;
+					}
+				}
+			}
+			if (count == 0)
+				return EMPTY;
+			byte[] trimmed = new byte[count];
+			System.arraycopy(areas, 0, trimmed, 0, count);
+			return new Chunk(labels, trimmed);
+		}
+
+		private static boolean canEnter(int[] masks, int plane, int baseX, int baseY, byte[] labels, int tile, int blocks) {
+			return labels[tile] == -2 && (getMask(masks, plane, baseX, baseY, tile) & blocks) == 0;
+		}
+
+		private static int getMask(int[] masks, int plane, int baseX, int baseY, int tile) {
+			return masks[RegionMap.index(plane, baseX + (tile >> 3), baseY + (tile & 0x7))];
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.rs.game.route;
+
+import com.rs.game.route.strategy.FixedTileStrategy;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Finds routes of any length by planning through the {@link ChunkConnectivity} first
+ * and walking the plan in legs short enough for the {@link WalkRouteFinder}.
+ * <p>
+ * Destinations close enough for a single walk route search are searched for directly.
+ * Otherwise every leg leads to the furthest area of the plan still in reach, and the
+ * last leg searches for the destination itself. If a leg can't be walked, such as by an
+ * entity too large for the way planned, the route walked so far is returned as an
+ * alternative route.
+ * @author Dennis
+ */
+public final class HierarchicalRouteFinder {
+
+	/**
+	 * The furthest a leg may lead along either axis, keeping every leg well inside the
+	 * graph of the walk route finder.
+	 */
+	private static final int LEG_RANGE = 56;
+
+	/**
+	 * The most legs a route is walked in.
+	 */
+	private static final int MAX_LEGS = 64;
+
+	/**
+	 * Finds a route using given strategy, as {@link RouteFinder#find} does.
+	 */
+	static Route find(int srcX, int srcY, int srcZ, int size, RouteStrategy strategy, boolean findAlternative) {
+		int destX = strategy.getApproxDestinationX(), destY = strategy.getApproxDestinationY();
+		if (isInReach(srcX, srcY, destX, destY))
+			return RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, srcX, srcY, srcZ, size, strategy, findAlternative);
+		int[] plan = ChunkConnectivity.findPath(srcZ, srcX, srcY, destX, destY);
+		if (plan == null)
+			return RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, srcX, srcY, srcZ, size, strategy, findAlternative);
+		IntArrayList pathX = new IntArrayList(), pathY = new IntArrayList();
+		int x = srcX, y = srcY;
+		int index = 0;
+		for (int leg = 0; leg < MAX_LEGS; leg++) {
+			int next = index;
+			while (next + 1 < plan.length && isChunkInReach(x, y, ChunkConnectivity.getChunkX(plan[next + 1]),
+					ChunkConnectivity.getChunkY(plan[next + 1])))
+				next++;
+			boolean last = next == plan.length - 1 && isInReach(x, y, destX, destY);
+			if (!last && next == index)
+				break;
+			Route route = last ? RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, x, y, srcZ, size, strategy, findAlternative)
+					: RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, x, y, srcZ, size,
+							new FixedTileStrategy(ChunkConnectivity.getX(srcZ, plan[next]), ChunkConnectivity.getY(srcZ, plan[next])),
+							false);
+			if (route.getSteps() < 0)
+				break;
+			for (int step = route.getSteps() - 1; step >= 0; step--) {
+				pathX.add(route.getX(step));
+				pathY.add(route.getY(step));
+			}
+			if (route.getSteps() > 0) {
+				x = route.getX(0);
+				y = route.getY(0);
+			}
+			if (last)
+				return toRoute(srcX, srcY, srcZ, size, strategy, findAlternative, pathX, pathY, route.isAlternative());
+			index = next;
+		}
+		if (!findAlternative)
+			return new Route(srcX, srcY, srcZ, size, strategy, findAlternative, -1, new int[0], new int[0], false);
+		if (pathX.isEmpty())
+			return RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, srcX, srcY, srcZ, size, strategy, findAlternative);
+		return toRoute(srcX, srcY, srcZ, size, strategy, findAlternative, pathX, pathY, true);
+	}
+
+	/**
+	 * Checks if a tile is close enough to another for a single leg.
+	 */
+	private static boolean isInReach(int x, int y, int destX, int destY) {
+		return Math.abs(destX - x) <= LEG_RANGE && Math.abs(destY - y) <= LEG_RANGE;
+	}
+
+	/**
+	 * Checks if a whole chunk is close enough to a tile for a single leg.
+	 */
+	private static boolean isChunkInReach(int x, int y, int chunkX, int chunkY) {
+		return isInReach(x, y, chunkX << 3, chunkY << 3) && isInReach(x, y, (chunkX << 3) + 7, (chunkY << 3) + 7);
+	}
+
+	private static Route toRoute(int srcX, int srcY, int srcZ, int size, RouteStrategy strategy, boolean findAlternative,
+			IntArrayList pathX, IntArrayList pathY, boolean alternative) {
+		int steps = pathX.size();
+		int[] bufferX = new int[steps], bufferY = new int[steps];
+		for (int step = 0; step < steps; step++) {
+			bufferX[step] = pathX.getInt(steps - 1 - step);
+			bufferY[step] = pathY.getInt(steps - 1 - step);
+		}
+		return new Route(srcX, srcY, srcZ, size, strategy, findAlternative, steps, bufferX, bufferY, alternative);
+	}
+}
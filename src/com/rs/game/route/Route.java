@@ -0,0 +1,90 @@
+package com.rs.game.route;
+
+import com.rs.game.map.GameClock;
+
+/**
+ * A route found by the {@link RouteFinder}, holding its own copy of the path so it
+ * can be handed between threads and read after later searches.
+ * @author Dennis
+ */
+public final class Route {
+
+	private final int srcX, srcY, srcZ, size;
+	private final RouteStrategy strategy;
+	private final boolean findAlternative;
+
+	/**
+	 * The amount of steps, below {@code 0} if there is no route.
+	 */
+	private final int steps;
+
+	/**
+	 * The path, from the last step back to the first.
+	 */
+	private final int[] bufferX, bufferY;
+
+	private final boolean alternative;
+
+	/**
+	 * The tick the route was found in.
+	 */
+	private final long tick;
+
+	/**
+	 * The {@link ChunkConnectivity#getChanges() clipping changes} counted when the route was found.
+	 */
+	private final int changes;
+
+	Route(int srcX, int srcY, int srcZ, int size, RouteStrategy strategy, boolean findAlternative, int steps, int[] bufferX,
+			int[] bufferY, boolean alternative) {
+		this.srcX = srcX;
+		this.srcY = srcY;
+		this.srcZ = srcZ;
+		this.size = size;
+		this.strategy = strategy;
+		this.findAlternative = findAlternative;
+		this.steps = steps;
+		this.bufferX = bufferX;
+		this.bufferY = bufferY;
+		this.alternative = alternative;
+		this.tick = GameClock.getTick();
+		this.changes = ChunkConnectivity.getChanges();
+	}
+
+	/**
+	 * Checks if this route was found this tick for the same search and the clipping
+	 * hasn't changed since, so it can be used instead of searching again.
+	 */
+	public boolean matches(int srcX, int srcY, int srcZ, int size, RouteStrategy strategy, boolean findAlternative) {
+		return tick == GameClock.getTick() && changes == ChunkConnectivity.getChanges() && this.srcX == srcX && this.srcY == srcY && this.srcZ == srcZ && this.size == size
+				&& this.findAlternative == findAlternative && this.strategy.equals(strategy);
+	}
+
+	/**
+	 * Gets the amount of steps, as returned by {@link RouteFinder#findRoute}.
+	 */
+	public int getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Gets the x of a step, the last step being {@code 0}.
+	 */
+	public int getX(int step) {
+		return bufferX[step];
+	}
+
+	/**
+	 * Gets the y of a step, the last step being {@code 0}.
+	 */
+	public int getY(int step) {
+		return bufferY[step];
+	}
+
+	/**
+	 * Whether the route only leads close to the destination.
+	 */
+	public boolean isAlternative() {
+		return alternative;
+	}
+}
@@ -28,6 +28,10 @@ public class RouteEvent {
 	 * Contains last route strategies.
 	 */
 	private RouteStrategy[] last;
+	/**
+	 * The routes found ahead of time this tick, by strategy.
+	 */
+	private Route[] prepared;
 
 	public RouteEvent(Object object, Runnable event) {
 		this(object, event, false);
@@ -39,7 +43,30 @@ public class RouteEvent {
 		this.alternative = alternative;
 	}
 
+	/**
+	 * Finds the routes the event will search for when processed this tick, so the search
+	 * can run in parallel with those of other players. Only reads the world.
+	 */
+	public void prepare(Player player) {
+		prepared = null;
+		if (!simpleCheck(player))
+			return;
+		RouteStrategy[] strategies = generateStrategies();
+		if (last != null && match(strategies, last) && player.hasWalkSteps())
+			return;
+		Route[] routes = new Route[strategies.length];
+		for (int i = 0; i < strategies.length; i++) {
+			routes[i] = RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, player.getX(), player.getY(), player.getPlane(),
+					player.getSize(), strategies[i], i == (strategies.length - 1));
+			if (routes[i].getSteps() != -1)
+				break;
+		}
+		prepared = routes;
+	}
+
 	public boolean processEvent(final Player player) {
+		Route[] routes = prepared;
+		prepared = null;
 		if (!simpleCheck(player)) {
 			player.getPackets().sendGameMessage("You can't reach that.");
 			player.getPackets().sendResetMinimapFlag();
@@ -51,11 +78,11 @@ public class RouteEvent {
 		else if (last != null && match(strategies, last) && !player.hasWalkSteps()) {
 			for (int i = 0; i < strategies.length; i++) {
 				RouteStrategy strategy = strategies[i];
-				int steps = RouteFinder.findRoute(RouteFinder.WALK_ROUTEFINDER, player.getX(), player.getY(),
-						player.getPlane(), player.getSize(), strategy, i == (strategies.length - 1));
+				Route route = search(player, routes, i, strategy, i == (strategies.length - 1));
+				int steps = route.getSteps();
 				if (steps == -1)
 					continue;
-				if ((!RouteFinder.lastIsAlternative() && steps <= 0) || alternative) {
+				if ((!route.isAlternative() && steps <= 0) || alternative) {
 					if (alternative)
 						player.getPackets().sendResetMinimapFlag();
 					event.run();
@@ -71,20 +98,17 @@ public class RouteEvent {
 
 			for (int i = 0; i < strategies.length; i++) {
 				RouteStrategy strategy = strategies[i];
-				int steps = RouteFinder.findRoute(RouteFinder.WALK_ROUTEFINDER, player.getX(), player.getY(),
-						player.getPlane(), player.getSize(), strategy, i == (strategies.length - 1));
+				Route route = search(player, routes, i, strategy, i == (strategies.length - 1));
+				int steps = route.getSteps();
 				if (steps == -1)
 					continue;
-				if ((!RouteFinder.lastIsAlternative() && steps <= 0)) {
+				if ((!route.isAlternative() && steps <= 0)) {
 					if (alternative)
 						player.getPackets().sendResetMinimapFlag();
 					event.run();
 					return true;
 				}
-				int[] bufferX = RouteFinder.getLastPathBufferX();
-				int[] bufferY = RouteFinder.getLastPathBufferY();
-
-				WorldTile last = new WorldTile(bufferX[0], bufferY[0], player.getPlane());
+				WorldTile last = new WorldTile(route.getX(0), route.getY(0), player.getPlane());
 				player.resetWalkSteps();
 				player.getPackets().sendMinimapFlag(
 						last.getLocalX(player.getLastLoadedMapRegionTile(), player.getMapSize()),
@@ -92,7 +116,7 @@ public class RouteEvent {
 				if (player.getMovement().isFrozen())
 					return false;
 				for (int step = steps - 1; step >= 0; step--) {
-					if (!player.addWalkSteps(bufferX[step], bufferY[step], 25, true))
+					if (!player.addWalkSteps(route.getX(step), route.getY(step), 25, true))
 						break;
 				}
 
@@ -105,6 +129,17 @@ public class RouteEvent {
 		}
 	}
 
+	/**
+	 * Gets the route to a strategy, found ahead of time if the player hasn't moved since.
+	 */
+	private Route search(Player player, Route[] routes, int index, RouteStrategy strategy, boolean findAlternative) {
+		Route route = routes != null && index < routes.length ? routes[index] : null;
+		if (route != null && route.matches(player.getX(), player.getY(), player.getPlane(), player.getSize(), strategy, findAlternative))
+			return route;
+		return RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, player.getX(), player.getY(), player.getPlane(), player.getSize(),
+				strategy, findAlternative);
+	}
+
 	private boolean simpleCheck(Player player) {
 		if (object instanceof Entity) {
 			return player.getPlane() == ((Entity) object).getPlane();
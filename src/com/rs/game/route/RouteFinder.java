@@ -1,7 +1,13 @@
 package com.rs.game.route;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.rs.cores.CoresManager;
+
 /**
- * Route finder, designed for single-threaded usage.
+ * Route finder, safe to use from any thread.
+ * Every thread searches with buffers of its own, so the last path getters return the
+ * last route found by the calling thread.
  * @author Mangis
  */
 public class RouteFinder {
@@ -12,10 +18,11 @@ public class RouteFinder {
     public static final int WALK_ROUTEFINDER = 0;
     
     /**
-     * Last routefinder that was used.
+     * Route finder for routes of any length, see {@link HierarchicalRouteFinder}.
+     * Only found through {@link #find} and {@link #findAsync}.
      */
-    private static int lastUsed;
-    
+    public static final int LONG_ROUTEFINDER = 1;
+
     /**
      * Find's route using given strategy.
      * Returns amount of steps found.
@@ -24,51 +31,59 @@ public class RouteFinder {
      * If steps < 0, route does not exist.
      */
     public static int findRoute(int type, int srcX, int srcY, int srcZ, int srcSizeXY, RouteStrategy strategy, boolean findAlternative) {
-	switch (lastUsed = type) {
+	switch (type) {
 	    case WALK_ROUTEFINDER:
-		return WalkRouteFinder.findRoute(srcX, srcY, srcZ, srcSizeXY, strategy, findAlternative);
+		return WalkRouteFinder.get().findRoute(srcX, srcY, srcZ, srcSizeXY, strategy, findAlternative);
 	    default:
 		throw new RuntimeException("Unknown routefinder type.");
 	}
     }
-    
 
     /**
-     * Get's last path buffer x.
+     * Find's route using given strategy, copying the path into a route of it's own.
+     */
+    public static Route find(int type, int srcX, int srcY, int srcZ, int srcSizeXY, RouteStrategy strategy, boolean findAlternative) {
+	if (type == LONG_ROUTEFINDER)
+	    return HierarchicalRouteFinder.find(srcX, srcY, srcZ, srcSizeXY, strategy, findAlternative);
+	int steps = findRoute(type, srcX, srcY, srcZ, srcSizeXY, strategy, findAlternative);
+	int[] bufferX = new int[Math.max(0, steps)];
+	int[] bufferY = new int[Math.max(0, steps)];
+	if (steps > 0) {
+	    System.arraycopy(getLastPathBufferX(), 0, bufferX, 0, steps);
+	    System.arraycopy(getLastPathBufferY(), 0, bufferY, 0, steps);
+	}
+	return new Route(srcX, srcY, srcZ, srcSizeXY, strategy, findAlternative, steps, bufferX, bufferY, lastIsAlternative());
+    }
+
+    /**
+     * Find's route using given strategy on the {@link CoresManager#worldUpdateExecutor}.
+     * The strategy must not be changed until the route is found.
+     */
+    public static CompletableFuture<Route> findAsync(int type, int srcX, int srcY, int srcZ, int srcSizeXY, RouteStrategy strategy, boolean findAlternative) {
+	return CompletableFuture.supplyAsync(() -> find(type, srcX, srcY, srcZ, srcSizeXY, strategy, findAlternative), CoresManager.worldUpdateExecutor);
+    }
+
+    /**
+     * Get's last path buffer x of the calling thread.
      * Modifying the buffer in any way is prohibited.
      */
     public static int[] getLastPathBufferX() {
-	switch (lastUsed) {
-	    case WALK_ROUTEFINDER:
-		return WalkRouteFinder.getLastPathBufferX();
-	    default:
-		throw new RuntimeException("Unknown routefinder type.");
-	}
+	return WalkRouteFinder.get().getLastPathBufferX();
     }
-    
+
     /**
-     * Get's last path buffer y.
+     * Get's last path buffer y of the calling thread.
      * Modifying the buffer in any way is prohibited.
      */
     public static int[] getLastPathBufferY() {
-	switch (lastUsed) {
-	    case WALK_ROUTEFINDER:
-		return WalkRouteFinder.getLastPathBufferY();
-	    default:
-		throw new RuntimeException("Unknown routefinder type.");
-	}
+	return WalkRouteFinder.get().getLastPathBufferY();
     }
-    
+
     /**
-     * Whether last path is only alternative path.
+     * Whether last path of the calling thread is only alternative path.
      */
     public static boolean lastIsAlternative() {
-	switch (lastUsed) {
-	    case WALK_ROUTEFINDER:
-		return WalkRouteFinder.lastIsAlternative();
-	    default:
-		throw new RuntimeException("Unknown routefinder type.");
-	}
+	return WalkRouteFinder.get().lastIsAlternative();
     }
 
 }
@@ -1,14 +1,17 @@
 package com.rs.game.route;
 
+import java.util.Arrays;
+
 import com.rs.game.map.Region;
 import com.rs.game.map.RegionMap;
 import com.rs.game.map.World;
 
 /**
  * Walking route finder working on third flag range, designed for walking routes.
+ * Every thread searches with its own finder, see {@link #get()}.
  * @author Mangis
  */
-public class WalkRouteFinder {
+public final class WalkRouteFinder {
     private static final int GRAPH_SIZE = 128;
     private static final int QUEUE_SIZE = (GRAPH_SIZE * GRAPH_SIZE) / 4; // we do /4 because each tile can only be accessed from single direction
     private static final int ALTERNATIVE_ROUTE_MAX_DISTANCE = 100;
@@ -19,19 +22,34 @@ public class WalkRouteFinder {
     private static final int DIR_SOUTH = 0x4;
     private static final int DIR_WEST = 0x8;
     
-    private static final int[][] directions = new int[GRAPH_SIZE][GRAPH_SIZE];
-    private static final int[][] distances = new int[GRAPH_SIZE][GRAPH_SIZE];
-    private static final int[][] clip = new int[GRAPH_SIZE][GRAPH_SIZE];
-    private static final int[] bufferX = new int[QUEUE_SIZE];
-    private static final int[] bufferY = new int[QUEUE_SIZE];
-    private static int exitX = -1;
-    private static int exitY = -1;
-    private static boolean isAlternative;
+    /**
+     * The route finder of every thread, so searches on different threads never share buffers.
+     */
+    private static final ThreadLocal<WalkRouteFinder> FINDERS = ThreadLocal.withInitial(WalkRouteFinder::new);
     
-    public static boolean debug = true;
-    public static long debug_transmittime = 0;
-
+    private final int[][] directions = new int[GRAPH_SIZE][GRAPH_SIZE];
+    private final int[][] distances = new int[GRAPH_SIZE][GRAPH_SIZE];
+    private final int[][] clip = new int[GRAPH_SIZE][GRAPH_SIZE];
+    /**
+     * The search every tile was last visited by, so the graph doesn't have to be cleared between searches.
+     */
+    private final int[][] visited = new int[GRAPH_SIZE][GRAPH_SIZE];
+    private final int[] bufferX = new int[QUEUE_SIZE];
+    private final int[] bufferY = new int[QUEUE_SIZE];
+    private int generation;
+    private int exitX = -1;
+    private int exitY = -1;
+    private boolean isAlternative;
+    
+    private WalkRouteFinder() {
+    }
     
+    /**
+     * Get's the route finder of the calling thread.
+     */
+    static WalkRouteFinder get() {
+	return FINDERS.get();
+    }
     
     /**
      * Find's route using given strategy.
@@ -40,23 +58,15 @@ public class WalkRouteFinder {
      * If steps = 0, route exists, but no need to move.
      * If steps < 0, route does not exist.
      */
-    protected static int findRoute(int srcX, int srcY, int srcZ, int srcSizeXY, RouteStrategy strategy, boolean findAlternative) {
+    int findRoute(int srcX, int srcY, int srcZ, int srcSizeXY, RouteStrategy strategy, boolean findAlternative) {
 	isAlternative = false;
-	for (int x = 0; x < GRAPH_SIZE; x++) {
-	    for (int y = 0; y < GRAPH_SIZE; y++) {
-		directions[x][y] = 0;
-		distances[x][y] = 99999999;
-	    }
-	}
-	
-	if (debug) {
-	    long start = System.nanoTime();
-	    transmitClipData(srcX, srcY, srcZ);
-	    debug_transmittime = System.nanoTime() - start;
-	}
-	else {
-	    transmitClipData(srcX, srcY, srcZ);
+	if (++generation == 0) {
+	    // the stamps wrapped around, clear them once
+	    for (int x = 0; x < GRAPH_SIZE; x++)
+		Arrays.fill(visited[x], 0);
+	    generation = 1;
 	}
+	transmitClipData(srcX, srcY, srcZ);
 	
 	// we could use performCalculationSX() for every size, but since most common size's are 1 and 2,
 	// we will have optimized algorhytm's for them.
@@ -99,7 +109,7 @@ public class WalkRouteFinder {
 		for (int checkY = (approxDestY - ALTERNATIVE_ROUTE_RANGE); checkY <= (approxDestY + ALTERNATIVE_ROUTE_RANGE); checkY++) {
 		    int graphX = checkX - graphBaseX;
 		    int graphY = checkY - graphBaseY;
-		    if (graphX < 0 || graphY < 0 || graphX >= GRAPH_SIZE || graphY >= GRAPH_SIZE || distances[graphX][graphY] >= ALTERNATIVE_ROUTE_MAX_DISTANCE)
+		    if (graphX < 0 || graphY < 0 || graphX >= GRAPH_SIZE || graphY >= GRAPH_SIZE || visited[graphX][graphY] != generation || distances[graphX][graphY] >= ALTERNATIVE_ROUTE_MAX_DISTANCE)
 			continue; // we are out of graph's bounds or too much steps.
 		    // calculate the delta's.
 		    // when calculating, we are also taking the approximated destination size into account to increase precise. 
@@ -172,12 +182,14 @@ public class WalkRouteFinder {
     /**
      * Perform's size 1 calculations.
      */
-    private static boolean performCalculationS1(int srcX, int srcY, RouteStrategy strategy) {
-	// first, we will cache our static fields to local variables, this is done for performance, because
+    private boolean performCalculationS1(int srcX, int srcY, RouteStrategy strategy) {
+	// first, we will cache our fields to local variables, this is done for performance, because
 	// modern jit compiler's usually takes advantage of things like this
 	int[][] _directions = directions;
 	int[][] _distances = distances;
 	int[][] _clip = clip;
+	int[][] _visited = visited;
+	int _generation = generation;
 	int[] _bufferX = bufferX;
 	int[] _bufferY = bufferY;
 	
@@ -194,6 +206,7 @@ public class WalkRouteFinder {
 	// setup information about source tile.
 	_distances[currentGraphX][currentGraphY] = 0;
 	_directions[currentGraphX][currentGraphY] = 99;
+	_visited[currentGraphX][currentGraphY] = _generation;
 	
 	// queue variables
 	int read = 0, write = 0;
@@ -218,77 +231,93 @@ public class WalkRouteFinder {
 	    
 	    // if we can't exit at current tile, check where we can go from this tile
 	    int nextDistance = _distances[currentGraphX][currentGraphY] + 1;
-	    if (currentGraphX > 0 && _directions[currentGraphX - 1][currentGraphY] == 0 && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX > 0 && _visited[currentGraphX - 1][currentGraphY] != _generation && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to west, queue it
 		_bufferX[write] = currentX - 1;
 		_bufferY[write] = currentY;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX - 1][currentGraphY] = DIR_EAST;
+		
+		_visited[currentGraphX - 1][currentGraphY] = _generation;
 		_distances[currentGraphX - 1][currentGraphY] = nextDistance;
 	    }
-	    if (currentGraphX < (GRAPH_SIZE - 1) && _directions[currentGraphX + 1][currentGraphY] == 0 && (_clip[currentGraphX + 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX < (GRAPH_SIZE - 1) && _visited[currentGraphX + 1][currentGraphY] != _generation && (_clip[currentGraphX + 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to east, queue it
 		_bufferX[write] = currentX + 1;
 		_bufferY[write] = currentY;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX + 1][currentGraphY] = DIR_WEST;
+		
+		_visited[currentGraphX + 1][currentGraphY] = _generation;
 		_distances[currentGraphX + 1][currentGraphY] = nextDistance;
 	    }
-	    if (currentGraphY > 0 && _directions[currentGraphX][currentGraphY - 1] == 0 && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphY > 0 && _visited[currentGraphX][currentGraphY - 1] != _generation && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to south, queue it
 		_bufferX[write] = currentX;
 		_bufferY[write] = currentY - 1;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX][currentGraphY - 1] = DIR_NORTH;
+		
+		_visited[currentGraphX][currentGraphY - 1] = _generation;
 		_distances[currentGraphX][currentGraphY - 1] = nextDistance;
 	    }
-	    if (currentGraphY < (GRAPH_SIZE - 1) && _directions[currentGraphX][currentGraphY + 1] == 0 && (_clip[currentGraphX][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphY < (GRAPH_SIZE - 1) && _visited[currentGraphX][currentGraphY + 1] != _generation && (_clip[currentGraphX][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to north, queue it
 		_bufferX[write] = currentX;
 		_bufferY[write] = currentY + 1;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX][currentGraphY + 1] = DIR_SOUTH;
+		
+		_visited[currentGraphX][currentGraphY + 1] = _generation;
 		_distances[currentGraphX][currentGraphY + 1] = nextDistance;
 	    }
 	    // diagonal checks, comment them to disable diagonal routes.
-	    if (currentGraphX > 0 && currentGraphY > 0 && _directions[currentGraphX - 1][currentGraphY - 1] == 0 && (_clip[currentGraphX - 1][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX > 0 && currentGraphY > 0 && _visited[currentGraphX - 1][currentGraphY - 1] != _generation && (_clip[currentGraphX - 1][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to south west, queue it
 		_bufferX[write] = currentX - 1;
 		_bufferY[write] = currentY - 1;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX - 1][currentGraphY - 1] = DIR_NORTH | DIR_EAST;
+		
+		_visited[currentGraphX - 1][currentGraphY - 1] = _generation;
 		_distances[currentGraphX - 1][currentGraphY - 1] = nextDistance;
 	    }
-	    if (currentGraphX < (GRAPH_SIZE - 1) && currentGraphY > 0 && _directions[currentGraphX + 1][currentGraphY - 1] == 0 && (_clip[currentGraphX + 1][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX < (GRAPH_SIZE - 1) && currentGraphY > 0 && _visited[currentGraphX + 1][currentGraphY - 1] != _generation && (_clip[currentGraphX + 1][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to south east, queue it
 		_bufferX[write] = currentX + 1;
 		_bufferY[write] = currentY - 1;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX + 1][currentGraphY - 1] = DIR_NORTH | DIR_WEST;
+		
+		_visited[currentGraphX + 1][currentGraphY - 1] = _generation;
 		_distances[currentGraphX + 1][currentGraphY - 1] = nextDistance;
 	    }
-	    if (currentGraphX > 0 && currentGraphY < (GRAPH_SIZE - 1) && _directions[currentGraphX - 1][currentGraphY + 1] == 0 && (_clip[currentGraphX - 1][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX > 0 && currentGraphY < (GRAPH_SIZE - 1) && _visited[currentGraphX - 1][currentGraphY + 1] != _generation && (_clip[currentGraphX - 1][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to north west, queue it.
 		_bufferX[write] = currentX - 1;
 		_bufferY[write] = currentY + 1;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX - 1][currentGraphY + 1] = DIR_SOUTH | DIR_EAST;
+		
+		_visited[currentGraphX - 1][currentGraphY + 1] = _generation;
 		_distances[currentGraphX - 1][currentGraphY + 1] = nextDistance;
 	    }
-	    if (currentGraphX < (GRAPH_SIZE - 1) && currentGraphY < (GRAPH_SIZE - 1) && _directions[currentGraphX + 1][currentGraphY + 1] == 0 && (_clip[currentGraphX + 1][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX < (GRAPH_SIZE - 1) && currentGraphY < (GRAPH_SIZE - 1) && _visited[currentGraphX + 1][currentGraphY + 1] != _generation && (_clip[currentGraphX + 1][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX][currentGraphY + 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		// we can go to north east, queue it.
 		_bufferX[write] = currentX + 1;
 		_bufferY[write] = currentY + 1;
 		write = (write + 1) & (QUEUE_SIZE - 1);
 		
 		_directions[currentGraphX + 1][currentGraphY + 1] = DIR_SOUTH | DIR_WEST;
+		
+		_visited[currentGraphX + 1][currentGraphY + 1] = _generation;
 		_distances[currentGraphX + 1][currentGraphY + 1] = nextDistance;
 	    }
 	    
@@ -302,19 +331,21 @@ public class WalkRouteFinder {
     /**
      * Perform's size 2 calculations.
      */
-    private static boolean performCalculationS2(int srcX, int srcY, RouteStrategy strategy) {
+    private boolean performCalculationS2(int srcX, int srcY, RouteStrategy strategy) {
 	return performCalculationSX(srcX, srcY, 2, strategy); // TODO optimized algorhytm's.
     }
     
     /**
      * Perform's size x calculations.
      */
-    private static boolean performCalculationSX(int srcX, int srcY, int size, RouteStrategy strategy) {
-	// first, we will cache our static fields to local variables, this is done for performance, because
+    private boolean performCalculationSX(int srcX, int srcY, int size, RouteStrategy strategy) {
+	// first, we will cache our fields to local variables, this is done for performance, because
 	// modern jit compiler's usually takes advantage of things like this
 	int[][] _directions = directions;
 	int[][] _distances = distances;
 	int[][] _clip = clip;
+	int[][] _visited = visited;
+	int _generation = generation;
 	int[] _bufferX = bufferX;
 	int[] _bufferY = bufferY;
 	
@@ -331,6 +362,7 @@ public class WalkRouteFinder {
 	// setup information about source tile.
 	_distances[currentGraphX][currentGraphY] = 0;
 	_directions[currentGraphX][currentGraphY] = 99;
+	_visited[currentGraphX][currentGraphY] = _generation;
 	
 	// queue variables
 	int read = 0, write = 0;
@@ -355,7 +387,7 @@ public class WalkRouteFinder {
 	    
 	    // if we can't exit at current tile, check where we can go from this tile
 	    int nextDistance = _distances[currentGraphX][currentGraphY] + 1;
-	    if (currentGraphX > 0 && _directions[currentGraphX - 1][currentGraphY] == 0 && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX - 1][currentGraphY + (size - 1)] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX > 0 && _visited[currentGraphX - 1][currentGraphY] != _generation && (_clip[currentGraphX - 1][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX - 1][currentGraphY + (size - 1)] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < (size - 1); y++) {
 			if ((_clip[currentGraphX - 1][currentGraphY + y] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -367,11 +399,13 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX - 1][currentGraphY] = DIR_EAST;
+		    
+		    _visited[currentGraphX - 1][currentGraphY] = _generation;
 		    _distances[currentGraphX - 1][currentGraphY] = nextDistance;
 		}
 		while (false);
 	    }
-	    if (currentGraphX < (GRAPH_SIZE - size) && _directions[currentGraphX + 1][currentGraphY] == 0 && (_clip[currentGraphX + size][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + size][currentGraphY + (size - 1)] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX < (GRAPH_SIZE - size) && _visited[currentGraphX + 1][currentGraphY] != _generation && (_clip[currentGraphX + size][currentGraphY] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + size][currentGraphY + (size - 1)] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < (size - 1); y++) {
 			if ((_clip[currentGraphX + size][currentGraphY + y] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -383,11 +417,13 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX + 1][currentGraphY] = DIR_WEST;
+		    
+		    _visited[currentGraphX + 1][currentGraphY] = _generation;
 		    _distances[currentGraphX + 1][currentGraphY] = nextDistance;
 		}
 		while (false);
 	    }
-	    if (currentGraphY > 0 && _directions[currentGraphX][currentGraphY - 1] == 0 && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + (size - 1)][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphY > 0 && _visited[currentGraphX][currentGraphY - 1] != _generation && (_clip[currentGraphX][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + (size - 1)][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < (size - 1); y++) {
 			if ((_clip[currentGraphX + y][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -399,11 +435,13 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX][currentGraphY - 1] = DIR_NORTH;
+		    
+		    _visited[currentGraphX][currentGraphY - 1] = _generation;
 		    _distances[currentGraphX][currentGraphY - 1] = nextDistance;
 		}
 		while (false);
 	    }
-	    if (currentGraphY < (GRAPH_SIZE - size) && _directions[currentGraphX][currentGraphY + 1] == 0 && (_clip[currentGraphX][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + (size - 1)][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphY < (GRAPH_SIZE - size) && _visited[currentGraphX][currentGraphY + 1] != _generation && (_clip[currentGraphX][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0 && (_clip[currentGraphX + (size - 1)][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < (size - 1); y++) {
 			if ((_clip[currentGraphX + y][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -415,12 +453,14 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX][currentGraphY + 1] = DIR_SOUTH;
+		    
+		    _visited[currentGraphX][currentGraphY + 1] = _generation;
 		    _distances[currentGraphX][currentGraphY + 1] = nextDistance;
 		}
 		while (false);
 	    }
 	    // diagonal checks, comment them to disable diagonal routes.
-	    if (currentGraphX > 0 && currentGraphY > 0 && _directions[currentGraphX - 1][currentGraphY - 1] == 0 && (_clip[currentGraphX - 1][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX > 0 && currentGraphY > 0 && _visited[currentGraphX - 1][currentGraphY - 1] != _generation && (_clip[currentGraphX - 1][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do { 
 		    for (int y = 1; y < size; y++) {
 			if ((_clip[currentGraphX - 1][currentGraphY + (y - 1)] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) != 0 || (_clip[currentGraphX + (y - 1)][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -432,11 +472,13 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX - 1][currentGraphY - 1] = DIR_NORTH | DIR_EAST;
+		    
+		    _visited[currentGraphX - 1][currentGraphY - 1] = _generation;
 		    _distances[currentGraphX - 1][currentGraphY - 1] = nextDistance;
 		}
 		while (false);
 	   }
-	   if (currentGraphX < (GRAPH_SIZE - size) && currentGraphY > 0 && _directions[currentGraphX + 1][currentGraphY - 1] == 0 && (_clip[currentGraphX + size][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	   if (currentGraphX < (GRAPH_SIZE - size) && currentGraphY > 0 && _visited[currentGraphX + 1][currentGraphY - 1] != _generation && (_clip[currentGraphX + size][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < size; y++) {
 			if ((_clip[currentGraphX + size][currentGraphY + (y - 1)] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) != 0 || (_clip[currentGraphX + y][currentGraphY - 1] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -448,11 +490,13 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX + 1][currentGraphY - 1] = DIR_NORTH | DIR_WEST;
+		    
+		    _visited[currentGraphX + 1][currentGraphY - 1] = _generation;
 		    _distances[currentGraphX + 1][currentGraphY - 1] = nextDistance;
 		}
 		while (false);
 	    }
-	    if (currentGraphX > 0 && currentGraphY < (GRAPH_SIZE - size) && _directions[currentGraphX - 1][currentGraphY + 1] == 0 && (_clip[currentGraphX - 1][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX > 0 && currentGraphY < (GRAPH_SIZE - size) && _visited[currentGraphX - 1][currentGraphY + 1] != _generation && (_clip[currentGraphX - 1][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < size; y++) {
 			if ((_clip[currentGraphX - 1][currentGraphY + y] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHEAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE)) != 0 || (_clip[currentGraphX + (y - 1)][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -464,11 +508,13 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX - 1][currentGraphY + 1] = DIR_SOUTH | DIR_EAST;
+		    
+		    _visited[currentGraphX - 1][currentGraphY + 1] = _generation;
 		    _distances[currentGraphX - 1][currentGraphY + 1] = nextDistance;
 		}
 		while (false);
 	    }
-	    if (currentGraphX < (GRAPH_SIZE - size) && currentGraphY < (GRAPH_SIZE - size) && _directions[currentGraphX + 1][currentGraphY + 1] == 0 && (_clip[currentGraphX + size][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
+	    if (currentGraphX < (GRAPH_SIZE - size) && currentGraphY < (GRAPH_SIZE - size) && _visited[currentGraphX + 1][currentGraphY + 1] != _generation && (_clip[currentGraphX + size][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) == 0) {
 		exit: do {
 		    for (int y = 1; y < size; y++) {
 			if ((_clip[currentGraphX + y][currentGraphY + size] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHEAST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) != 0 || (_clip[currentGraphX + size][currentGraphY + y] & (Flags.FLOOR_BLOCKSWALK | Flags.FLOORDECO_BLOCKSWALK | Flags.OBJ_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_NORTHWEST_BLOCKSWALK_ALTERNATIVE | Flags.CORNEROBJ_SOUTHWEST_BLOCKSWALK_ALTERNATIVE)) != 0)
@@ -480,6 +526,8 @@ public class WalkRouteFinder {
 		    write = (write + 1) & (QUEUE_SIZE - 1);
 		    
 		    _directions[currentGraphX + 1][currentGraphY + 1] = DIR_SOUTH | DIR_WEST;
+		    
+		    _visited[currentGraphX + 1][currentGraphY + 1] = _generation;
 		    _distances[currentGraphX + 1][currentGraphY + 1] = nextDistance;
 		}
 		while (false);
@@ -496,7 +544,7 @@ public class WalkRouteFinder {
     /**
      * Transmit's clip data to route finder buffers.
      */
-    private static void transmitClipData(int x, int y, int z) {
+    private void transmitClipData(int x, int y, int z) {
 	int graphBaseX = x - (GRAPH_SIZE / 2);
 	int graphBaseY = y - (GRAPH_SIZE / 2);
 	
@@ -512,10 +560,10 @@ public class WalkRouteFinder {
 			    clip[fillX - graphBaseX][fillY - graphBaseY] = -1;
 		}
 		else {
-		    int[][] masks = map.getMasks()[z];
+		    int[] masks = map.getMasks();
 		    for (int fillX = startX; fillX < endX; fillX++) {
 			for (int fillY = startY; fillY < endY; fillY++) {
-			    clip[fillX - graphBaseX][fillY - graphBaseY] = masks[fillX & 0x3F][fillY & 0x3F];
+			    clip[fillX - graphBaseX][fillY - graphBaseY] = masks[RegionMap.index(z, fillX & 0x3F, fillY & 0x3F)];
 			}
 		    }
 		}	
@@ -529,7 +577,7 @@ public class WalkRouteFinder {
      * Get's last path buffer x.
      * Modifying the buffer in any way is prohibited.
      */
-    protected static int[] getLastPathBufferX() {
+    int[] getLastPathBufferX() {
 	return bufferX;
     }
     
@@ -537,14 +585,14 @@ public class WalkRouteFinder {
      * Get's last path buffer y.
      * Modifying the buffer in any way is prohibited.
      */
-    protected static int[] getLastPathBufferY() {
+    int[] getLastPathBufferY() {
 	return bufferY;
     }
     
     /**
      * Whether last path is only alternative path.
      */
-    protected static boolean lastIsAlternative() {
+    boolean lastIsAlternative() {
 	return isAlternative;
     }
 }
@@ -38,6 +38,11 @@ public abstract class Task {
 	 */
 	private Optional<Object> key = Optional.empty();
 	
+	/**
+	 * The world tick this {@code Task} was submitted on.
+	 */
+	private long submittedTick;
+	
 	/**
 	 * Creates a new {@link Task}.
 	 * @param instant If this {@code Task} executes upon being submitted.
@@ -93,6 +98,14 @@ public abstract class Task {
 		World.get().submit(this);
 	}
 	
+	/**
+	 * Gets the amount of ticks passed since this {@code Task} was submitted.
+	 * @return the ticks passed.
+	 */
+	public long getTicksPassed() {
+		return World.get().getTaskManager().getTick() - submittedTick;
+	}
+	
 	/**
 	 * Returns the flag which detemines if the task can be executed on the sequence.
 	 */
@@ -3,6 +3,9 @@ package com.rs.game.task;
 import java.util.Iterator;
 import java.util.Objects;
 
+import com.rs.game.map.GameClock;
+import com.rs.game.map.TickProfiler;
+
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 import lombok.SneakyThrows;
@@ -34,7 +37,9 @@ public final class TaskManager {
 				}
 				it.onSequence();
 				if(it.needsExecute() && it.canExecute()) {
+					long start = System.nanoTime();
 					it.execute();
+					TickProfiler.recordTask(it, System.nanoTime() - start);
 				}
 			}
 		}
@@ -49,6 +54,7 @@ public final class TaskManager {
 		if(!task.canExecute()) {
 			return;
 		}
+		task.setSubmittedTick(getTick());
 		task.onSubmit();
 		if(task.isInstant()) {
 			task.execute();
@@ -56,6 +62,14 @@ public final class TaskManager {
 		tasks.add(task);
 	}
 	
+	/**
+	 * Gets the current world tick, see {@link GameClock#getTick()}.
+	 * @return the current tick.
+	 */
+	public long getTick() {
+		return GameClock.getTick();
+	}
+	
 	/**
 	 * Iterates through all active {@link Task}s and cancels all that have {@code attachment} as their attachment.
 	 */
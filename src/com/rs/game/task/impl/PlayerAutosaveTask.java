@@ -0,0 +1,46 @@
+package com.rs.game.task.impl;
+
+import com.rs.GameConstants;
+import com.rs.game.map.World;
+import com.rs.game.task.Task;
+import com.rs.net.PlayerPersistence;
+
+/**
+ * Saves every player once per {@link GameConstants#AUTOSAVE_MINUTES}, spread over
+ * every tick of that period so no single tick snapshots all of them. Each tick saves
+ * the players whose index falls in its slice.
+ */
+public final class PlayerAutosaveTask extends Task {
+
+	/**
+	 * The ticks it takes to save every player once.
+	 */
+	private static final int PERIOD = Math.max(1, GameConstants.AUTOSAVE_MINUTES * 100);
+
+	/**
+	 * The slice of players saved next.
+	 */
+	private int slice;
+
+	/**
+	 * Creates a new {@link PlayerAutosaveTask}.
+	 */
+	public PlayerAutosaveTask() {
+		super(1, false);
+	}
+
+	@Override
+	public void execute() {
+		int slice = this.slice;
+		World.players().filter(player -> player.getIndex() % PERIOD == slice).forEach(PlayerPersistence::save);
+		if (++this.slice == PERIOD) {
+			this.slice = 0;
+			PlayerPersistence.logSummary();
+		}
+	}
+
+	@Override
+	public void onCancel() {
+		World.get().submit(new PlayerAutosaveTask());
+	}
+}
@@ -0,0 +1,25 @@
+package com.rs.game.task.impl;
+
+import com.rs.game.map.RegionStreamer;
+import com.rs.game.map.World;
+import com.rs.game.task.Task;
+
+public final class RegionUnloadTask extends Task {
+
+	/**
+	 * Creates a new {@link RegionUnloadTask}.
+	 */
+	public RegionUnloadTask() {
+		super(100, false);
+	}
+
+	@Override
+	public void execute() {
+		RegionStreamer.unloadIdleRegions();
+	}
+
+	@Override
+	public void onCancel() {
+		World.get().submit(new RegionUnloadTask());
+	}
+}
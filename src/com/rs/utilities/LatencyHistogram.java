@@ -0,0 +1,100 @@
+package com.rs.utilities;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size, log-linear latency histogram in the spirit of HdrHistogram.
+ * <p>
+ * Every power of two is split into 16 linear buckets, so any recorded value is
+ * reported within roughly 6% of its real value. Recording never allocates, which
+ * makes it safe to use on the game thread every tick.
+ * <p>
+ * This class is <b>not</b> intended for concurrent writers.
+ * @author Dennis
+ */
+public final class LatencyHistogram {
+
+	/**
+	 * The amount of bits of precision kept within every power of two.
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/**
+	 * The amount of linear buckets every power of two is split into.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The bucket counts, large enough to hold any positive {@code long}.
+	 */
+	private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+
+	private long count;
+	private long total;
+	private long max;
+
+	/**
+	 * Records a single value.
+	 * @param value the value, negative values are recorded as {@code 0}.
+	 */
+	public void record(long value) {
+		if (value < 0)
+			value = 0;
+		counts[indexOf(value)]++;
+		count++;
+		total += value;
+		if (value > max)
+			max = value;
+	}
+
+	/**
+	 * Gets the value at the given percentile.
+	 * @param percentile the percentile, between {@code 0} and {@code 100}.
+	 * @return the highest value equivalent to the percentile, or {@code 0} if empty.
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0)
+			return 0;
+		long target = Math.max(1, (long) Math.ceil(count * percentile / 100D));
+		long seen = 0;
+		for (int index = 0; index < counts.length; index++) {
+			seen += counts[index];
+			if (seen >= target)
+				return Math.min(highestValueOf(index), max);
+		}
+		return max;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	public long getMean() {
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * Clears every recorded value.
+	 */
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+	private static int indexOf(long value) {
+		int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+
+	private static long highestValueOf(int index) {
+		int shift = index < SUB_BUCKETS << 1 ? 0 : (index >> SUB_BUCKET_BITS) - 1;
+		long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
@@ -1,11 +1,20 @@
 package com.rs.utilities;
 
+import com.rs.utilities.LogUtility.LogType;
 import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+import lombok.SneakyThrows;
 import lombok.val;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Tyluur <itstyluur@icloud.com>
@@ -13,50 +22,95 @@ import java.util.List;
  */
 public class ReflectionUtils {
 
+    /**
+     * The resource folder holding the plugin index written by the
+     * {@code generatePluginIndex} build task, one file per plugin type.
+     */
+    private static final String INDEX_PATH = "META-INF/plugin-index/";
+
+    /**
+     * The classpath scan shared by every lookup the index could not answer.
+     */
+    private static ScanResult scanResult;
+
     /**
      * Gets the subclasses of a generic class type and collects them into a [list][List]
      */
-    @SuppressWarnings("unchecked")
     public static <T> List<T> getSubclassesOf(Class<T> clazz) {
-        val name = clazz.getName();
-
-        val classes = new ArrayList<T>();
-        val result = new ClassGraph().enableClassInfo().blacklistClasses(name).scan();
-        val subclasses = result.getSubclasses(name);
+        return getInstancesOf(clazz, false);
+    }
 
-        for (ClassInfo subclass : subclasses) {
-            try {
-                val subClazz = result.loadClass(subclass.getName(), true).newInstance();
-                classes.add((T) subClazz);
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+    /**
+     * Gets all the classes which implement the parameterized type.
+     */
+    public static <T> List<T> getImplementersOf(Class<T> clazz) {
+        return getInstancesOf(clazz, true);
+    }
 
-        return classes;
+    /**
+     * Releases the shared classpath scan, if one had to be made. Lookups made
+     * afterwards will scan again should the index be missing.
+     */
+    public static synchronized void releaseScan() {
+        if (scanResult == null)
+            return;
+        scanResult.close();
+        scanResult = null;
     }
 
     /**
-     * Gets all the classes which implement the parameterized type.
+     * Instantiates every class listed for {@code clazz}, reading the plugin index
+     * first and falling back to the shared classpath scan.
      */
     @SuppressWarnings("unchecked")
-    public static <T> List<T> getImplementersOf(Class<T> clazz) {
-        val name = clazz.getName();
+    private static <T> List<T> getInstancesOf(Class<T> clazz, boolean implementers) {
+        val start = System.nanoTime();
+        val indexed = readIndex(clazz);
+        val names = indexed != null ? indexed : scan(clazz, implementers);
 
         val classes = new ArrayList<T>();
-        val result = new ClassGraph().enableClassInfo().blacklistClasses(name).scan();
-        val subclasses = result.getClassesImplementing(name);
-
-        for (ClassInfo subclass : subclasses) {
+        for (String name : names) {
             try {
-                val subClazz = result.loadClass(subclass.getName(), true).newInstance();
+                val subClazz = Class.forName(name, true, clazz.getClassLoader()).newInstance();
                 classes.add((T) subClazz);
-            } catch (InstantiationException | IllegalAccessException e) {
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
                 e.printStackTrace();
             }
         }
 
+        LogUtility.log(LogType.DEBUG, "Loaded " + classes.size() + " " + clazz.getSimpleName() + " types from the "
+                + (indexed != null ? "plugin index" : "classpath scan") + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms.");
         return classes;
     }
 
+    /**
+     * Reads the class names indexed for {@code clazz}.
+     *
+     * @return the class names, or {@code null} if the type isn't indexed.
+     */
+    @SneakyThrows(IOException.class)
+    private static List<String> readIndex(Class<?> clazz) {
+        try (InputStream stream = clazz.getClassLoader().getResourceAsStream(INDEX_PATH + clazz.getName())) {
+            if (stream == null)
+                return null;
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            return reader.lines().map(String::trim).filter(line -> !line.isEmpty()).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Looks {@code clazz} up in the shared classpath scan, running it once if needed.
+     */
+    private static synchronized List<String> scan(Class<?> clazz, boolean implementers) {
+        if (scanResult == null) {
+            val start = System.nanoTime();
+            scanResult = new ClassGraph().enableClassInfo().scan();
+            LogUtility.log(LogType.WARN, "Plugin index missing, scanned the classpath in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        }
+        val name = clazz.getName();
+        ClassInfoList subclasses = implementers ? scanResult.getClassesImplementing(name) : scanResult.getSubclasses(name);
+        return subclasses.filter(info -> !info.isAbstract() && !info.isInterface()).getNames();
+    }
 }
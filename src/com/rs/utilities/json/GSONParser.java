@@ -25,9 +25,16 @@ public class GSONParser {
 
 	private static Gson GSON;
 
+	/**
+	 * The same settings as {@link #GSON} without pretty printing, for files nobody reads by hand.
+	 */
+	private static Gson COMPACT_GSON;
+
 	static {
 		GSON = new GsonBuilder().setPrettyPrinting().disableInnerClassSerialization().enableComplexMapKeySerialization().setDateFormat(DateFormat.LONG)
 				.setFieldNamingPolicy(FieldNamingPolicy.IDENTITY).create();
+		COMPACT_GSON = new GsonBuilder().disableInnerClassSerialization().enableComplexMapKeySerialization().setDateFormat(DateFormat.LONG)
+				.setFieldNamingPolicy(FieldNamingPolicy.IDENTITY).create();
 	}
 
 	@SneakyThrows(IOException.class)
@@ -37,6 +44,14 @@ public class GSONParser {
 		}
 	}
 
+	public static <T> T load(Reader reader, Type type) {
+		return GSON.fromJson(reader, type);
+	}
+
+	public static String toCompactJson(Object src, Type type) {
+		return COMPACT_GSON.toJson(src, type);
+	}
+
 	public static void save(Object src, String dir, Type type) {
 		try (Writer writer = Files.newBufferedWriter(Paths.get(dir))) {
 			writer.write(GSON.toJson(src, type));
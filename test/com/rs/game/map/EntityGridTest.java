@@ -0,0 +1,91 @@
+package com.rs.game.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rs.GameProperties;
+import com.rs.game.player.Player;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Finds the players of a walking crowd through the {@link EntityGrid}, checked against
+ * a scan of every player.
+ * @author Dennis
+ */
+public class EntityGridTest {
+
+	private static final int PLAYERS = 500;
+
+	/**
+	 * The south-west tile of the crowd, which spans the corner of four regions.
+	 */
+	private static final int CROWD_X = 3200 - 20, CROWD_Y = 3200 - 20;
+
+	private static final int CROWD_SIZE = 40;
+
+	private final List<Player> players = new ArrayList<>();
+	private final Random random = new Random(22);
+
+	@BeforeClass
+	public static void loadProperties() {
+		GameProperties.getGameProperties().load();
+	}
+
+	@Before
+	public void gather() {
+		for (int index = 0; index < PLAYERS; index++) {
+			Player player = new Player("test");
+			player.getAppearance().setPlayer(player);
+			World.getPlayers().add(player);
+			player.setLocation(new WorldTile(CROWD_X + random.nextInt(CROWD_SIZE), CROWD_Y + random.nextInt(CROWD_SIZE), 0));
+			EntityGrid.update(player);
+			players.add(player);
+		}
+	}
+
+	@After
+	public void leave() {
+		for (Player player : players) {
+			player.setFinished(true);
+			EntityGrid.update(player);
+			World.getPlayers().remove(player);
+		}
+	}
+
+	@Test
+	public void findsPlayersInRangeOfWalkingCrowd() {
+		for (int round = 0; round < 200; round++) {
+			for (Player player : players) {
+				player.setLocation(new WorldTile(player.getX() + random.nextInt(3) - 1, player.getY() + random.nextInt(3) - 1, 0));
+				EntityGrid.update(player);
+			}
+			Player center = players.get(random.nextInt(PLAYERS));
+			int distance = round % 16;
+			IntArrayList found = new IntArrayList();
+			EntityGrid.forEachPlayer(center, distance, player -> found.add(player.getIndex()));
+			IntArrayList scanned = new IntArrayList();
+			for (Player player : players)
+				if (player.withinDistance(center, distance))
+					scanned.add(player.getIndex());
+			found.sort(null);
+			scanned.sort(null);
+			assertEquals(scanned, found);
+		}
+	}
+
+	@Test
+	public void findsNoPlayersOnOtherPlanes() {
+		assertNull(EntityGrid.findPlayer(new WorldTile(CROWD_X + CROWD_SIZE / 2, CROWD_Y + CROWD_SIZE / 2, 1), 14,
+				player -> true));
+	}
+}
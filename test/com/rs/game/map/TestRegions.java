@@ -0,0 +1,50 @@
+package com.rs.game.map;
+
+import java.util.function.IntBinaryOperator;
+
+import com.rs.GameProperties;
+import com.rs.game.route.Flags;
+
+/**
+ * Loads regions with made up clip flags for tests and benchmarks, without the cache.
+ * @author Dennis
+ */
+public final class TestRegions {
+
+	/**
+	 * The first region along either axis, past every region that has music.
+	 */
+	public static final int FIRST_REGION = 160;
+
+	/**
+	 * The x and y of the south-west tile of {@link #FIRST_REGION}.
+	 */
+	public static final int BASE = FIRST_REGION << 6;
+
+	/**
+	 * Loads a square of regions starting at {@link #FIRST_REGION}, surrounded by a ring
+	 * of fully blocked regions so route searches never reach a region that isn't loaded.
+	 * @param regions the amount of regions along either axis.
+	 * @param masks the flags of a tile on plane {@code 0}, given its offset from {@link #BASE}.
+	 */
+	public static void load(int regions, IntBinaryOperator masks) {
+		GameProperties.getGameProperties().load();
+		for (int regionX = FIRST_REGION - 2; regionX < FIRST_REGION + regions + 2; regionX++) {
+			for (int regionY = FIRST_REGION - 2; regionY < FIRST_REGION + regions + 2; regionY++) {
+				boolean border = regionX < FIRST_REGION || regionY < FIRST_REGION || regionX >= FIRST_REGION + regions
+						|| regionY >= FIRST_REGION + regions;
+				int regionId = regionX << 8 | regionY;
+				Region region = new Region(regionId);
+				RegionMap map = new RegionMap(regionId, false);
+				for (int x = 0; x < 64; x++)
+					for (int y = 0; y < 64; y++)
+						map.getMasks()[RegionMap.index(0, x, y)] = border ? Flags.FLOOR_BLOCKSWALK
+								: masks.applyAsInt((regionX - FIRST_REGION << 6) + x, (regionY - FIRST_REGION << 6) + y);
+				World.getRegions().put(regionId, region);
+				region.setMap(map);
+				region.setLoadedObjectSpawns(true);
+				region.setLoadMapStage(2);
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.rs.game.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.rs.game.map.TestRegions;
+import com.rs.game.map.World;
+
+/**
+ * Plans routes through a region split by a wall, with a single chunk leading through it.
+ * The chunk is split into 57 areas by walls around all but its east column, so the
+ * column leading through is an area past the first 32. Blocking the column must be
+ * noticed however its clipping is changed.
+ * @author Dennis
+ */
+public class ChunkConnectivityTest {
+
+	private static final int ALL_WALLS = Flags.WALLOBJ_NORTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE
+			| Flags.WALLOBJ_SOUTH_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE;
+
+	/**
+	 * The x of the column leading through the wall.
+	 */
+	private static final int PASSAGE_X = TestRegions.BASE + 15;
+
+	@Before
+	public void load() {
+		TestRegions.load(1, (x, y) -> {
+			if (y < 8 || y > 15)
+				return 0;
+			if (x < 8 || x > 15)
+				return Flags.FLOOR_BLOCKSWALK;
+			return x == 15 ? Flags.WALLOBJ_EAST_BLOCKSWALK_ALTERNATIVE | Flags.WALLOBJ_WEST_BLOCKSWALK_ALTERNATIVE : ALL_WALLS;
+		});
+	}
+
+	@Test
+	public void plansThroughAreaPastThe32nd() {
+		int[] path = findPathThroughWall();
+		assertNotNull(path);
+		boolean passed = false;
+		for (int node : path) {
+			if (ChunkConnectivity.getChunkX(node) == 1 + (TestRegions.BASE >> 3)
+					&& ChunkConnectivity.getChunkY(node) == 1 + (TestRegions.BASE >> 3)) {
+				assertEquals(PASSAGE_X, ChunkConnectivity.getX(0, node));
+				assertTrue((node & 0x3F) >= 32);
+				passed = true;
+			}
+		}
+		assertTrue(passed);
+	}
+
+	@Test
+	public void forgetsAreasAfterSetMask() {
+		assertNotNull(findPathThroughWall());
+		World.getRegion(TestRegions.FIRST_REGION << 8 | TestRegions.FIRST_REGION).setMask(0, 15, 11, Flags.FLOOR_BLOCKSWALK);
+		assertNull(findPathThroughWall());
+	}
+
+	@Test
+	public void forgetsAreasAfterNeighbourSpill() {
+		assertNotNull(findPathThroughWall());
+		// the fully blocked region west of the one with the wall spilling into it
+		World.getRegion(TestRegions.FIRST_REGION - 1 << 8 | TestRegions.FIRST_REGION).forceGetRegionMap().addMask(0, 64 + 15,
+				11, Flags.FLOOR_BLOCKSWALK);
+		assertNull(findPathThroughWall());
+	}
+
+	private static int[] findPathThroughWall() {
+		return ChunkConnectivity.findPath(0, TestRegions.BASE + 40, TestRegions.BASE + 2, TestRegions.BASE + 40,
+				TestRegions.BASE + 40);
+	}
+}
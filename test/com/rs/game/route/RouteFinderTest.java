@@ -0,0 +1,99 @@
+package com.rs.game.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rs.cores.CoresManager;
+import com.rs.game.map.TestRegions;
+import com.rs.game.route.strategy.FixedTileStrategy;
+
+/**
+ * Searches walk routes over regions with a fifth of the tiles blocked, checking that
+ * routes found on the calling thread and on the world update pool are the same.
+ * @author Dennis
+ */
+public class RouteFinderTest {
+
+	private static final int REGIONS = 2;
+
+	private static final int SEARCHES = 1000;
+
+	/**
+	 * The source x, source y, destination x, destination y and size of every search.
+	 */
+	private static final int[][] SEARCH = new int[SEARCHES][5];
+
+	@BeforeClass
+	public static void load() {
+		Random random = new Random(24);
+		TestRegions.load(REGIONS, (x, y) -> random.nextInt(5) == 0 ? Flags.FLOOR_BLOCKSWALK : 0);
+		for (int[] search : SEARCH) {
+			search[0] = TestRegions.BASE + random.nextInt(REGIONS << 6);
+			search[1] = TestRegions.BASE + random.nextInt(REGIONS << 6);
+			search[2] = search[0] + random.nextInt(121) - 60;
+			search[3] = search[1] + random.nextInt(121) - 60;
+			search[4] = 1 + random.nextInt(3);
+		}
+		if (CoresManager.worldUpdateExecutor == null)
+			CoresManager.worldUpdateExecutor = new ForkJoinPool(4);
+	}
+
+	@Test
+	public void copiesLastPath() {
+		for (int[] search : SEARCH) {
+			int steps = RouteFinder.findRoute(RouteFinder.WALK_ROUTEFINDER, search[0], search[1], 0, search[4],
+					new FixedTileStrategy(search[2], search[3]), true);
+			Route route = find(search);
+			assertEquals(steps, route.getSteps());
+			assertEquals(RouteFinder.lastIsAlternative(), route.isAlternative());
+			for (int step = 0; step < steps; step++) {
+				assertEquals(RouteFinder.getLastPathBufferX()[step], route.getX(step));
+				assertEquals(RouteFinder.getLastPathBufferY()[step], route.getY(step));
+			}
+		}
+	}
+
+	@Test
+	public void findsSameRoutesAsync() {
+		List<CompletableFuture<Route>> futures = new ArrayList<>();
+		for (int[] search : SEARCH)
+			futures.add(RouteFinder.findAsync(RouteFinder.WALK_ROUTEFINDER, search[0], search[1], 0, search[4],
+					new FixedTileStrategy(search[2], search[3]), true));
+		for (int index = 0; index < SEARCHES; index++)
+			assertSameRoute(find(SEARCH[index]), futures.get(index).join());
+	}
+
+	@Test
+	public void staleAfterClippingChange() {
+		int[] search = SEARCH[0];
+		FixedTileStrategy strategy = new FixedTileStrategy(search[2], search[3]);
+		Route route = find(search);
+		assertTrue(route.matches(search[0], search[1], 0, search[4], strategy, true));
+		ChunkConnectivity.invalidate(0, search[0], search[1], 1);
+		assertFalse(route.matches(search[0], search[1], 0, search[4], strategy, true));
+	}
+
+	private static Route find(int[] search) {
+		return RouteFinder.find(RouteFinder.WALK_ROUTEFINDER, search[0], search[1], 0, search[4],
+				new FixedTileStrategy(search[2], search[3]), true);
+	}
+
+	private static void assertSameRoute(Route expected, Route actual) {
+		assertEquals(expected.getSteps(), actual.getSteps());
+		assertEquals(expected.isAlternative(), actual.isAlternative());
+		for (int step = 0; step < expected.getSteps(); step++) {
+			assertEquals(expected.getX(step), actual.getX(step));
+			assertEquals(expected.getY(step), actual.getY(step));
+		}
+	}
+}
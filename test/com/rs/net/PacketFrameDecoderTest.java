@@ -0,0 +1,93 @@
+package com.rs.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rs.GameProperties;
+import com.rs.game.player.Player;
+import com.rs.net.decoders.WorldPacketsDecoder;
+
+/**
+ * Frames world packets through a {@link PacketFrameDecoder} with crafted opcodes.
+ * @author Dennis
+ */
+public class PacketFrameDecoderTest {
+
+	/**
+	 * The ISAAC values the decoder reads next, {@code 0} once they ran out.
+	 */
+	private final Queue<Integer> keys = new ArrayDeque<>();
+
+	private PacketFrameDecoder decoder;
+	private Channel channel;
+
+	@BeforeClass
+	public static void loadProperties() {
+		GameProperties.getGameProperties().load();
+		WorldPacketsDecoder.loadPacketSizes();
+	}
+
+	@Before
+	public void setup() {
+		ISAACCipher cipher = new ISAACCipher(new int[4]) {
+			@Override
+			public int getNextValue() {
+				Integer key = keys.poll();
+				return key == null ? 0 : key;
+			}
+		};
+		Player player = new Player("test");
+		player.setIsaacKeyPair(new IsaacKeyPair(new int[4]) {
+			@Override
+			public ISAACCipher getInKey() {
+				return cipher;
+			}
+		});
+		Session[] session = new Session[1];
+		channel = (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[] { Channel.class },
+				(proxy, method, args) -> method.getName().equals("getAttachment") ? session[0] : null);
+		session[0] = new Session(channel);
+		session[0].setDecoder(3, player);
+		decoder = new PacketFrameDecoder();
+	}
+
+	@Test
+	public void framesPacketSplitOverReads() {
+		assertNull(decoder.decode(null, channel, ChannelBuffers.wrappedBuffer(new byte[] { 76, 1 })));
+		PacketFrame frame = (PacketFrame) decoder.decode(null, channel, ChannelBuffers.wrappedBuffer(new byte[] { 1, 2, 3, 4 }));
+		assertEquals(76, frame.getOpcode());
+		assertEquals(3, frame.getPayload().readableBytes());
+	}
+
+	@Test
+	public void discardsReadWithNegativeOpcode() {
+		// a two-byte opcode whose second byte decodes to (0 - 300)
+		keys.add(0);
+		keys.add(300);
+		ChannelBuffer read = ChannelBuffers.wrappedBuffer(new byte[] { (byte) 128, 0, 76, 1, 2, 3 });
+		assertNull(decoder.decode(null, channel, read));
+		assertEquals(0, read.readableBytes());
+		PacketFrame frame = (PacketFrame) decoder.decode(null, channel, ChannelBuffers.wrappedBuffer(new byte[] { 76, 1, 2, 3 }));
+		assertEquals(76, frame.getOpcode());
+	}
+
+	@Test
+	public void discardsReadWithUnknownOpcode() {
+		ChannelBuffer read = ChannelBuffers.wrappedBuffer(new byte[] { (byte) 255, (byte) 255, 76, 1, 2, 3 });
+		assertNull(decoder.decode(null, channel, read));
+		assertEquals(0, read.readableBytes());
+		PacketFrame frame = (PacketFrame) decoder.decode(null, channel, ChannelBuffers.wrappedBuffer(new byte[] { 76, 1, 2, 3 }));
+		assertEquals(76, frame.getOpcode());
+	}
+}